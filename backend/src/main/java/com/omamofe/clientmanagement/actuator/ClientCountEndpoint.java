@@ -0,0 +1,41 @@
+package com.omamofe.clientmanagement.actuator;
+
+import com.omamofe.clientmanagement.service.ClientCounter;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/clientcount}: the maintained client count and its drift at the last
+ * reconciliation. A POST forces a reconciliation now. Both need ADMIN.
+ */
+@Component
+@Endpoint(id = "clientcount")
+public class ClientCountEndpoint {
+
+    private final ClientCounter counter;
+
+    public ClientCountEndpoint(ClientCounter counter) {
+        this.counter = counter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> count() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("count", counter.get());
+        body.put("seeded", counter.isSeeded());
+        body.put("lastDrift", counter.getLastDrift());
+        body.put("lastReconciledAt", counter.getLastReconciledAt());
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> reconcile() {
+        counter.reconcile();
+        return count();
+    }
+}
@@ -0,0 +1,85 @@
+package com.omamofe.clientmanagement.actuator;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * {@code /actuator/l2cache}: hit, miss and put counts of Hibernate's second-level and query
+ * cache regions. {@code /actuator/l2cache/{region}} narrows it to one region. A DELETE on
+ * either evicts everything or just that region.
+ */
+@Component
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public SecondLevelCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class).unwrap(SessionFactoryImplementor.class);
+    }
+
+    @ReadOperation
+    public Map<String, Object> regions() {
+        Statistics stats = sessionFactory.getStatistics();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("statisticsEnabled", stats.isStatisticsEnabled());
+        body.put("entityHits", stats.getSecondLevelCacheHitCount());
+        body.put("entityMisses", stats.getSecondLevelCacheMissCount());
+        body.put("queryHits", stats.getQueryCacheHitCount());
+        body.put("queryMisses", stats.getQueryCacheMissCount());
+        Map<String, Object> regions = new TreeMap<>();
+        for (String name : regionNames()) {
+            regions.put(name, describe(stats.getCacheRegionStatistics(name)));
+        }
+        body.put("regions", regions);
+        return body;
+    }
+
+    /** Null (404) for an unknown region. */
+    @ReadOperation
+    public Map<String, Object> region(@Selector String region) {
+        if (!regionNames().contains(region)) return null;
+        return describe(sessionFactory.getStatistics().getCacheRegionStatistics(region));
+    }
+
+    @DeleteOperation
+    public Map<String, Object> evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+        return regions();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> evict(@Selector String region) {
+        if (!regionNames().contains(region)) return null;
+        sessionFactory.getCache().evictRegion(region);
+        return region(region);
+    }
+
+    private Set<String> regionNames() {
+        return sessionFactory.getCache().getCacheRegionNames();
+    }
+
+    private static Map<String, Object> describe(CacheRegionStatistics region) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        long hits = region == null ? 0 : region.getHitCount();
+        long misses = region == null ? 0 : region.getMissCount();
+        out.put("hits", hits);
+        out.put("misses", misses);
+        out.put("puts", region == null ? 0 : region.getPutCount());
+        out.put("hitRatio", hits + misses == 0 ? null : (double) hits / (hits + misses));
+        return out;
+    }
+}
@@ -0,0 +1,27 @@
+package com.omamofe.clientmanagement.audit;
+
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.entity.AuditLog;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Where audit entries are kept, chosen with {@code audit.store}: {@code jpa} (the
+ * {@code audit_logs} table, the default) or {@code segments} (see {@link SegmentAuditLogStore}).
+ */
+public interface AuditLogStore {
+
+    /**
+     * Stores {@code entries}. Called inside the transaction that made the change, if any;
+     * nothing may be kept if it rolls back.
+     */
+    void append(List<AuditLog> entries);
+
+    /**
+     * Up to {@code limit} entries matching {@code filter}, newest first by (timestamp, id),
+     * after the entry at {@code beforeTimestamp}/{@code beforeId} (both null for the first
+     * page). Filter values are already normalized, as by {@code AuditLogService}.
+     */
+    List<AuditLog> findPage(AuditLogFilterDto filter, Instant beforeTimestamp, Long beforeId, int limit);
+}
@@ -0,0 +1,234 @@
+package com.omamofe.clientmanagement.audit;
+
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.entity.AuditLog;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * One memory-mapped segment file of audit records.
+ * <p>
+ * A 64-byte header (magic, version, record size, sealed record count, first id, creation
+ * time) is followed by fixed-size records, so record {@code n} sits at
+ * {@code 64 + n * RECORD_SIZE} and has id {@code baseId + n}:
+ * <pre>
+ *   0 int   marker, written last   24 long  entityId        80 actorEmail [256]
+ *   4 int   timestamp nanos         32 action     [16]     336 actorName  [256]
+ *   8 long  id                      48 entityType [32]
+ *  16 long  timestamp seconds
+ * </pre>
+ * Strings are a length byte plus UTF-8, cut to fit. A record only counts once its marker
+ * is set, so a torn write at the tail is ignored when the file is reopened.
+ * <p>
+ * The timestamp of every {@code indexInterval}-th record is also kept on the heap. Seeking
+ * to a time binary-searches that and then reads at most {@code indexInterval} records,
+ * instead of touching pages all over the file.
+ * <p>
+ * One thread appends; any number read. Readers look at records below {@link #count()}
+ * only, which is published after the record is written.
+ */
+final class AuditSegment {
+
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 592;
+
+    private static final int FILE_MAGIC = 0x41554453; // "AUDS"
+    private static final int VERSION = 1;
+    private static final int RECORD_MARKER = 0x41554431; // "AUD1"
+    private static final int UNSEALED = -1;
+
+    private static final int NANOS = 4;
+    private static final int ID = 8;
+    private static final int SECONDS = 16;
+    private static final int ENTITY_ID = 24;
+    private static final int ACTION = 32;
+    private static final int ENTITY_TYPE = 48;
+    private static final int ACTOR_EMAIL = 80;
+    private static final int ACTOR_NAME = 336;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long baseId;
+    private final Instant createdAt;
+    private final int capacity;
+    private final int indexInterval;
+    private final long[] index;
+    private volatile int count;
+    private boolean sealed;
+
+    private AuditSegment(Path path, MappedByteBuffer buffer, long baseId, Instant createdAt, int indexInterval) {
+        this.path = path;
+        this.buffer = buffer;
+        this.baseId = baseId;
+        this.createdAt = createdAt;
+        this.capacity = (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+        this.indexInterval = indexInterval;
+        this.index = new long[capacity / indexInterval + 1];
+    }
+
+    static AuditSegment create(Path path, long baseId, long size, int indexInterval, Instant now) throws IOException {
+        if (size < HEADER_SIZE + RECORD_SIZE) throw new IllegalArgumentException("segment size too small: " + size);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(size, Integer.MAX_VALUE));
+        }
+        buffer.putInt(0, FILE_MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, RECORD_SIZE);
+        buffer.putInt(12, UNSEALED);
+        buffer.putLong(16, baseId);
+        buffer.putLong(24, now.toEpochMilli());
+        return new AuditSegment(path, buffer, baseId, now, indexInterval);
+    }
+
+    static AuditSegment open(Path path, int indexInterval) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != FILE_MAGIC
+                || buffer.getInt(4) != VERSION || buffer.getInt(8) != RECORD_SIZE) {
+            throw new IOException("Not an audit segment: " + path);
+        }
+        AuditSegment segment = new AuditSegment(path, buffer, buffer.getLong(16),
+                Instant.ofEpochMilli(buffer.getLong(24)), indexInterval);
+        int sealedCount = buffer.getInt(12);
+        int n = 0;
+        if (sealedCount != UNSEALED) {
+            n = sealedCount;
+            segment.sealed = true;
+        } else {
+            while (n < segment.capacity && buffer.getInt(offset(n)) == RECORD_MARKER) n++;
+        }
+        for (int i = 0; i < n; i += indexInterval) segment.index[i / indexInterval] = segment.timeKey(i);
+        segment.count = n;
+        return segment;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long baseId() {
+        return baseId;
+    }
+
+    Instant createdAt() {
+        return createdAt;
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    /** Writes {@code entry}, whose id must be {@code baseId + count()}. Writer thread only. */
+    void append(AuditLog entry) {
+        int n = count;
+        if (n == capacity || sealed) throw new IllegalStateException("Segment is closed for writes: " + path);
+        int at = offset(n);
+        buffer.putInt(at + NANOS, entry.getTimestamp().getNano());
+        buffer.putLong(at + ID, entry.getId());
+        buffer.putLong(at + SECONDS, entry.getTimestamp().getEpochSecond());
+        buffer.putLong(at + ENTITY_ID, entry.getEntityId());
+        putString(at + ACTION, 16, entry.getAction());
+        putString(at + ENTITY_TYPE, 32, entry.getEntityType());
+        putString(at + ACTOR_EMAIL, 256, entry.getActorEmail());
+        putString(at + ACTOR_NAME, 256, entry.getActorName());
+        buffer.putInt(at, RECORD_MARKER);
+        if (n % indexInterval == 0) index[n / indexInterval] = timeKey(n);
+        count = n + 1;
+    }
+
+    /** Records the final count in the header and flushes; no appends after this. */
+    void seal() {
+        buffer.putInt(12, count);
+        buffer.force();
+        sealed = true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /** Number of the first record, below {@code count}, whose timestamp is at or after {@code time}. */
+    int lowerBound(Instant time, int count) {
+        long key = timeKey(time);
+        // First index slot at or after `time`; the record before it is the last indexed one before.
+        int low = 0;
+        int high = (count + indexInterval - 1) / indexInterval;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (index[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        int n = low == 0 ? 0 : (low - 1) * indexInterval;
+        while (n < count && timeKey(n) < key) n++;
+        return n;
+    }
+
+    boolean matches(int n, AuditLogFilterDto filter) {
+        int at = offset(n);
+        if (filter.getEntityId() != null && buffer.getLong(at + ENTITY_ID) != filter.getEntityId()) return false;
+        if (filter.getAction() != null && !filter.getAction().equals(getString(at + ACTION))) return false;
+        if (filter.getEntityType() != null && !filter.getEntityType().equals(getString(at + ENTITY_TYPE))) return false;
+        return filter.getActorEmail() == null || filter.getActorEmail().equals(getString(at + ACTOR_EMAIL));
+    }
+
+    AuditLog read(int n) {
+        int at = offset(n);
+        return AuditLog.builder()
+                .id(buffer.getLong(at + ID))
+                .timestamp(Instant.ofEpochSecond(buffer.getLong(at + SECONDS), buffer.getInt(at + NANOS)))
+                .entityId(buffer.getLong(at + ENTITY_ID))
+                .action(getString(at + ACTION))
+                .entityType(getString(at + ENTITY_TYPE))
+                .actorEmail(getString(at + ACTOR_EMAIL))
+                .actorName(getString(at + ACTOR_NAME))
+                .build();
+    }
+
+    private static int offset(int n) {
+        return HEADER_SIZE + n * RECORD_SIZE;
+    }
+
+    private long timeKey(int n) {
+        int at = offset(n);
+        return buffer.getLong(at + SECONDS) * 1_000_000_000L + buffer.getInt(at + NANOS);
+    }
+
+    private static long timeKey(Instant time) {
+        return time.getEpochSecond() * 1_000_000_000L + time.getNano();
+    }
+
+    private void putString(int at, int width, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, width - 1);
+        // Cut on a character boundary, not inside a multi-byte sequence.
+        while (length < bytes.length && length > 0 && (bytes[length] & 0xC0) == 0x80) length--;
+        buffer.put(at, (byte) length);
+        buffer.put(at + 1, bytes, 0, length);
+    }
+
+    private String getString(int at) {
+        int length = buffer.get(at) & 0xFF;
+        if (length == 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(at + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
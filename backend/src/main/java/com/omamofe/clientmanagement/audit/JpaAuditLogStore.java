@@ -0,0 +1,42 @@
+package com.omamofe.clientmanagement.audit;
+
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.entity.AuditLog;
+import com.omamofe.clientmanagement.repository.AuditLogRepository;
+import com.omamofe.clientmanagement.service.AuditLogWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Audit entries as rows of {@code audit_logs}: inserted in the caller's transaction, or
+ * after commit by {@link AuditLogWriter} when {@code audit.async.enabled} is set.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaAuditLogStore implements AuditLogStore {
+
+    private final AuditLogRepository auditRepo;
+    private final AuditLogWriter writer;
+
+    public JpaAuditLogStore(AuditLogRepository auditRepo, AuditLogWriter writer) {
+        this.auditRepo = auditRepo;
+        this.writer = writer;
+    }
+
+    @Override
+    public void append(List<AuditLog> entries) {
+        if (writer.isEnabled()) {
+            writer.submit(entries);
+        } else {
+            auditRepo.saveAll(entries);
+        }
+    }
+
+    @Override
+    public List<AuditLog> findPage(AuditLogFilterDto filter, Instant beforeTimestamp, Long beforeId, int limit) {
+        return auditRepo.findPage(filter, beforeTimestamp, beforeId, limit);
+    }
+}
@@ -0,0 +1,156 @@
+package com.omamofe.clientmanagement.audit;
+
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.entity.AuditLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Audit entries appended to memory-mapped segment files under {@code audit.segments.directory},
+ * for when audit volume outgrows a table: writing an entry is a copy into mapped memory and
+ * reading is a backwards scan, with no database involved.
+ * <p>
+ * Entries are appended after the recording transaction commits, each with the next id and
+ * a timestamp no earlier than the previous entry's. Ids and timestamps therefore both grow
+ * with file position, and newest-first pages are plain backwards scans: a page cursor
+ * turns into a record number directly, and a time range into a record range through the
+ * segment's sparse time index.
+ * <p>
+ * A new segment ({@code audit-<first id>.seg}) is started once the current one is full at
+ * {@code audit.segments.segment-size} bytes, or is older than {@code audit.segments.roll-interval}.
+ * The previous one is sealed and flushed. Segments already in the directory are opened on
+ * startup and appending carries on after the last one.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.store", havingValue = "segments")
+public class SegmentAuditLogStore implements AuditLogStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentAuditLogStore.class);
+
+    private final Path directory;
+    private final long segmentSize;
+    private final Duration rollInterval;
+    private final int indexInterval;
+    // Oldest first; only ever appended to.
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+    // Guarded by this.
+    private AuditSegment active;
+    private long nextId = 1;
+    private Instant lastTimestamp = Instant.EPOCH;
+
+    public SegmentAuditLogStore(@Value("${audit.segments.directory:${java.io.tmpdir}/client-management-audit}") String directory,
+                                @Value("${audit.segments.segment-size:67108864}") long segmentSize,
+                                @Value("${audit.segments.roll-interval:P1D}") Duration rollInterval,
+                                @Value("${audit.segments.index-interval:128}") int indexInterval) throws IOException {
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.rollInterval = rollInterval;
+        this.indexInterval = Math.max(1, indexInterval);
+        open();
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().matches("audit-\\d{20}\\.seg")).sorted().toList();
+        }
+        for (Path file : files) segments.add(AuditSegment.open(file, indexInterval));
+        if (segments.isEmpty()) return;
+
+        AuditSegment last = segments.getLast();
+        nextId = last.baseId() + last.count();
+        if (last.count() > 0) lastTimestamp = last.read(last.count() - 1).getTimestamp();
+        if (!last.isSealed()) active = last;
+        log.info("Opened {} audit segments in {}; next id {}", segments.size(), directory, nextId);
+    }
+
+    @Override
+    public void append(List<AuditLog> entries) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(entries);
+                }
+            });
+        } else {
+            write(entries);
+        }
+    }
+
+    synchronized void write(List<AuditLog> entries) {
+        try {
+            for (AuditLog entry : entries) {
+                Instant now = Instant.now();
+                if (active == null || active.isFull()
+                        || (active.count() > 0 && !now.isBefore(active.createdAt().plus(rollInterval)))) {
+                    roll(now);
+                }
+                Instant timestamp = entry.getTimestamp() == null ? now : entry.getTimestamp();
+                if (timestamp.isBefore(lastTimestamp)) timestamp = lastTimestamp;
+                entry.setId(nextId);
+                entry.setTimestamp(timestamp);
+                active.append(entry);
+                nextId++;
+                lastTimestamp = timestamp;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append audit entries", e);
+        }
+    }
+
+    private void roll(Instant now) throws IOException {
+        if (active != null) active.seal();
+        Path file = directory.resolve(String.format("audit-%020d.seg", nextId));
+        active = AuditSegment.create(file, nextId, segmentSize, indexInterval, now);
+        segments.add(active);
+    }
+
+    @Override
+    public List<AuditLog> findPage(AuditLogFilterDto filter, Instant beforeTimestamp, Long beforeId, int limit) {
+        List<AuditLog> page = new ArrayList<>(Math.min(limit, 1024));
+        for (int s = segments.size() - 1; s >= 0 && page.size() < limit; s--) {
+            AuditSegment segment = segments.get(s);
+            int count = segment.count();
+            // Record numbers in this segment to scan, newest (high) to oldest (low), inclusive.
+            long high = count - 1;
+            if (beforeId != null) high = Math.min(high, beforeId - segment.baseId() - 1);
+            if (filter.getTo() != null) high = Math.min(high, segment.lowerBound(filter.getTo(), count) - 1);
+            int low = filter.getFrom() != null ? segment.lowerBound(filter.getFrom(), count) : 0;
+
+            for (int n = (int) Math.min(high, Integer.MAX_VALUE); n >= low && page.size() < limit; n--) {
+                if (segment.matches(n, filter)) page.add(segment.read(n));
+            }
+            // Everything in older segments is before `from`.
+            if (low > 0) break;
+        }
+        return page;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (active != null) active.force();
+    }
+}
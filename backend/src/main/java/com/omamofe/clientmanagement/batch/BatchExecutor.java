@@ -0,0 +1,203 @@
+package com.omamofe.clientmanagement.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.omamofe.clientmanagement.dto.BatchOperationDto;
+import com.omamofe.clientmanagement.dto.BatchResultDto;
+import com.omamofe.clientmanagement.exception.InvalidBatchRequestException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the sub-requests of {@code POST /api/batch} against the regular controllers.
+ * <p>
+ * The batch request has already been through the security filter chain, so sub-requests
+ * skip it and go straight to the {@link DispatcherServlet} with the caller's security
+ * context: the token is checked once, while {@code @PreAuthorize} still applies to each
+ * sub-request. Each one gets an in-memory request and response (see
+ * {@link BatchSubRequest}) and its own transaction, as it would on its own.
+ * <p>
+ * Sub-requests run in order, except that consecutive GETs run concurrently, one virtual
+ * thread each. A write waits for the reads before it, and the reads after it wait for the
+ * write, so a batch reads its own writes.
+ */
+@Component
+public class BatchExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchExecutor.class);
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+    // Nested batches, streams and the login endpoint make no sense inside a batch. This is only
+    // an early check on the path as written; the handlers themselves refuse sub-requests (see
+    // rejectSubRequest), since Spring also routes encoded and ;-parameter variants to them.
+    private static final List<String> EXCLUDED_PATHS = List.of("/api/batch", "/api/clients/stream", "/api/auth");
+    // Sub-requests skip the firewall of the security filter chain, so its path checks are done here.
+    private static final List<String> FORBIDDEN_IN_PATH = List.of("%", ";", "//", "..", "\\");
+
+    /** Set on every sub-request, so handlers can tell they are running inside a batch. */
+    public static final String SUB_REQUEST_ATTRIBUTE = BatchExecutor.class.getName() + ".SUB_REQUEST";
+
+    private final DispatcherServlet dispatcher;
+    private final ObjectMapper objectMapper;
+    private final int maxRequests;
+
+    public BatchExecutor(DispatcherServlet dispatcher,
+                         ObjectMapper objectMapper,
+                         @Value("${batch.max-requests:20}") int maxRequests) {
+        this.dispatcher = dispatcher;
+        this.objectMapper = objectMapper;
+        this.maxRequests = maxRequests;
+    }
+
+    public List<BatchResultDto> execute(List<BatchOperationDto> operations,
+                                        HttpServletRequest request,
+                                        HttpServletResponse response) {
+        if (operations.size() > maxRequests) {
+            throw new InvalidBatchRequestException("at most " + maxRequests + " requests per batch");
+        }
+        SecurityContext security = SecurityContextHolder.getContext();
+        BatchResultDto[] results = new BatchResultDto[operations.size()];
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> reads = new ArrayList<>();
+            for (int i = 0; i < operations.size(); i++) {
+                int index = i;
+                BatchOperationDto operation = operations.get(i);
+                String method = operation.getMethod().trim().toUpperCase(Locale.ROOT);
+                String problem = reject(method, operation.getPath());
+                if (problem != null) {
+                    results[index] = error(operation.getId(), HttpStatus.BAD_REQUEST, problem);
+                    continue;
+                }
+                // Sub-request wrappers are built here, on the batch request's own thread.
+                BatchSubRequest subRequest = new BatchSubRequest(request, method, operation.getPath(),
+                        operation.getHeaders(), toBytes(operation.getBody()));
+                BatchSubResponse subResponse = new BatchSubResponse(response);
+                Runnable task = () -> results[index] = run(operation.getId(), subRequest, subResponse, security);
+
+                if (method.equals("GET")) {
+                    reads.add(threads.submit(task));
+                } else {
+                    awaitAll(reads);
+                    reads.add(threads.submit(task));
+                    awaitAll(reads);
+                }
+            }
+            awaitAll(reads);
+        }
+        return List.of(results);
+    }
+
+    private static String reject(String method, String path) {
+        if (!METHODS.contains(method)) return "unsupported method " + method;
+        if (!path.startsWith("/api/")) return "path must start with /api/";
+        int q = path.indexOf('?');
+        String pathOnly = q < 0 ? path : path.substring(0, q);
+        for (String forbidden : FORBIDDEN_IN_PATH) {
+            if (pathOnly.contains(forbidden)) return "path must not contain " + forbidden;
+        }
+        for (String excluded : EXCLUDED_PATHS) {
+            if (path.equals(excluded) || path.startsWith(excluded + "/") || path.startsWith(excluded + "?")) {
+                return path + " cannot be part of a batch";
+            }
+        }
+        return null;
+    }
+
+    /** For handlers that cannot run inside a batch: refuses the request with 400 if it is a sub-request. */
+    public static void rejectSubRequest(HttpServletRequest request) {
+        if (request.getAttribute(SUB_REQUEST_ATTRIBUTE) != null) {
+            throw new InvalidBatchRequestException(request.getRequestURI() + " cannot be part of a batch");
+        }
+    }
+
+    private BatchResultDto run(String id, BatchSubRequest request, BatchSubResponse response,
+                               SecurityContext security) {
+        SecurityContextHolder.setContext(security);
+        try {
+            dispatcher.service(request, response);
+            return result(id, response);
+        } catch (Exception e) {
+            log.warn("Batch sub-request {} {} failed", request.getMethod(), request.getRequestURI(), e);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return error(id, HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private BatchResultDto result(String id, BatchSubResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        response.headers().forEach((name, values) -> {
+            if (!values.isEmpty() && !name.equalsIgnoreCase("Content-Length")) {
+                headers.put(name, String.join(", ", values));
+            }
+        });
+        byte[] bytes = response.body();
+        JsonNode body = null;
+        if (bytes.length > 0) {
+            String type = response.getContentType();
+            boolean json = type != null && MediaType.parseMediaType(type).getSubtype().endsWith("json");
+            try {
+                body = json ? objectMapper.readTree(bytes) : TextNode.valueOf(new String(bytes, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                body = TextNode.valueOf(new String(bytes, StandardCharsets.UTF_8));
+            }
+        } else if (response.errorMessage() != null) {
+            body = objectMapper.createObjectNode().put("error", response.errorMessage());
+        }
+        return new BatchResultDto(id, response.getStatus(), headers, body);
+    }
+
+    private BatchResultDto error(String id, HttpStatus status, String message) {
+        JsonNode body = objectMapper.createObjectNode()
+                .put("error", status.getReasonPhrase())
+                .put("message", message);
+        return new BatchResultDto(id, status.value(), Map.of(), body);
+    }
+
+    private byte[] toBytes(JsonNode body) {
+        if (body == null || body.isNull()) return null;
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new InvalidBatchRequestException("unreadable body");
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running a batch", e);
+        } catch (ExecutionException e) {
+            // run() turns failures into results; anything here is a bug.
+            throw new IllegalStateException(e.getCause());
+        }
+        futures.clear();
+    }
+}
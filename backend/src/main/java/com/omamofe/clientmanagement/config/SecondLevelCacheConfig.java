@@ -0,0 +1,69 @@
+package com.omamofe.clientmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed JCache regions for Hibernate's second-level and query caches.
+ * <p>
+ * Each region gets its own size bound and time-to-live from {@code cache.regions.*}. The
+ * cache manager is private to this application context (JCache managers are otherwise
+ * shared per class loader) and is handed to Hibernate directly.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String CLIENTS = "clients";
+    public static final String USERS = "users";
+    public static final String USERS_BY_EMAIL = "users-by-email";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.regions.clients.max-size:10000}") long clientsMaxSize,
+            @Value("${cache.regions.clients.ttl:PT10M}") Duration clientsTtl,
+            @Value("${cache.regions.users.max-size:1000}") long usersMaxSize,
+            @Value("${cache.regions.users.ttl:PT30M}") Duration usersTtl,
+            @Value("${cache.regions.queries.max-size:1000}") long queriesMaxSize,
+            @Value("${cache.regions.queries.ttl:PT5M}") Duration queriesTtl
+    ) {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2-" + UUID.randomUUID()),
+                        getClass().getClassLoader(), new Properties());
+        manager.createCache(CLIENTS, region(clientsMaxSize, clientsTtl));
+        manager.createCache(USERS, region(usersMaxSize, usersTtl));
+        manager.createCache(USERS_BY_EMAIL, region(queriesMaxSize, queriesTtl));
+        manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queriesMaxSize, queriesTtl));
+        // Table change timestamps decide whether cached query results are stale; they must
+        // outlive every result they guard, so this region is never bounded or expired.
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(maxSize));
+        config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return config;
+    }
+}
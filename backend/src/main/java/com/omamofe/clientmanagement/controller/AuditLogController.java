@@ -1,12 +1,14 @@
 package com.omamofe.clientmanagement.controller;
 
-import com.omamofe.clientmanagement.dto.AuditLogDto;
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.dto.AuditLogPageDto;
 import com.omamofe.clientmanagement.service.AuditLogService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.Instant;
 
 @RestController
 @RequestMapping("/api/logs")
@@ -19,9 +21,32 @@ public class AuditLogController {
         this.service = service;
     }
 
+    // Newest first, one page at a time: pass nextCursor back as ?after= until it is null.
+    // from/to are ISO-8601 instants; from is inclusive, to exclusive.
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','EDITOR')")
-    public ResponseEntity<List<AuditLogDto>> listLogs() {
-        return ResponseEntity.ok(service.getAllLogs());
+    public ResponseEntity<AuditLogPageDto> listLogs(
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) String actorEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        AuditLogFilterDto filter = new AuditLogFilterDto(action, entityType, entityId, actorEmail, from, to);
+        return ResponseEntity.ok(service.getLogs(filter, after, limit));
+    }
+
+    @GetMapping("/entity/{type}/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR')")
+    public ResponseEntity<AuditLogPageDto> entityHistory(
+            @PathVariable String type,
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(service.getEntityHistory(type, id, after, limit));
     }
 }
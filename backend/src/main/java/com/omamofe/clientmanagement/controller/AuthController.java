@@ -1,5 +1,6 @@
 package com.omamofe.clientmanagement.controller;
 
+import com.omamofe.clientmanagement.batch.BatchExecutor;
 import com.omamofe.clientmanagement.dto.LoginRequest;
 import com.omamofe.clientmanagement.dto.LoginResponse;
 import com.omamofe.clientmanagement.dto.UserDto;
@@ -7,6 +8,7 @@ import com.omamofe.clientmanagement.entity.User;
 import com.omamofe.clientmanagement.exception.AuthException;
 import com.omamofe.clientmanagement.repository.UserRepository;
 import com.omamofe.clientmanagement.security.JwtService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,7 +28,8 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest req) {
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest req, HttpServletRequest request) {
+        BatchExecutor.rejectSubRequest(request);
         String email = req.getEmail().trim();
 
         User user = userRepository.findByEmailIgnoreCase(email)
@@ -0,0 +1,32 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.omamofe.clientmanagement.batch.BatchExecutor;
+import com.omamofe.clientmanagement.dto.BatchRequestDto;
+import com.omamofe.clientmanagement.dto.BatchResponseDto;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/batch")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+public class BatchController {
+
+    private final BatchExecutor batchExecutor;
+
+    public BatchController(BatchExecutor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
+    // Several API calls in one round trip. Always 200; each sub-request carries its own status.
+    @PostMapping
+    public BatchResponseDto execute(@Valid @RequestBody BatchRequestDto batch,
+                                    HttpServletRequest request,
+                                    HttpServletResponse response) {
+        BatchExecutor.rejectSubRequest(request);
+        return new BatchResponseDto(batchExecutor.execute(batch.getRequests(), request, response));
+    }
+}
@@ -1,30 +1,68 @@
 package com.omamofe.clientmanagement.controller;
 
+import com.omamofe.clientmanagement.dto.BulkChangeResultDto;
+import com.omamofe.clientmanagement.dto.BulkCreateResultDto;
+import com.omamofe.clientmanagement.dto.BulkDeleteClientsDto;
+import com.omamofe.clientmanagement.dto.BulkUpdateClientsDto;
 import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.ClientFacetsDto;
+import com.omamofe.clientmanagement.dto.ClientLookupResultDto;
+import com.omamofe.clientmanagement.dto.ClientSearchHitDto;
+import com.omamofe.clientmanagement.dto.ClientSuggestionDto;
 import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.dto.LookupClientsDto;
 import com.omamofe.clientmanagement.dto.UpdateClientDto;
+import com.omamofe.clientmanagement.exception.ClientVersionConflictException;
+import com.omamofe.clientmanagement.exception.ClientVersionRequiredException;
+import com.omamofe.clientmanagement.service.BulkWriteMode;
+import com.omamofe.clientmanagement.service.ClientBulkService;
+import com.omamofe.clientmanagement.service.ClientExportFormat;
+import com.omamofe.clientmanagement.service.ClientExportService;
+import com.omamofe.clientmanagement.service.ClientFields;
 import com.omamofe.clientmanagement.service.ClientService;
+import com.omamofe.clientmanagement.service.ClientWriteGeneration;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Supplier;
 @RestController
 @RequestMapping("/api/clients")
 @CrossOrigin(origins = "*")
 public class ClientController {
 
     private final ClientService clientService;
+    private final ClientExportService clientExportService;
+    private final ClientBulkService clientBulkService;
+    private final ClientWriteGeneration writeGeneration;
+    private final ClientResponseCache responseCache;
 
-    public ClientController(ClientService clientService) {
+    public ClientController(ClientService clientService,
+                            ClientExportService clientExportService,
+                            ClientBulkService clientBulkService,
+                            ClientWriteGeneration writeGeneration,
+                            ClientResponseCache responseCache) {
         this.clientService = clientService;
+        this.clientExportService = clientExportService;
+        this.clientBulkService = clientBulkService;
+        this.writeGeneration = writeGeneration;
+        this.responseCache = responseCache;
     }
 
     // ---- Cookie Helper ----
@@ -37,36 +75,242 @@ public class ClientController {
                 .build();
         response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
     }
+
+    // ---- Conditional GET helpers ----
+    // Validators are read before any data: a write committing in between can only make the
+    // tag older than the body (a refetch later), never produce a stale 304.
+    // Only the ETag is validated; Last-Modified has one-second resolution and is informational.
+    private boolean listNotModified(WebRequest request, HttpServletResponse response) {
+        return listNotModified(request, response, writeGeneration.listTag());
+    }
+
+    private boolean listNotModified(WebRequest request, HttpServletResponse response, String etag) {
+        long lastModified = writeGeneration.lastModifiedMillis();
+        if (notModified(request, response, etag)) return true;
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        return false;
+    }
+
+    private boolean notModified(WebRequest request, HttpServletResponse response, String etag) {
+        // Cacheable, but always revalidated; overrides the no-store default.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return request.checkNotModified(etag);
+    }
+
+    // A single client is tagged with its version, so the ETag from a GET can go straight
+    // back in If-Match. The row comes from the second-level cache, usually without a query.
+    private static String rowTag(ClientDto client) {
+        return "\"" + client.getVersion() + "\"";
+    }
+
+    // ---- If-Match helper ----
+    // If-Match carries the client version, as in the row ETag or the DTO (If-Match: "3");
+    // "*" or no header means any version. Anything else cannot match and fails the precondition.
+    private static Long expectedVersion(Long id, String ifMatch, Long bodyVersion) {
+        if (ifMatch == null) return bodyVersion;
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) return null;
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) tag = tag.substring(1, tag.length() - 1);
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new ClientVersionConflictException(id, null);
+        }
+    }
+
+    // List and search reads take ?fields=a,b for a sparse fieldset (see ClientFields): only
+    // those columns are selected and null values are left out of the JSON.
+    // Handlers that go through the response cache write the body themselves and return void;
+    // with the HttpServletResponse as a parameter MVC then treats the response as complete.
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
-    public ResponseEntity<List<ClientDto>> getAllClients(HttpServletResponse response) {
-        var list = clientService.getAllClients();
+    public void getAllClients(
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response,
+            WebRequest request
+    ) throws IOException {
+        ClientFields selection = ClientFields.parse(fields);
+        String etag = writeGeneration.listTag();
+        if (listNotModified(request, response, etag)) return;
         setClientCountCookie(response, clientService.countClients());
-        return ResponseEntity.ok(list);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (selection == null) {
+            responseCache.write("list", etag, clientService::getAllClients, request, response);
+        } else {
+            responseCache.write("list?fields=" + selection, etag,
+                    () -> clientService.getAllClients(selection), request, response);
+        }
+    }
+
+    // The full list as one array per column, for clients that ask for it by Accept header;
+    // see ClientExportService.writeColumnar for the layout.
+    @GetMapping(produces = ClientExportService.COLUMNAR_MEDIA_TYPE)
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+    public void getAllClientsColumnar(HttpServletResponse response, WebRequest request) throws IOException {
+        // Another representation of the same URL, so it needs a tag of its own.
+        String etag = writeGeneration.listTag().replaceFirst("\"$", "-columnar\"");
+        if (listNotModified(request, response, etag)) return;
+        setClientCountCookie(response, clientService.countClients());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        responseCache.writeBytes("list:columnar", etag, ClientExportService.COLUMNAR_MEDIA_TYPE, () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                clientExportService.writeColumnar(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }, request, response);
+    }
+
+    // Many clients by id in one round trip: ?ids=1,2,3, or POST /lookup for long lists.
+    // No count cookie here; these calls resolve references rather than render the list.
+    @GetMapping(params = "ids")
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+    public ResponseEntity<ClientLookupResultDto> getClientsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(clientService.lookupClients(ids));
+    }
+
+    @PostMapping("/lookup")
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+    public ResponseEntity<ClientLookupResultDto> lookupClients(@Valid @RequestBody LookupClientsDto request) {
+        return ResponseEntity.ok(clientService.lookupClients(request.getIds()));
+    }
+
+    // Keyset-paged variant of the list; selected when a page size is supplied.
+    @GetMapping(params = "limit")
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+    public void getClientsPage(
+            @RequestParam(required = false) String after,
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response,
+            WebRequest request
+    ) throws IOException {
+        ClientFields selection = ClientFields.parse(fields);
+        String etag = writeGeneration.listTag();
+        if (listNotModified(request, response, etag)) return;
+        setClientCountCookie(response, clientService.countClients());
+        Supplier<?> page = selection == null
+                ? () -> clientService.getClientsPage(after, limit)
+                : () -> clientService.getClientsPage(after, limit, selection);
+        // First pages are what every list view opens with; later pages go out untagged, so
+        // they are written but not cached.
+        String key = "page:" + limit + (selection == null ? "" : "?fields=" + selection);
+        responseCache.write(key, after == null ? etag : null, page, request, response);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+    public ResponseEntity<StreamingResponseBody> exportClients(
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        ClientExportFormat exportFormat = ClientExportFormat.from(format);
+        StreamingResponseBody body = out -> clientExportService.export(exportFormat, out);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("clients." + exportFormat.extension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
-    public ResponseEntity<ClientDto> getClientById(
+    public void getClientById(
             @PathVariable Long id,
-            HttpServletResponse response
-    ) {
-        setClientCountCookie(response, clientService.countClients());
+            HttpServletResponse response,
+            WebRequest request
+    ) throws IOException {
         ClientDto client = clientService.getClientById(id);
-        return ResponseEntity.ok(client);
+        String etag = rowTag(client);
+        if (notModified(request, response, etag)) return;
+        setClientCountCookie(response, clientService.countClients());
+        responseCache.write("client:" + id, etag, () -> client, request, response);
     }
 
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
-    public ResponseEntity<List<ClientDto>> searchClients(
+    public ResponseEntity<List<?>> searchClients(
             @RequestParam(required = false) String keyword,
-            HttpServletResponse response
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response,
+            WebRequest request
     ) {
-        var list = clientService.searchClients(keyword);
+        ClientFields selection = ClientFields.parse(fields);
+        if (listNotModified(request, response)) return null;
+        List<?> list;
+        if (selection == null) {
+            list = fuzzy ? clientService.fuzzySearchClients(keyword, limit) : clientService.searchClients(keyword);
+        } else {
+            list = fuzzy
+                    ? clientService.fuzzySearchClients(keyword, limit, selection)
+                    : clientService.searchClients(keyword, selection);
+        }
         setClientCountCookie(response, clientService.countClients()); // total, not filtered size
         return ResponseEntity.ok(list);
     }
 
+    @GetMapping("/search/hits")
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+    public ResponseEntity<List<ClientSearchHitDto>> searchClientHits(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer limit,
+            HttpServletResponse response,
+            WebRequest request
+    ) {
+        if (listNotModified(request, response)) return null;
+        return ResponseEntity.ok(clientService.searchClientHits(keyword, limit));
+    }
+
+    // Counts per active flag and top locations for the same search, for the toolbar filters.
+    @GetMapping("/search/facets")
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+    public ResponseEntity<ClientFacetsDto> searchClientFacets(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer top,
+            HttpServletResponse response,
+            WebRequest request
+    ) {
+        if (listNotModified(request, response)) return null;
+        return ResponseEntity.ok(clientService.facetClients(keyword, top));
+    }
+
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+    public ResponseEntity<List<ClientSuggestionDto>> suggestClients(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Integer limit,
+            HttpServletResponse response,
+            WebRequest request
+    ) {
+        if (listNotModified(request, response)) return null;
+        return ResponseEntity.ok(clientService.suggestClients(prefix, limit));
+    }
+
+    @GetMapping(value = "/search", params = {"limit", "!fuzzy"})
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+    public ResponseEntity<?> searchClientsPage(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String after,
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response,
+            WebRequest request
+    ) {
+        ClientFields selection = ClientFields.parse(fields);
+        if (listNotModified(request, response)) return null;
+        Object page = selection == null
+                ? clientService.searchClientsPage(keyword, after, limit)
+                : clientService.searchClientsPage(keyword, after, limit, selection);
+        setClientCountCookie(response, clientService.countClients()); // total, not filtered size
+        return ResponseEntity.ok(page);
+    }
+
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN','EDITOR')")
@@ -86,20 +330,37 @@ public class ClientController {
     public ResponseEntity<ClientDto> updateClient(
             @PathVariable Long id,
             @Valid @RequestBody UpdateClientDto dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            HttpServletResponse response
+    ) {
+        ClientDto updated = clientService.updateClient(id, dto, expectedVersion(id, ifMatch, dto.getVersion()));
+        setClientCountCookie(response, clientService.countClients());
+        return ResponseEntity.ok().eTag(rowTag(updated)).body(updated);
+    }
+
+    // Partial update of the supplied fields only; must say which version it was based on.
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR')")
+    public ResponseEntity<ClientDto> patchClient(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateClientDto dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             HttpServletResponse response
     ) {
-        ClientDto updated = clientService.updateClient(id, dto);
+        if (ifMatch == null && dto.getVersion() == null) throw new ClientVersionRequiredException();
+        ClientDto patched = clientService.patchClient(id, dto, expectedVersion(id, ifMatch, dto.getVersion()));
         setClientCountCookie(response, clientService.countClients());
-        return ResponseEntity.ok(updated);
+        return ResponseEntity.ok().eTag(rowTag(patched)).body(patched);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN','EDITOR')")
     public ResponseEntity<Void> deleteClient(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             HttpServletResponse response
     ) {
-        clientService.deleteClient(id);
+        clientService.deleteClient(id, expectedVersion(id, ifMatch, null));
         setClientCountCookie(response, clientService.countClients());
         return ResponseEntity.noContent().build();
     }
@@ -111,16 +372,37 @@ public class ClientController {
         setClientCountCookie(response, count);
         return ResponseEntity.ok(count);
     }
-    @PostMapping("/bulk")
+    // The body is read as a stream rather than bound to a List, so large imports are never
+    // held in memory at once. Invalid rows are reported by index; valid ones are created.
+    // ?mode=upsert updates the client that already has a row's email instead of failing it.
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR')")
+    public ResponseEntity<BulkCreateResultDto> bulkCreate(
+            @RequestParam(required = false) String mode,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        BulkWriteMode writeMode = BulkWriteMode.from(mode);
+        BulkCreateResultDto result = clientBulkService.createAll(request.getInputStream(), writeMode);
+        setClientCountCookie(response, clientService.countClients());
+        return ResponseEntity.ok(result);
+    }
+
+    // Set-based: one UPDATE/DELETE per chunk of ids rather than a request per client.
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN','EDITOR')")
+    public ResponseEntity<BulkChangeResultDto> bulkUpdate(@Valid @RequestBody BulkUpdateClientsDto request) {
+        return ResponseEntity.ok(clientBulkService.updateAll(request));
+    }
+
+    @DeleteMapping("/bulk")
     @PreAuthorize("hasAnyRole('ADMIN','EDITOR')")
-    public ResponseEntity<List<ClientDto>> bulkCreate(
-            @Valid @RequestBody List<@Valid CreateClientDto> dtos,
+    public ResponseEntity<BulkChangeResultDto> bulkDelete(
+            @Valid @RequestBody BulkDeleteClientsDto request,
             HttpServletResponse response
     ) {
-        List<ClientDto> created = dtos.stream()
-                .map(clientService::createClient)
-                .toList();
+        BulkChangeResultDto result = clientBulkService.deleteAll(request);
         setClientCountCookie(response, clientService.countClients());
-        return ResponseEntity.ok(created);
+        return ResponseEntity.ok(result);
     }
 }
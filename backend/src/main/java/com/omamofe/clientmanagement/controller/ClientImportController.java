@@ -0,0 +1,53 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.omamofe.clientmanagement.dto.ClientImportJobDto;
+import com.omamofe.clientmanagement.service.ClientImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/clients/imports")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('ADMIN','EDITOR')")
+public class ClientImportController {
+
+    private final ClientImportService importService;
+
+    public ClientImportController(ClientImportService importService) {
+        this.importService = importService;
+    }
+
+    // Accepts the raw spreadsheet; the import runs in the background. Poll the Location.
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ClientImportJobDto> startImport(@RequestParam("file") MultipartFile file) throws IOException {
+        ClientImportJobDto job = importService.submit(file);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ClientImportJobDto>> listImports() {
+        return ResponseEntity.ok(importService.list());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ClientImportJobDto> getImport(@PathVariable String id) {
+        return ResponseEntity.ok(importService.get(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ClientImportJobDto> cancelImport(@PathVariable String id) {
+        return ResponseEntity.ok(importService.cancel(id));
+    }
+}
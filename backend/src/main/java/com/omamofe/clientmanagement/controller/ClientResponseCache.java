@@ -0,0 +1,137 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Already-serialized JSON for hot client reads, written straight to the response.
+ * <p>
+ * An entry is stored per resource (one client, the list, a first page) together with the
+ * {@link com.omamofe.clientmanagement.service.ClientWriteGeneration} tag it was built
+ * under. A lookup with a different tag rebuilds and replaces it, so a write never serves
+ * stale bytes and superseded entries do not pile up. Bodies of {@value #GZIP_MIN_BYTES}
+ * bytes or more are also kept gzipped for clients that accept it. The total size of all
+ * entries is bounded by {@code clients.response-cache.max-bytes}.
+ */
+@Component
+public class ClientResponseCache {
+
+    static final int GZIP_MIN_BYTES = 1024;
+
+    record Entry(String tag, byte[] json, byte[] gzip) {
+        int weight() {
+            return (tag == null ? 0 : tag.length()) + json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean gzip;
+    private final Cache<String, Entry> entries;
+
+    public ClientResponseCache(ObjectMapper objectMapper,
+                               @Value("${clients.response-cache.enabled:true}") boolean enabled,
+                               @Value("${clients.response-cache.max-bytes:67108864}") long maxBytes,
+                               @Value("${clients.response-cache.gzip:true}") boolean gzip) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzip = gzip;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> entry.weight())
+                .executor(Runnable::run) // evict on the writing thread, keeping the bound tight
+                .build();
+    }
+
+    /**
+     * Writes the JSON for {@code key} as built under {@code tag}, serializing {@code body}
+     * only when no entry for that tag is cached. Without a tag nothing is cached. Headers
+     * set earlier are kept; nothing is written if {@code body} throws.
+     */
+    public void write(String key, String tag, Supplier<?> body, WebRequest request, HttpServletResponse response)
+            throws IOException {
+        writeBytes(key, tag, MediaType.APPLICATION_JSON_VALUE, () -> toJson(body.get()), request, response);
+    }
+
+    /** Like {@link #write}, for a body the caller renders itself, sent as {@code contentType}. */
+    public void writeBytes(String key, String tag, String contentType, Supplier<byte[]> body,
+                           WebRequest request, HttpServletResponse response) throws IOException {
+        boolean cacheable = enabled && tag != null;
+        Entry entry = cacheable ? entries.getIfPresent(key) : null;
+        if (entry == null || !entry.tag().equals(tag)) {
+            entry = entry(tag, body.get());
+            if (cacheable) entries.put(key, entry);
+        }
+
+        boolean gzipped = entry.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] bytes = gzipped ? entry.gzip() : entry.json();
+        response.setContentType(contentType);
+        if (entry.gzip() != null) response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    /** Total bytes held, tags and gzipped copies included. */
+    public long bytes() {
+        return entries.policy().eviction().flatMap(e -> e.weightedSize().stream().boxed().findFirst()).orElse(0L);
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Entry entry(String tag, byte[] json) {
+        return new Entry(tag, json, gzip && json.length >= GZIP_MIN_BYTES ? gzip(json) : null);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+            zip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] coding = part.trim().split(";");
+            if (!coding[0].trim().equalsIgnoreCase("gzip")) continue;
+            for (int i = 1; i < coding.length; i++) {
+                String param = coding[i].trim().replace(" ", "");
+                if (param.matches("q=0(\\.0{0,3})?")) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+}
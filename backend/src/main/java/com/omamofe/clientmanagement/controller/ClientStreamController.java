@@ -0,0 +1,30 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.omamofe.clientmanagement.batch.BatchExecutor;
+import com.omamofe.clientmanagement.service.ClientChangeStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/clients/stream")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+public class ClientStreamController {
+
+    private final ClientChangeStream changeStream;
+
+    public ClientStreamController(ClientChangeStream changeStream) {
+        this.changeStream = changeStream;
+    }
+
+    // Client writes as they commit. A "resync" event means some were missed: reload.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                    HttpServletRequest request) {
+        BatchExecutor.rejectSubRequest(request);
+        return changeStream.subscribe(lastEventId);
+    }
+}
@@ -0,0 +1,30 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.omamofe.clientmanagement.dto.ClientChangesDto;
+import com.omamofe.clientmanagement.service.ClientSyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/clients/changes")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('ADMIN','EDITOR','VIEWER')")
+public class ClientSyncController {
+
+    private final ClientSyncService syncService;
+
+    public ClientSyncController(ClientSyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    // Clients changed or deleted after the "since" token (all of them without one). Keep
+    // calling with "next" while "hasMore"; once caught up, "next" is the token to poll with.
+    @GetMapping
+    public ResponseEntity<ClientChangesDto> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(syncService.changesSince(since, limit));
+    }
+}
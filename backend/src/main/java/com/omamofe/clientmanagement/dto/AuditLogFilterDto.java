@@ -0,0 +1,30 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/** Narrows an audit log listing. Supplied criteria are combined with AND. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogFilterDto {
+
+    /** CREATE, UPDATE or DELETE; case-insensitive. */
+    private String action;
+
+    /** CLIENT or DRAFT; case-insensitive. */
+    private String entityType;
+
+    private Long entityId;
+
+    private String actorEmail;
+
+    /** Inclusive. */
+    private Instant from;
+
+    /** Exclusive. */
+    private Instant to;
+}
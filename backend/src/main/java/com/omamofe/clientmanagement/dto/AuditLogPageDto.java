@@ -0,0 +1,15 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogPageDto {
+    private List<AuditLogDto> items;
+    private String nextCursor;
+}
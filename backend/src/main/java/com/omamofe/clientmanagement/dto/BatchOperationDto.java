@@ -0,0 +1,28 @@
+package com.omamofe.clientmanagement.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/** One sub-request of a batch. {@code path} may carry a query string; {@code id} is echoed back. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationDto {
+
+    private String id;
+
+    @NotBlank
+    private String method;
+
+    @NotBlank
+    private String path;
+
+    private Map<String, String> headers;
+
+    private JsonNode body;
+}
@@ -0,0 +1,19 @@
+package com.omamofe.clientmanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDto {
+
+    @NotEmpty
+    @Valid
+    private List<BatchOperationDto> requests;
+}
@@ -0,0 +1,15 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** One result per sub-request, in request order. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponseDto {
+    private List<BatchResultDto> responses;
+}
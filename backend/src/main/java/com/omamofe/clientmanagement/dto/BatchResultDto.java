@@ -0,0 +1,19 @@
+package com.omamofe.clientmanagement.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/** Outcome of one sub-request: its status, response headers and body (JSON, or text as a string). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDto {
+    private String id;
+    private int status;
+    private Map<String, String> headers;
+    private JsonNode body;
+}
@@ -0,0 +1,15 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkChangeResultDto {
+    /** Distinct ids asked for, or the number of clients the filter matched. */
+    private int requested;
+    /** Rows actually changed; ids that no longer exist are not counted. */
+    private int affected;
+}
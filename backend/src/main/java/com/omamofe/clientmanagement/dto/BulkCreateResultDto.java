@@ -0,0 +1,23 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResultDto {
+    private int received;
+    private int created;
+    /** Upsert mode: rows that changed a client with the same email. */
+    private int updated;
+    /** Upsert mode: rows identical to the client with the same email. */
+    private int unchanged;
+    /** Ids of created clients. */
+    private List<Long> ids = new ArrayList<>();
+    private List<BulkRowErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.omamofe.clientmanagement.dto;
+
+import jakarta.validation.Valid;
+import lombok.Data;
+
+import java.util.List;
+
+/** Either {@code ids} or {@code filter} picks the clients to delete. */
+@Data
+public class BulkDeleteClientsDto {
+
+    private List<Long> ids;
+
+    @Valid
+    private ClientFilterDto filter;
+}
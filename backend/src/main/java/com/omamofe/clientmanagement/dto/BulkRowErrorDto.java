@@ -0,0 +1,16 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRowErrorDto {
+    /** Zero-based position of the row in the submitted array. */
+    private int index;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,21 @@
+package com.omamofe.clientmanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/** Either {@code ids} or {@code filter} picks the clients; {@code patch} holds the fields to set. */
+@Data
+public class BulkUpdateClientsDto {
+
+    private List<Long> ids;
+
+    @Valid
+    private ClientFilterDto filter;
+
+    @NotNull
+    @Valid
+    private UpdateClientDto patch;
+}
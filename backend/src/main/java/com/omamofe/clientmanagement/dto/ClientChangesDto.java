@@ -0,0 +1,17 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientChangesDto {
+    private List<ClientDto> changed;
+    private List<Long> deleted;
+    private String next;
+    private boolean hasMore;
+}
@@ -1,8 +1,12 @@
 package com.omamofe.clientmanagement.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor // field order is relied on by the projection queries in ClientRepository
 public class ClientDto {
     private Long id;
     private String fullName;
@@ -11,4 +15,5 @@ public class ClientDto {
     private String details;
     private Boolean active;
     private String location;
+    private Long version;
 }
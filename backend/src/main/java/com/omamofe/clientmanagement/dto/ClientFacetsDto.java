@@ -0,0 +1,20 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientFacetsDto {
+    /** Clients matching the search. */
+    private long total;
+    private long active;
+    /** Matches with active explicitly false; those without a value are in neither count. */
+    private long inactive;
+    /** Most frequent locations among the matches, by count then name. */
+    private List<FacetCountDto> locations;
+}
@@ -0,0 +1,17 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/** A {@link ClientPageDto} restricted to a sparse fieldset; items hold only non-null selected fields. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientFieldsPageDto {
+    private List<Map<String, Object>> items;
+    private String nextCursor;
+}
@@ -0,0 +1,27 @@
+package com.omamofe.clientmanagement.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Selects clients for a bulk change. Supplied criteria are combined with AND. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientFilterDto {
+
+    private Boolean active;
+
+    /** Exact location, case-insensitive. */
+    @Size(max = 255)
+    private String location;
+
+    /** Substring of the full name or email, as in search. */
+    @Size(max = 255)
+    private String keyword;
+
+    public boolean isEmpty() {
+        return active == null && (location == null || location.isBlank()) && (keyword == null || keyword.isBlank());
+    }
+}
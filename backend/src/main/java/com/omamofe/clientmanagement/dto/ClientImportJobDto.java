@@ -0,0 +1,33 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientImportJobDto {
+    private String id;
+    private String status;
+    private String fileName;
+    private String format;
+    private String submittedBy;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long rowsRead;
+    private long created;
+    private long failed;
+    private long bytesRead;
+    private long bytesTotal;
+    /** Fraction of the file consumed, 0..1; null while unknown. */
+    private Double progress;
+    private double rowsPerSecond;
+    private List<ImportRowErrorDto> errors;
+    private boolean errorsTruncated;
+    private String message;
+}
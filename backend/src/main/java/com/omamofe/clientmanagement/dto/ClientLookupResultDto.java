@@ -0,0 +1,16 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Found clients in the order their ids were asked for; ids with no client in {@code missing}. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientLookupResultDto {
+    private List<ClientDto> clients;
+    private List<Long> missing;
+}
@@ -0,0 +1,17 @@
+package com.omamofe.clientmanagement.dto;
+
+import com.omamofe.clientmanagement.search.MatchSpan;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientSearchHitDto {
+    private ClientDto client;
+    private double score;
+    private List<MatchSpan> matches;
+}
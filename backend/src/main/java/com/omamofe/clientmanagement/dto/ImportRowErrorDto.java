@@ -0,0 +1,16 @@
+package com.omamofe.clientmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDto {
+    /** Row number in the uploaded file (1-based, header included). */
+    private int row;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,17 @@
+package com.omamofe.clientmanagement.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupClientsDto {
+
+    @NotNull
+    private List<Long> ids;
+}
@@ -24,4 +24,7 @@ public class UpdateClientDto {
 
     @Size(max = 255)
     private String location;
+
+    /** Version the edit is based on; alternative to an If-Match header. */
+    private Long version;
 }
@@ -5,14 +5,21 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        // Newest first, seeking past (timestamp, id); see AuditLogRepositoryCustom.findPage.
+        @Index(name = "idx_audit_logs_time", columnList = "timestamp, id"),
+        @Index(name = "idx_audit_logs_entity", columnList = "entity_type, entity_id, timestamp, id"),
+        @Index(name = "idx_audit_logs_actor", columnList = "actor_email, timestamp, id"),
+        @Index(name = "idx_audit_logs_action", columnList = "action, timestamp, id")
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_seq")
+    @SequenceGenerator(name = "audit_logs_seq", sequenceName = "audit_logs_seq", allocationSize = 100)
     private Long id;
 
 
@@ -37,6 +44,6 @@ public class AuditLog {
 
     @PrePersist
     public void onCreate() {
-        this.timestamp = Instant.now();
+        if (this.timestamp == null) this.timestamp = Instant.now();
     }
 }
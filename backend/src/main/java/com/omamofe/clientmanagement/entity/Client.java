@@ -1,27 +1,70 @@
 package com.omamofe.clientmanagement.entity;
 
+import com.omamofe.clientmanagement.config.SecondLevelCacheConfig;
+import com.omamofe.clientmanagement.repository.ClientChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.Locale;
 
 @Entity
-@Table(name = "clients")
+@Table(name = "clients",
+        uniqueConstraints = @UniqueConstraint(name = Client.EMAIL_KEY_CONSTRAINT, columnNames = "email_key"),
+        indexes = @Index(name = "idx_clients_change", columnList = "change_seq, id"))
+@EntityListeners(ClientChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CLIENTS)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Client {
 
+    public static final String EMAIL_KEY_CONSTRAINT = "uk_clients_email_key";
+
+    // Sequence ids are known before the INSERT, which lets Hibernate batch inserts
+    // (IDENTITY forces one round trip per row).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_seq")
+    @SequenceGenerator(name = "clients_seq", sequenceName = "clients_seq", allocationSize = 100)
     private Long id;
 
     private String fullName;
     private String displayName;
     private String email;
 
+    // Trimmed, lower-cased email: unique, so one address belongs to one client whatever
+    // its case. Kept in step with email on persist and update.
+    @Column(name = "email_key")
+    @Setter(AccessLevel.NONE)
+    private String emailKey;
+
     @Column(length = 1000)
     private String details;
 
     private Boolean active;
     private String location;
+
+    // Bumped on every update; writers that carry an older value are rejected.
+    @Version
+    private Long version;
+
+    // Number of the last insert or update, from ClientChangeSequence; delta sync seeks on it.
+    // Rows written outside Hibernate keep 0 and are only picked up by a sync from the start.
+    @Column(name = "change_seq", nullable = false)
+    @ColumnDefault("0")
+    private Long changeSeq;
+
+    @PrePersist
+    @PreUpdate
+    void syncEmailKey() {
+        emailKey = emailKey(email);
+    }
+
+    public static String emailKey(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,37 @@
+package com.omamofe.clientmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/** Marks a deleted client for delta sync, numbered in the same sequence as client writes. */
+@Entity
+@Table(name = "client_tombstones",
+        indexes = @Index(name = "idx_client_tombstones_change", columnList = "change_seq, client_id"))
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class ClientTombstone implements Persistable<Long> {
+
+    @Id
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+
+    @Override
+    public Long getId() {
+        return clientId;
+    }
+
+    // Client ids are never reused, so a tombstone is always a new row: insert without a select.
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -1,10 +1,15 @@
 package com.omamofe.clientmanagement.entity;
 
+import com.omamofe.clientmanagement.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
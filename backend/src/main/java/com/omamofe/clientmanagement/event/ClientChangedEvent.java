@@ -0,0 +1,33 @@
+package com.omamofe.clientmanagement.event;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+
+/**
+ * Published by {@code ClientService} for every client write. Listeners that keep derived
+ * state (search index, counters, caches) should react after commit so they never see a
+ * write that was rolled back.
+ *
+ * @param type   what happened to the row
+ * @param id     the client id
+ * @param client snapshot of the row after the write; {@code null} for deletes
+ */
+public record ClientChangedEvent(Type type, Long id, ClientDto client) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ClientChangedEvent created(ClientDto client) {
+        return new ClientChangedEvent(Type.CREATED, client.getId(), client);
+    }
+
+    public static ClientChangedEvent updated(ClientDto client) {
+        return new ClientChangedEvent(Type.UPDATED, client.getId(), client);
+    }
+
+    public static ClientChangedEvent deleted(Long id) {
+        return new ClientChangedEvent(Type.DELETED, id, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.omamofe.clientmanagement.exception;
+
+public class ClientVersionConflictException extends RuntimeException {
+    public ClientVersionConflictException(Long id, Long currentVersion) {
+        super("Client " + id + " was changed by someone else"
+                + (currentVersion != null ? " (now at version " + currentVersion + ")" : "")
+                + "; reload it and retry");
+    }
+}
@@ -0,0 +1,7 @@
+package com.omamofe.clientmanagement.exception;
+
+public class ClientVersionRequiredException extends RuntimeException {
+    public ClientVersionRequiredException() {
+        super("Send the client version in an If-Match header (or the version field)");
+    }
+}
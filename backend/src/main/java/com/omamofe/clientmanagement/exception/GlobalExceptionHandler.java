@@ -1,7 +1,10 @@
 package com.omamofe.clientmanagement.exception;
 
+import com.omamofe.clientmanagement.entity.Client;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -50,6 +53,101 @@ public class GlobalExceptionHandler {
         response.put("message", ex.getMessage());
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(InvalidCursorException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Bad request");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+    @ExceptionHandler(InvalidSyncTokenException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSyncToken(InvalidSyncTokenException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Bad request");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidBatchRequest(InvalidBatchRequestException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Bad request");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+    @ExceptionHandler(InvalidExportFormatException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidExportFormat(InvalidExportFormatException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Bad request");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidBulkRequest(InvalidBulkRequestException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Bad request");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidFields(InvalidFieldsException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Bad request");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidImport(InvalidImportException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Bad request");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleImportJobNotFound(ImportJobNotFoundException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Import job not found");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+    @ExceptionHandler(ImportQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleImportQueueFull(ImportQueueFullException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Service unavailable");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+    @ExceptionHandler(ClientVersionConflictException.class)
+    public ResponseEntity<Map<String, String>> handleVersionConflict(ClientVersionConflictException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Precondition failed");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+    // A concurrent writer got in between our read and our UPDATE.
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Precondition failed");
+        response.put("message", "The record was changed by someone else; reload it and retry");
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Conflict");
+        String detail = String.valueOf(ex.getMostSpecificCause().getMessage());
+        response.put("message", detail.toLowerCase().contains(Client.EMAIL_KEY_CONSTRAINT)
+                ? "A client with this email already exists"
+                : "The change conflicts with existing data");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+    @ExceptionHandler(ClientVersionRequiredException.class)
+    public ResponseEntity<Map<String, String>> handleVersionRequired(ClientVersionRequiredException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Precondition required");
+        response.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body(response);
+    }
     @ExceptionHandler(DraftNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleDraftNotFound(DraftNotFoundException ex) {
         Map<String, String> response = new HashMap<>();
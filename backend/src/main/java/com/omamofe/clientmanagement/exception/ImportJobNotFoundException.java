@@ -0,0 +1,7 @@
+package com.omamofe.clientmanagement.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String id) {
+        super("Import job not found: " + id);
+    }
+}
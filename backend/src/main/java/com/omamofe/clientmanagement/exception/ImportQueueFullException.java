@@ -0,0 +1,7 @@
+package com.omamofe.clientmanagement.exception;
+
+public class ImportQueueFullException extends RuntimeException {
+    public ImportQueueFullException() {
+        super("Too many imports are queued; try again shortly");
+    }
+}
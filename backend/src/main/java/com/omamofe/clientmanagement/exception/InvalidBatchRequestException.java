@@ -0,0 +1,7 @@
+package com.omamofe.clientmanagement.exception;
+
+public class InvalidBatchRequestException extends RuntimeException {
+    public InvalidBatchRequestException(String message) {
+        super("Invalid batch request: " + message);
+    }
+}
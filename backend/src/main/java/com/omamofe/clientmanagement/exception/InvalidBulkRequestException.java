@@ -0,0 +1,7 @@
+package com.omamofe.clientmanagement.exception;
+
+public class InvalidBulkRequestException extends RuntimeException {
+    public InvalidBulkRequestException(String message) {
+        super("Invalid bulk request: " + message);
+    }
+}
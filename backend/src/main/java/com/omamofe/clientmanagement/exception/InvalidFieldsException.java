@@ -0,0 +1,7 @@
+package com.omamofe.clientmanagement.exception;
+
+public class InvalidFieldsException extends RuntimeException {
+    public InvalidFieldsException(String message) {
+        super("Invalid fields: " + message);
+    }
+}
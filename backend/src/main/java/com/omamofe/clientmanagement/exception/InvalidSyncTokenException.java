@@ -0,0 +1,7 @@
+package com.omamofe.clientmanagement.exception;
+
+public class InvalidSyncTokenException extends RuntimeException {
+    public InvalidSyncTokenException(String token) {
+        super("Invalid sync token: " + token + ". Sync again from the start without 'since'.");
+    }
+}
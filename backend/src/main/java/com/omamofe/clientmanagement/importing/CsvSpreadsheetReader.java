@@ -0,0 +1,127 @@
+package com.omamofe.clientmanagement.importing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 reader: quoted fields may contain delimiters, doubled quotes and line breaks.
+ * The delimiter is a comma unless the first line has semicolons and no commas, which is
+ * what spreadsheet programs write in locales with a decimal comma. A UTF-8 BOM is skipped.
+ */
+public final class CsvSpreadsheetReader implements SpreadsheetReader {
+
+    private static final int MAX_HEADER_PEEK = 64 * 1024;
+
+    private final CountingInputStream counted;
+    private final BufferedReader in;
+    private final long total;
+    private final char delimiter;
+    private int line;
+
+    public CsvSpreadsheetReader(Path file) throws IOException {
+        this(Files.newInputStream(file), Files.size(file));
+    }
+
+    CsvSpreadsheetReader(InputStream raw, long total) throws IOException {
+        this.counted = new CountingInputStream(new BufferedInputStream(raw));
+        this.in = new BufferedReader(new InputStreamReader(counted, StandardCharsets.UTF_8));
+        this.total = total;
+        skipBom();
+        this.delimiter = detectDelimiter();
+    }
+
+    @Override
+    public SheetRow next() throws IOException {
+        while (true) {
+            int first = line + 1;
+            List<String> cells = readRecord();
+            if (cells == null) return null;
+            if (cells.size() == 1 && cells.get(0).isBlank()) continue;
+            return new SheetRow(first, cells);
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = in.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    int after = in.read();
+                    if (after == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        if (after != -1) in.reset();
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    cell.append((char) c);
+                }
+            } else if (c == '"' && cell.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                cells.add(cell.toString());
+                return cells;
+            } else if (c != '\r') {
+                cell.append((char) c);
+            }
+        }
+        if (!any) return null;
+        line++;
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private void skipBom() throws IOException {
+        in.mark(1);
+        if (in.read() != '\uFEFF') in.reset();
+    }
+
+    private char detectDelimiter() throws IOException {
+        in.mark(MAX_HEADER_PEEK);
+        int commas = 0;
+        int semicolons = 0;
+        boolean quoted = false;
+        for (int i = 0, c; i < MAX_HEADER_PEEK && (c = in.read()) != -1; i++) {
+            if (c == '"') quoted = !quoted;
+            else if (!quoted && c == '\n') break;
+            else if (!quoted && c == ',') commas++;
+            else if (!quoted && c == ';') semicolons++;
+        }
+        in.reset();
+        return semicolons > 0 && commas == 0 ? ';' : ',';
+    }
+
+    @Override
+    public long bytesRead() {
+        return counted.count();
+    }
+
+    @Override
+    public long bytesTotal() {
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.omamofe.clientmanagement.importing;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/** File types accepted by the server-side client import. */
+public enum ImportFormat {
+    CSV(".csv"),
+    XLSX(".xlsx");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public SpreadsheetReader open(Path file) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvSpreadsheetReader(file);
+            case XLSX -> new XlsxSpreadsheetReader(file);
+        };
+    }
+
+    /** Picks the format from the upload's file name, then its content type; null if neither fits. */
+    public static ImportFormat detect(String fileName, String contentType) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) return CSV;
+        if (name.endsWith(".xlsx")) return XLSX;
+        if (contentType == null) return null;
+        if (contentType.startsWith("text/csv")) return CSV;
+        if (contentType.startsWith("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")) return XLSX;
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.omamofe.clientmanagement.importing;
+
+import java.util.List;
+
+/**
+ * One non-blank row of an uploaded sheet.
+ *
+ * @param number 1-based row number as the user sees it (line for CSV, sheet row for XLSX)
+ * @param cells  cell texts by column, empty string for empty cells
+ */
+public record SheetRow(int number, List<String> cells) {
+
+    public String cell(int column) {
+        return column >= 0 && column < cells.size() ? cells.get(column) : "";
+    }
+}
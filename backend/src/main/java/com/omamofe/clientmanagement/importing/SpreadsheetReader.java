@@ -0,0 +1,20 @@
+package com.omamofe.clientmanagement.importing;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Forward-only reader over the rows of an uploaded file. Implementations hold at most
+ * one row (plus, for XLSX, the shared string table) in memory.
+ */
+public interface SpreadsheetReader extends Closeable {
+
+    /** The next non-blank row, or {@code null} at the end of the sheet. */
+    SheetRow next() throws IOException;
+
+    /** Bytes of the underlying row data consumed so far. */
+    long bytesRead();
+
+    /** Size of the row data, or {@code -1} when unknown. */
+    long bytesTotal();
+}
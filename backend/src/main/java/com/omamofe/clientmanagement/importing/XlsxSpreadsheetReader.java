@@ -0,0 +1,219 @@
+package com.omamofe.clientmanagement.importing;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streams the first worksheet of an Office Open XML workbook with StAX, without building
+ * a workbook model. Only the shared string table is held in memory, since cells refer to
+ * it by index. Formulas are read through their cached value; number cells come back as
+ * the raw stored text.
+ */
+public final class XlsxSpreadsheetReader implements SpreadsheetReader {
+
+    private static final String RELATIONSHIPS_NS =
+            "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ZipFile zip;
+    private final List<String> sharedStrings;
+    private final CountingInputStream counted;
+    private final XMLStreamReader sheet;
+    private final long total;
+
+    public XlsxSpreadsheetReader(Path file) throws IOException {
+        this.zip = new ZipFile(file.toFile());
+        try {
+            ZipEntry sheetEntry = entry(firstSheetPath());
+            this.sharedStrings = readSharedStrings();
+            this.total = sheetEntry.getSize();
+            this.counted = new CountingInputStream(zip.getInputStream(sheetEntry));
+            this.sheet = xml().createXMLStreamReader(counted);
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            zip.close();
+            throw e instanceof IOException io ? io : new IOException("Not a readable XLSX workbook", e);
+        }
+    }
+
+    @Override
+    public SheetRow next() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    SheetRow row = readRow();
+                    if (row.cells().stream().anyMatch(c -> !c.isBlank())) return row;
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed worksheet XML", e);
+        }
+    }
+
+    private SheetRow readRow() throws XMLStreamException {
+        String r = sheet.getAttributeValue(null, "r");
+        int number = r != null ? Integer.parseInt(r) : -1;
+        List<String> cells = new ArrayList<>();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) break;
+            if (event != XMLStreamConstants.START_ELEMENT || !"c".equals(sheet.getLocalName())) continue;
+
+            String ref = sheet.getAttributeValue(null, "r");
+            int column = ref != null ? column(ref) : cells.size();
+            String type = sheet.getAttributeValue(null, "t");
+            String value = readCell(type);
+            while (cells.size() < column) cells.add("");
+            cells.add(value);
+        }
+        return new SheetRow(number, cells);
+    }
+
+    /** Reads the current {@code <c>} element up to its end tag and returns its display text. */
+    private String readCell(String type) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        boolean inValue = false;
+        int depth = 1;
+        while (depth > 0 && sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                String name = sheet.getLocalName();
+                inValue = "v".equals(name) || "t".equals(name);
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                inValue = false;
+            } else if (inValue && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                text.append(sheet.getText());
+            }
+        }
+        String raw = text.toString();
+        if (type == null) return raw;
+        return switch (type) {
+            case "s" -> raw.isEmpty() ? "" : sharedStrings.get(Integer.parseInt(raw.trim()));
+            case "b" -> "1".equals(raw.trim()) ? "true" : "false";
+            default -> raw; // inlineStr, str (formula result), e (error), n
+        };
+    }
+
+    /** Zero-based column index of a cell reference such as {@code "AB12"}. */
+    static int column(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private String firstSheetPath() throws IOException, XMLStreamException {
+        String relId = null;
+        XMLStreamReader workbook = xml().createXMLStreamReader(zip.getInputStream(entry("xl/workbook.xml")));
+        try {
+            while (workbook.hasNext() && relId == null) {
+                if (workbook.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(workbook.getLocalName())) {
+                    relId = workbook.getAttributeValue(RELATIONSHIPS_NS, "id");
+                }
+            }
+        } finally {
+            workbook.close();
+        }
+        if (relId == null) throw new IOException("Workbook has no sheets");
+
+        XMLStreamReader rels = xml().createXMLStreamReader(zip.getInputStream(entry("xl/_rels/workbook.xml.rels")));
+        try {
+            while (rels.hasNext()) {
+                if (rels.next() == XMLStreamConstants.START_ELEMENT
+                        && "Relationship".equals(rels.getLocalName())
+                        && relId.equals(rels.getAttributeValue(null, "Id"))) {
+                    String target = rels.getAttributeValue(null, "Target");
+                    return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                }
+            }
+        } finally {
+            rels.close();
+        }
+        throw new IOException("First sheet " + relId + " is not in the workbook relationships");
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        if (entry == null) return strings;
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader reader = xml().createXMLStreamReader(in);
+            StringBuilder item = null;
+            boolean inText = false;
+            int phonetic = 0; // text inside <rPh> is a reading aid, not part of the value
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "si" -> item = new StringBuilder();
+                        case "rPh" -> phonetic++;
+                        case "t" -> inText = phonetic == 0;
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "si" -> strings.add(item != null ? item.toString() : "");
+                        case "rPh" -> phonetic--;
+                        case "t" -> inText = false;
+                        default -> {
+                        }
+                    }
+                } else if (inText && item != null
+                        && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    item.append(reader.getText());
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    private ZipEntry entry(String name) throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        if (entry == null) throw new IOException("Not an XLSX workbook: missing " + name);
+        return entry;
+    }
+
+    private static XMLInputFactory xml() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    @Override
+    public long bytesRead() {
+        return counted.count();
+    }
+
+    @Override
+    public long bytesTotal() {
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // nothing left to release beyond the zip
+        } finally {
+            zip.close();
+        }
+    }
+}
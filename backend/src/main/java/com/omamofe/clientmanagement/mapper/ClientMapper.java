@@ -5,6 +5,10 @@ import com.omamofe.clientmanagement.dto.CreateClientDto;
 import com.omamofe.clientmanagement.dto.UpdateClientDto;
 import com.omamofe.clientmanagement.entity.Client;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
 public class ClientMapper {
 
     public static ClientDto toDto(Client entity) {
@@ -18,6 +22,7 @@ public class ClientMapper {
         dto.setDetails(entity.getDetails());
         dto.setActive(entity.getActive());
         dto.setLocation(entity.getLocation());
+        dto.setVersion(entity.getVersion());
         return dto;
     }
 
@@ -34,6 +39,29 @@ public class ClientMapper {
                 .build();
     }
 
+    /**
+     * Gives {@code entity} every field a create from {@code dto} would set, for upserts.
+     * Returns whether anything changed.
+     */
+    public static boolean applyReplace(Client entity, CreateClientDto dto) {
+        Client incoming = fromCreateDto(dto);
+        boolean changed = !Objects.equals(entity.getFullName(), incoming.getFullName())
+                || !Objects.equals(entity.getDisplayName(), incoming.getDisplayName())
+                || !Objects.equals(entity.getEmail(), incoming.getEmail())
+                || !Objects.equals(entity.getDetails(), incoming.getDetails())
+                || !Objects.equals(entity.getActive(), incoming.getActive())
+                || !Objects.equals(entity.getLocation(), incoming.getLocation());
+        if (changed) {
+            entity.setFullName(incoming.getFullName());
+            entity.setDisplayName(incoming.getDisplayName());
+            entity.setEmail(incoming.getEmail());
+            entity.setDetails(incoming.getDetails());
+            entity.setActive(incoming.getActive());
+            entity.setLocation(incoming.getLocation());
+        }
+        return changed;
+    }
+
     public static void applyUpdate(Client entity, UpdateClientDto dto) {
         if (dto.getFullName() != null) entity.setFullName(dto.getFullName());
         if (dto.getDisplayName() != null) entity.setDisplayName(dto.getDisplayName());
@@ -42,4 +70,16 @@ public class ClientMapper {
         if (dto.getActive() != null) entity.setActive(dto.getActive());
         if (dto.getLocation() != null) entity.setLocation(dto.getLocation());
     }
+
+    /** The attributes a partial update supplies, by entity attribute name. */
+    public static Map<String, Object> changes(UpdateClientDto dto) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (dto.getFullName() != null) changes.put("fullName", dto.getFullName());
+        if (dto.getDisplayName() != null) changes.put("displayName", dto.getDisplayName());
+        if (dto.getEmail() != null) changes.put("email", dto.getEmail());
+        if (dto.getDetails() != null) changes.put("details", dto.getDetails());
+        if (dto.getActive() != null) changes.put("active", dto.getActive());
+        if (dto.getLocation() != null) changes.put("location", dto.getLocation());
+        return changes;
+    }
 }
@@ -0,0 +1,18 @@
+package com.omamofe.clientmanagement.repository;
+
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.entity.AuditLog;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Up to {@code limit} entries matching {@code filter}, newest first by (timestamp, id),
+     * starting after the entry at {@code beforeTimestamp}/{@code beforeId} (both null for the
+     * first page). Only the supplied criteria are put in the query, so each combination can
+     * use the matching index on {@code audit_logs}.
+     */
+    List<AuditLog> findPage(AuditLogFilterDto filter, Instant beforeTimestamp, Long beforeId, int limit);
+}
@@ -0,0 +1,44 @@
+package com.omamofe.clientmanagement.repository;
+
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.entity.AuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+class AuditLogRepositoryCustomImpl implements AuditLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLog> findPage(AuditLogFilterDto filter, Instant beforeTimestamp, Long beforeId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLog> query = cb.createQuery(AuditLog.class);
+        Root<AuditLog> log = query.from(AuditLog.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter.getAction() != null) where.add(cb.equal(log.get("action"), filter.getAction()));
+        if (filter.getEntityType() != null) where.add(cb.equal(log.get("entityType"), filter.getEntityType()));
+        if (filter.getEntityId() != null) where.add(cb.equal(log.get("entityId"), filter.getEntityId()));
+        if (filter.getActorEmail() != null) where.add(cb.equal(log.get("actorEmail"), filter.getActorEmail()));
+        if (filter.getFrom() != null) where.add(cb.greaterThanOrEqualTo(log.get("timestamp"), filter.getFrom()));
+        if (filter.getTo() != null) where.add(cb.lessThan(log.get("timestamp"), filter.getTo()));
+        if (beforeTimestamp != null) {
+            where.add(cb.or(
+                    cb.lessThan(log.get("timestamp"), beforeTimestamp),
+                    cb.and(cb.equal(log.get("timestamp"), beforeTimestamp), cb.lessThan(log.get("id"), beforeId))));
+        }
+        query.where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(log.get("timestamp")), cb.desc(log.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
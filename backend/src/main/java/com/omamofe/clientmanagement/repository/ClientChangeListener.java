@@ -0,0 +1,24 @@
+package com.omamofe.clientmanagement.repository;
+
+import com.omamofe.clientmanagement.entity.Client;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Stamps a client with the next change number whenever Hibernate inserts or updates it.
+ * Created through Spring, so the shared {@link ClientChangeSequence} is injected.
+ */
+public class ClientChangeListener {
+
+    private final ClientChangeSequence sequence;
+
+    public ClientChangeListener(ClientChangeSequence sequence) {
+        this.sequence = sequence;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void stamp(Client client) {
+        client.setChangeSeq(sequence.next());
+    }
+}
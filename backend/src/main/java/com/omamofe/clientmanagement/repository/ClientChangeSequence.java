@@ -0,0 +1,71 @@
+package com.omamofe.clientmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+
+/**
+ * Change numbers for client writes, which delta sync seeks on.
+ * <p>
+ * Every insert or update of a client row, and every tombstone of a deleted one, is stamped
+ * with the next number. Numbers are handed out in memory, seeded from the tables on first
+ * use, so stamping costs no round trip; like the rest of the in-memory client state this
+ * assumes one application instance writes the table.
+ * <p>
+ * A number is taken when a row is written but only becomes visible when its transaction
+ * commits, so a reader could see 12 before 11 has committed and move past 11 for good.
+ * {@link #visibleThrough()} therefore stops below the first number any open transaction
+ * still holds.
+ */
+@Component
+public class ClientChangeSequence {
+
+    private final JdbcTemplate jdbc;
+    // First number taken by each open transaction; guarded by this, as are the fields below.
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long last;
+    private boolean seeded;
+
+    public ClientChangeSequence(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public synchronized long next() {
+        seed();
+        long number = ++last;
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, number);
+            inFlight.add(number);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ClientChangeSequence.this);
+                    release(number);
+                }
+            });
+        }
+        return number;
+    }
+
+    /** Highest number below which every write has committed or rolled back. Never decreases. */
+    public synchronized long visibleThrough() {
+        seed();
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    private synchronized void release(long number) {
+        inFlight.remove(number);
+    }
+
+    private void seed() {
+        if (seeded) return;
+        Long clients = jdbc.queryForObject("select coalesce(max(change_seq), 0) from clients", Long.class);
+        Long tombstones = jdbc.queryForObject("select coalesce(max(change_seq), 0) from client_tombstones", Long.class);
+        last = Math.max(clients == null ? 0 : clients, tombstones == null ? 0 : tombstones);
+        seeded = true;
+    }
+}
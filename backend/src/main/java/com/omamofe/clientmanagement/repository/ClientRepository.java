@@ -1,13 +1,120 @@
 package com.omamofe.clientmanagement.repository;
 
+import com.omamofe.clientmanagement.dto.ClientDto;
 import com.omamofe.clientmanagement.entity.Client;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, ClientRepositoryCustom {
 
-    List<Client> findByFullNameContainingIgnoreCaseOrEmailContainingIgnoreCase(String fullName, String email);
+    // Read path: rows are projected straight into ClientDto, so no managed entities are
+    // hydrated or snapshotted for dirty checking. Column order must match the constructor.
+    String DTO = "new com.omamofe.clientmanagement.dto.ClientDto("
+            + "c.id, c.fullName, c.displayName, c.email, c.details, c.active, c.location, c.version)";
+
+    @Query("select " + DTO + " from Client c order by c.id asc")
+    List<ClientDto> findAllDtos();
+
+    @Query("select " + DTO + " from Client c where c.id in :ids")
+    List<ClientDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages: seek past the last id seen instead of OFFSET, so page N costs the same as page 1.
+    @Query("select " + DTO + " from Client c where c.id > :afterId order by c.id asc")
+    List<ClientDto> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Pattern as built by ClientService.containsPattern: lower-cased, LIKE-escaped, %-wrapped.
+    @Query("select " + DTO + """
+             from Client c
+            where lower(c.fullName) like :pattern escape '\\'
+               or lower(c.email) like :pattern escape '\\'
+            order by c.id asc
+            """)
+    List<ClientDto> searchAll(@Param("pattern") String pattern);
+
+    @Query("select " + DTO + """
+             from Client c
+            where c.id > :afterId
+              and (lower(c.fullName) like :pattern escape '\\'
+                   or lower(c.email) like :pattern escape '\\')
+            order by c.id asc
+            """)
+    List<ClientDto> searchPageAfter(@Param("pattern") String pattern, @Param("afterId") Long afterId, Limit limit);
+
+    // Facet counts in one grouped pass; rows are {active, location, count}. Null pattern matches all.
+    @Query("""
+            select c.active, c.location, count(c) from Client c
+            where :pattern is null
+               or lower(c.fullName) like :pattern escape '\\'
+               or lower(c.email) like :pattern escape '\\'
+            group by c.active, c.location
+            """)
+    List<Object[]> countByActiveAndLocation(@Param("pattern") String pattern);
+
+    // Delta sync: seek past (changeSeq, id) along idx_clients_change, up to a visible
+    // change number. Rows are {changeSeq, id}.
+    @Query("""
+            select c.changeSeq, c.id from Client c
+            where c.changeSeq >= :seq and (c.changeSeq > :seq or c.id > :afterId)
+              and c.changeSeq <= :through
+            order by c.changeSeq asc, c.id asc
+            """)
+    List<Object[]> findChangesAfter(@Param("seq") long seq,
+                                    @Param("afterId") long afterId,
+                                    @Param("through") long through,
+                                    Limit limit);
+
+    // Keys as produced by Client.emailKey; callers keep the list to a few hundred entries.
+    List<Client> findByEmailKeyIn(Collection<String> emailKeys);
+
+    @Query("select c.id from Client c where c.id in :ids order by c.id asc")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Null arguments match everything; location is compared lower-cased, pattern as in searchPageAfter.
+    @Query("""
+            select c.id from Client c
+            where (:active is null or c.active = :active)
+              and (:location is null or lower(c.location) = :location)
+              and (:pattern is null
+                   or lower(c.fullName) like :pattern escape '\\'
+                   or lower(c.email) like :pattern escape '\\')
+            order by c.id asc
+            """)
+    List<Long> findIdsMatching(@Param("active") Boolean active,
+                               @Param("location") String location,
+                               @Param("pattern") String pattern);
+
+    @Modifying
+    @Query("delete from Client c where c.id in :ids")
+    int deleteAllWithIds(@Param("ids") Collection<Long> ids);
+
+    // Column tuples in ClientFields.ALL order for the columnar list; same cursor rules as below.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select c.id, c.fullName, c.displayName, c.email, c.details, c.active, c.location, c.version
+            from Client c order by c.id asc
+            """)
+    Stream<Object[]> streamColumnsOrderById();
+
+    // Cursor-backed scan for exports; callers must consume it inside a transaction and close it.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Client c order by c.id asc")
+    Stream<Client> streamAllOrderById();
 }
@@ -0,0 +1,40 @@
+package com.omamofe.clientmanagement.repository;
+
+import com.omamofe.clientmanagement.entity.Client;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ClientRepositoryCustom {
+
+    /**
+     * Sets the given attributes and bumps the version on every client in {@code ids}, in one
+     * {@code UPDATE ... WHERE id IN (...)}. Returns the number of rows changed.
+     * <p>
+     * Runs as a bulk statement: managed instances in the current persistence context are not
+     * refreshed, and Hibernate evicts the whole {@code Client} second-level cache region when
+     * it runs, not just the rows in {@code ids}. Use it for set-based changes only; single-row
+     * updates go through the entity.
+     */
+    int updateAll(Collection<Long> ids, Map<String, Object> changes);
+
+    /**
+     * Only the given attributes of clients with an id above {@code afterId}, in id order,
+     * selected as columns in SQL rather than trimmed after loading. A null {@code pattern}
+     * (as in {@link ClientRepository#searchAll}) matches every client, a null {@code limit}
+     * returns every row. Each row maps attribute to value, in the order given, leaving out
+     * null values.
+     */
+    List<Map<String, Object>> findFields(List<String> attributes, String pattern, long afterId, Integer limit);
+
+    /** Like {@link #findFields}, for the clients in {@code ids}. */
+    List<Map<String, Object>> findFieldsByIdIn(List<String> attributes, Collection<Long> ids);
+
+    /**
+     * Clients by id, in the order given, with {@code null} where no client exists. Each id
+     * is looked up in the persistence context and the second-level cache first; the rest
+     * are loaded with {@code IN} queries of at most {@code batchSize} ids.
+     */
+    List<Client> findAllByIdInOrder(List<Long> ids, int batchSize);
+}
@@ -0,0 +1,117 @@
+package com.omamofe.clientmanagement.repository;
+
+import com.omamofe.clientmanagement.entity.Client;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class ClientRepositoryCustomImpl implements ClientRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ClientChangeSequence changeSequence;
+
+    ClientRepositoryCustomImpl(ClientChangeSequence changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+
+    @Override
+    public int updateAll(Collection<Long> ids, Map<String, Object> changes) {
+        if (ids.isEmpty()) return 0;
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Client> update = cb.createCriteriaUpdate(Client.class);
+        Root<Client> client = setChanges(cb, update, changes);
+        update.where(client.get("id").in(ids));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<Client> findAllByIdInOrder(List<Long> ids, int batchSize) {
+        if (ids.isEmpty()) return List.of();
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Client.class)
+                // Without an explicit mode multiLoad skips both caches and queries every id.
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .withBatchSize(batchSize)
+                .enableOrderedReturn(true)
+                .multiLoad(ids);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(List<String> attributes, String pattern, long afterId, Integer limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Client> client = select(query, attributes);
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.gt(client.get("id"), afterId));
+        if (pattern != null) {
+            where.add(cb.or(
+                    cb.like(cb.lower(client.get("fullName")), pattern, '\\'),
+                    cb.like(cb.lower(client.get("email")), pattern, '\\')));
+        }
+        query.where(where.toArray(Predicate[]::new)).orderBy(cb.asc(client.get("id")));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit != null) typed.setMaxResults(limit);
+        return toRows(typed.getResultList(), attributes);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdIn(List<String> attributes, Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        Root<Client> client = select(query, attributes);
+        query.where(client.get("id").in(ids));
+        return toRows(entityManager.createQuery(query).getResultList(), attributes);
+    }
+
+    private static Root<Client> select(CriteriaQuery<Tuple> query, List<String> attributes) {
+        Root<Client> client = query.from(Client.class);
+        query.multiselect(attributes.stream().<Selection<?>>map(a -> client.get(a).alias(a)).toList());
+        return client;
+    }
+
+    private static List<Map<String, Object>> toRows(List<Tuple> tuples, List<String> attributes) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String attribute : attributes) {
+                Object value = tuple.get(attribute);
+                if (value != null) row.put(attribute, value);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Root<Client> setChanges(CriteriaBuilder cb, CriteriaUpdate<Client> update, Map<String, Object> changes) {
+        Root<Client> client = update.from(Client.class);
+        changes.forEach((attribute, value) -> update.set(client.get(attribute), value));
+        // Bulk statements skip entity callbacks, so keep the unique email key in step here.
+        if (changes.containsKey("email")) {
+            update.set(client.<String>get("emailKey"), Client.emailKey((String) changes.get("email")));
+        }
+        update.set(client.<Long>get("version"), cb.sum(client.get("version"), 1L));
+        // Likewise the change number; every row of one statement shares it.
+        update.set(client.<Long>get("changeSeq"), changeSequence.next());
+        return client;
+    }
+}
@@ -0,0 +1,26 @@
+package com.omamofe.clientmanagement.repository;
+
+import com.omamofe.clientmanagement.entity.ClientTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ClientTombstoneRepository extends JpaRepository<ClientTombstone, Long> {
+
+    // Same seek as ClientRepository.findChangesAfter; rows are {changeSeq, clientId}.
+    @Query("""
+            select t.changeSeq, t.clientId from ClientTombstone t
+            where t.changeSeq >= :seq and (t.changeSeq > :seq or t.clientId > :afterId)
+              and t.changeSeq <= :through
+            order by t.changeSeq asc, t.clientId asc
+            """)
+    List<Object[]> findDeletesAfter(@Param("seq") long seq,
+                                    @Param("afterId") long afterId,
+                                    @Param("through") long through,
+                                    Limit limit);
+}
@@ -1,12 +1,23 @@
 package com.omamofe.clientmanagement.repository;
 
+import com.omamofe.clientmanagement.config.SecondLevelCacheConfig;
 import com.omamofe.clientmanagement.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // Runs on every login; the result (the user id) is kept in the query cache and the row
+    // itself in the users region, so a repeat login does not reach the database.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USERS_BY_EMAIL)
+    })
     Optional<User> findByEmailIgnoreCase(String email);
 
 }
@@ -0,0 +1,191 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.entity.Client;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.mapper.ClientMapper;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Lifecycle shared by the in-memory client lookup structures.
+ * <p>
+ * A full build streams the clients table into a fresh state object off to the side and
+ * swaps it in; writes that arrive meanwhile, events and {@link #write} calls alike, are
+ * applied to the live state and replayed onto the new one. Incremental updates come from
+ * {@link ClientChangedEvent}s after commit. Until the first build completes {@link #isReady()} is false and callers should fall back
+ * to the repository.
+ *
+ * @param <S> the mutable structure holding the index; only touched under the index lock
+ */
+public abstract class AbstractClientIndex<S> {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractClientIndex.class);
+
+    private final String name;
+    private final boolean enabled;
+    private final ClientRepository clientRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private S state;
+    // Non-null while a rebuild runs: writes seen meanwhile are replayed onto the new state.
+    private List<Consumer<S>> pending;
+    private volatile boolean ready;
+
+    protected AbstractClientIndex(
+            String name,
+            boolean enabled,
+            ClientRepository clientRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.name = name;
+        this.enabled = enabled;
+        this.clientRepository = clientRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.state = newState();
+    }
+
+    /** Creates an empty state. Called from the constructor, so must not rely on subclass fields. */
+    protected abstract S newState();
+
+    protected abstract void add(S state, ClientDto client);
+
+    protected abstract void remove(S state, Long id);
+
+    /**
+     * Called under the lock just before a rebuilt state replaces the live one, for entries
+     * the table scan could not see yet, such as rows of transactions still open.
+     */
+    protected void carryOver(S fresh) {
+    }
+
+    /** One-line summary of a freshly built state for the startup log. */
+    protected String describe(S state) {
+        return "";
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    protected <T> T read(Function<S, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Changes the live state outside the event flow. A rebuild running meanwhile replays the
+     * change onto its new state; use this only for additions that a later event repeats.
+     */
+    protected void write(Consumer<S> writer) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) pending.add(writer);
+            writer.accept(state);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!enabled) {
+            log.info("{} disabled.", name);
+            return;
+        }
+        Thread.ofPlatform().daemon().name(name).start(this::rebuild);
+    }
+
+    public void rebuild() {
+        if (!enabled) return;
+        lock.writeLock().lock();
+        try {
+            if (pending != null) return; // another rebuild is already running
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        S fresh = newState();
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<Client> rows = clientRepository.streamAllOrderById()) {
+                    rows.forEach(client -> {
+                        add(fresh, ClientMapper.toDto(client));
+                        entityManager.detach(client);
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("{} rebuild failed; keeping the previous state.", name, e);
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Consumer<S> change : pending) {
+                change.accept(fresh);
+            }
+            carryOver(fresh);
+            state = fresh;
+            pending = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("{} built in {} ms: {}", name, (System.nanoTime() - started) / 1_000_000, describe(fresh));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        if (!enabled) return;
+        lock.writeLock().lock();
+        try {
+            if (pending != null) pending.add(target -> apply(target, event));
+            apply(state, event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(S target, ClientChangedEvent event) {
+        remove(target, event.id());
+        if (event.type() != ClientChangedEvent.Type.DELETED && event.client() != null) {
+            add(target, event.client());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.omamofe.clientmanagement.search;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-size Bloom filter over strings. {@link #mightContain} never answers false for a
+ * value that was added; it answers true for an absent value with roughly the false
+ * positive rate it was sized for, as long as no more than the expected number of values
+ * are added. Values cannot be removed. Not thread-safe; {@link ClientEmailFilter} guards
+ * access.
+ */
+final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashes;
+    private long added;
+
+    BloomFilter(long expected, double falsePositiveRate) {
+        long n = Math.max(1, expected);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64)];
+        this.bitCount = (long) bits.length * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void add(String value) {
+        long h = hash(value);
+        for (int i = 0; i < hashes; i++) {
+            long bit = probe(h, i);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        added++;
+    }
+
+    boolean mightContain(String value) {
+        long h = hash(value);
+        for (int i = 0; i < hashes; i++) {
+            long bit = probe(h, i);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    long added() {
+        return added;
+    }
+
+    long sizeInBytes() {
+        return bits.length * 8L;
+    }
+
+    // Double hashing: the i-th probe is h1 + i * h2. h2 is forced odd so probes never all coincide.
+    private long probe(long h, int i) {
+        return Math.floorMod((h >>> 32) + i * ((h & 0xffffffffL) | 1), bitCount);
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finished with a murmur3 mix so both halves are usable.
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,146 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.entity.Client;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import com.omamofe.clientmanagement.service.ClientCounter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bloom filter of every client's normalized email ({@link Client#emailKey}). Bulk writes ask
+ * it first and only look up the emails it might contain, so rows for new clients skip the
+ * database round trip.
+ * <p>
+ * A Bloom filter cannot forget, so deleted or changed emails keep answering "maybe" (one
+ * wasted lookup each) until the next rebuild, which also resizes the filter to the table.
+ * Rows written outside {@code ClientService} are missed until then as well; the unique
+ * index on the email key still rejects a duplicate insert. Until the first build every
+ * email is reported as possibly present.
+ * <p>
+ * Emails {@link #put} by a transaction that is still open are kept aside until it completes
+ * and carried over by a rebuild, whose table scan cannot see those rows yet; otherwise a
+ * later chunk of that transaction would be told a just-created email is absent.
+ */
+@Component
+public class ClientEmailFilter extends AbstractClientIndex<BloomFilter> {
+
+    private static final long MIN_EXPECTED = 1024;
+
+    private final long expectedEmails;
+    private final double falsePositiveRate;
+    private final ClientCounter counter;
+    // Emails put by transactions still open, with the number of such transactions.
+    private final Map<String, Integer> uncommitted = new ConcurrentHashMap<>();
+
+    public ClientEmailFilter(
+            ClientRepository clientRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ClientCounter counter,
+            @Value("${clients.bulk.email-filter.enabled:true}") boolean enabled,
+            @Value("${clients.bulk.email-filter.expected-emails:100000}") long expectedEmails,
+            @Value("${clients.bulk.email-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        super("client-email-filter", enabled, clientRepository, entityManager, transactionManager);
+        this.counter = counter;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /** False only if no client has this normalized email. */
+    public boolean mightContain(String emailKey) {
+        if (!isReady()) return true;
+        return read(filter -> filter.mightContain(emailKey));
+    }
+
+    /**
+     * Records an email as soon as its row is written, before the commit event arrives, so
+     * later chunks of the same transaction look it up.
+     */
+    public void put(String emailKey) {
+        if (!isEnabled() || emailKey == null) return;
+        write(filter -> filter.add(emailKey));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            uncommitted.merge(emailKey, 1, Integer::sum);
+            keysOfThisTransaction().add(emailKey);
+        }
+    }
+
+    // One list per transaction, bound as a transaction resource and released on completion.
+    @SuppressWarnings("unchecked")
+    private List<String> keysOfThisTransaction() {
+        List<String> keys = (List<String>) TransactionSynchronizationManager.getResource(this);
+        if (keys != null) return keys;
+        List<String> bound = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, bound);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(ClientEmailFilter.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(ClientEmailFilter.this, bound);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ClientEmailFilter.this);
+                // Committed rows are in the table (and their events applied) by now.
+                for (String key : bound) uncommitted.computeIfPresent(key, (k, n) -> n == 1 ? null : n - 1);
+            }
+        });
+        return bound;
+    }
+
+    @Scheduled(
+            initialDelayString = "${clients.bulk.email-filter.rebuild-interval-ms:900000}",
+            fixedDelayString = "${clients.bulk.email-filter.rebuild-interval-ms:900000}"
+    )
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // ---- index maintenance (callers hold the lock) ----
+
+    @Override
+    protected BloomFilter newState() {
+        // Also called from the super constructor, before the fields below are set.
+        long clients = counter == null ? 0 : 2 * counter.get();
+        return new BloomFilter(Math.max(MIN_EXPECTED, Math.max(expectedEmails, clients)),
+                falsePositiveRate > 0 ? falsePositiveRate : 0.01);
+    }
+
+    @Override
+    protected void carryOver(BloomFilter fresh) {
+        uncommitted.keySet().forEach(fresh::add);
+    }
+
+    @Override
+    protected String describe(BloomFilter filter) {
+        return filter.added() + " emails in " + filter.sizeInBytes() / 1024 + " KiB";
+    }
+
+    @Override
+    protected void add(BloomFilter filter, ClientDto client) {
+        String key = Client.emailKey(client.getEmail());
+        if (key != null) filter.add(key);
+    }
+
+    @Override
+    protected void remove(BloomFilter filter, Long id) {
+        // Bloom filters cannot remove; a stale "maybe" only costs a lookup.
+    }
+}
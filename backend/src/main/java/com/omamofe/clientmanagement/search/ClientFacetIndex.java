@@ -0,0 +1,84 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.ClientFacetsDto;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Facet values (active flag and location) per client, plus running totals over all
+ * clients. Facets for an empty search come straight from the totals; for a search they
+ * are counted over the hit ids, so neither touches the database.
+ */
+@Component
+public class ClientFacetIndex extends AbstractClientIndex<ClientFacetIndex.State> {
+
+    record Values(Boolean active, String location) {
+    }
+
+    static final class State {
+        final Map<Long, Values> byId = new HashMap<>();
+        // Shares one String per distinct location instead of one per client.
+        final Map<String, String> locations = new HashMap<>();
+        final FacetCounts all = new FacetCounts();
+    }
+
+    public ClientFacetIndex(
+            ClientRepository clientRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${clients.search.facets.enabled:true}") boolean enabled
+    ) {
+        super("client-facet-index", enabled, clientRepository, entityManager, transactionManager);
+    }
+
+    public ClientFacetsDto counts(int topLocations) {
+        return read(state -> state.all.toDto(topLocations));
+    }
+
+    public ClientFacetsDto counts(Collection<Long> ids, int topLocations) {
+        return read(state -> {
+            FacetCounts counts = new FacetCounts();
+            for (Long id : ids) {
+                Values values = state.byId.get(id);
+                if (values != null) counts.add(values.active(), values.location(), 1);
+            }
+            return counts.toDto(topLocations);
+        });
+    }
+
+    // ---- index maintenance (callers hold the lock) ----
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected String describe(State state) {
+        return state.byId.size() + " clients, " + state.locations.size() + " locations";
+    }
+
+    @Override
+    protected void add(State state, ClientDto client) {
+        String location = client.getLocation() == null
+                ? null
+                : state.locations.computeIfAbsent(client.getLocation(), l -> l);
+        Values values = new Values(client.getActive(), location);
+        state.byId.put(client.getId(), values);
+        state.all.add(values.active(), values.location(), 1);
+    }
+
+    @Override
+    protected void remove(State state, Long id) {
+        Values values = state.byId.remove(id);
+        if (values != null) state.all.add(values.active(), values.location(), -1);
+    }
+}
@@ -0,0 +1,277 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Typo-tolerant lookup over the tokens of client names and emails, using a
+ * symmetric-delete dictionary (as in SymSpell).
+ * <p>
+ * Every indexed token registers all strings reachable from its first
+ * {@value #PREFIX_LENGTH} chars by up to {@value #MAX_DISTANCE} deletions. A query term
+ * generates its own deletions the same way; any shared key is a candidate, which is then
+ * confirmed with a bounded optimal-string-alignment distance. A lookup is a handful of
+ * hash probes no matter how many clients are indexed.
+ * <p>
+ * The allowed distance grows with term length: terms up to {@value #EXACT_UP_TO} chars must
+ * match exactly, up to {@value #ONE_EDIT_UP_TO} chars one edit is allowed, longer terms two.
+ */
+@Component
+public class ClientFuzzyIndex extends AbstractClientIndex<ClientFuzzyIndex.State> {
+
+    static final int MAX_DISTANCE = 2;
+    private static final int PREFIX_LENGTH = 7;
+    private static final int EXACT_UP_TO = 2;
+    private static final int ONE_EDIT_UP_TO = 5;
+    private static final String[] FIELDS = {"fullName", "email"};
+
+    static final class State {
+        final Map<Long, String[]> docs = new HashMap<>();
+        final Map<String, PostingList> postings = new HashMap<>();
+        final Map<String, Set<String>> deletes = new HashMap<>();
+    }
+
+    public ClientFuzzyIndex(
+            ClientRepository clientRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${clients.search.fuzzy.enabled:true}") boolean enabled
+    ) {
+        super("client-fuzzy-index", enabled, clientRepository, entityManager, transactionManager);
+    }
+
+    /**
+     * Returns clients whose name or email contains, for every query term, a token within the
+     * allowed edit distance. Closer matches rank first.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = ClientSearchIndex.terms(query);
+        if (terms.isEmpty() || limit <= 0) return List.of();
+
+        return read(state -> {
+            Map<Long, Double> scores = null;
+            Set<String> matchedTokens = new HashSet<>();
+            for (String term : terms) {
+                Map<String, Integer> tokens = lookup(state, term);
+                if (tokens.isEmpty()) return List.of();
+                matchedTokens.addAll(tokens.keySet());
+
+                Map<Long, Double> forTerm = new HashMap<>();
+                tokens.forEach((token, distance) -> {
+                    double score = MAX_DISTANCE + 1 - distance;
+                    PostingList ids = state.postings.get(token);
+                    for (int i = 0; i < ids.size(); i++) {
+                        forTerm.merge(ids.get(i), score, Math::max);
+                    }
+                });
+                if (scores == null) {
+                    scores = forTerm;
+                } else {
+                    Map<Long, Double> previous = scores;
+                    scores = new HashMap<>();
+                    for (var e : forTerm.entrySet()) {
+                        Double before = previous.get(e.getKey());
+                        if (before != null) scores.put(e.getKey(), before + e.getValue());
+                    }
+                }
+                if (scores.isEmpty()) return List.of();
+            }
+
+            // Bounded min-heap keeps only the best `limit` entries instead of sorting every match.
+            Comparator<Map.Entry<Long, Double>> best = Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(best);
+            for (var e : scores.entrySet()) {
+                if (top.size() < limit) {
+                    top.add(e);
+                } else if (best.compare(e, top.peek()) > 0) {
+                    top.poll();
+                    top.add(e);
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                var e = top.poll();
+                hits.add(new SearchHit(e.getKey(), e.getValue(), spans(state.docs.get(e.getKey()), matchedTokens)));
+            }
+            Collections.reverse(hits);
+            return hits;
+        });
+    }
+
+    /** Indexed tokens within the allowed distance of {@code term}, with their distance. */
+    private static Map<String, Integer> lookup(State state, String term) {
+        int maxDistance = allowedDistance(term);
+        Map<String, Integer> out = new HashMap<>();
+        if (maxDistance == 0) {
+            if (state.postings.containsKey(term)) out.put(term, 0);
+            return out;
+        }
+        Set<String> seen = new HashSet<>();
+        for (String key : deletes(prefix(term), maxDistance)) {
+            Set<String> tokens = state.deletes.get(key);
+            if (tokens == null) continue;
+            for (String token : tokens) {
+                if (!seen.add(token)) continue;
+                int d = distance(term, token, maxDistance);
+                if (d <= maxDistance) out.put(token, d);
+            }
+        }
+        return out;
+    }
+
+    static int allowedDistance(String term) {
+        if (term.length() <= EXACT_UP_TO) return 0;
+        if (term.length() <= ONE_EDIT_UP_TO) return 1;
+        return MAX_DISTANCE;
+    }
+
+    private static List<MatchSpan> spans(String[] fields, Set<String> tokens) {
+        if (fields == null) return List.of();
+        List<MatchSpan> out = new ArrayList<>();
+        for (int f = 0; f < fields.length; f++) {
+            String text = fields[f];
+            int start = -1;
+            for (int i = 0; i <= text.length(); i++) {
+                boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+                if (word && start < 0) {
+                    start = i;
+                } else if (!word && start >= 0) {
+                    if (tokens.contains(text.substring(start, i))) out.add(new MatchSpan(FIELDS[f], start, i));
+                    start = -1;
+                }
+            }
+        }
+        return out;
+    }
+
+    // ---- index maintenance (callers hold the lock) ----
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected String describe(State state) {
+        return state.docs.size() + " clients, " + state.postings.size() + " tokens, "
+                + state.deletes.size() + " delete keys";
+    }
+
+    @Override
+    protected void add(State state, ClientDto client) {
+        Long id = client.getId();
+        if (id == null) return;
+        String[] fields = {SearchText.normalize(client.getFullName()), SearchText.normalize(client.getEmail())};
+        state.docs.put(id, fields);
+        for (String token : tokensOf(fields)) {
+            PostingList ids = state.postings.get(token);
+            if (ids == null) {
+                ids = new PostingList();
+                state.postings.put(token, ids);
+                for (String key : deletes(prefix(token), MAX_DISTANCE)) {
+                    state.deletes.computeIfAbsent(key, k -> new HashSet<>(2)).add(token);
+                }
+            }
+            ids.add(id);
+        }
+    }
+
+    @Override
+    protected void remove(State state, Long id) {
+        String[] fields = state.docs.remove(id);
+        if (fields == null) return;
+        for (String token : tokensOf(fields)) {
+            PostingList ids = state.postings.get(token);
+            if (ids == null) continue;
+            ids.remove(id);
+            if (ids.size() > 0) continue;
+            state.postings.remove(token);
+            for (String key : deletes(prefix(token), MAX_DISTANCE)) {
+                Set<String> tokens = state.deletes.get(key);
+                if (tokens == null) continue;
+                tokens.remove(token);
+                if (tokens.isEmpty()) state.deletes.remove(key);
+            }
+        }
+    }
+
+    private static Set<String> tokensOf(String[] fields) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String field : fields) {
+            out.addAll(SearchText.tokens(field));
+        }
+        return out;
+    }
+
+    private static String prefix(String token) {
+        return token.length() > PREFIX_LENGTH ? token.substring(0, PREFIX_LENGTH) : token;
+    }
+
+    /** The word itself plus every string reachable from it by up to {@code depth} deletions. */
+    static Set<String> deletes(String word, int depth) {
+        Set<String> out = new HashSet<>();
+        out.add(word);
+        List<String> frontier = List.of(word);
+        for (int d = 0; d < depth; d++) {
+            List<String> next = new ArrayList<>();
+            for (String w : frontier) {
+                if (w.length() <= 1) continue;
+                for (int i = 0; i < w.length(); i++) {
+                    String shorter = w.substring(0, i) + w.substring(i + 1);
+                    if (out.add(shorter)) next.add(shorter);
+                }
+            }
+            frontier = next;
+        }
+        return out;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions).
+     * Gives up early and returns {@code max + 1} once the distance must exceed {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) return max + 1;
+        int n = a.length();
+        int m = b.length();
+        int[] prevPrev = new int[m + 1];
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j;
+        for (int i = 1; i <= n; i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int v = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    v = Math.min(v, prevPrev[j - 2] + 1);
+                }
+                cur[j] = v;
+                rowMin = Math.min(rowMin, v);
+            }
+            if (rowMin > max) return max + 1;
+            int[] tmp = prevPrev;
+            prevPrev = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return Math.min(prev[m], max + 1);
+    }
+}
@@ -0,0 +1,305 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-process inverted index over client text fields.
+ * <p>
+ * Two posting structures are kept:
+ * <ul>
+ *     <li>trigrams of every token in the short identity fields (name, display name, email,
+ *     location), which answer infix matches the way {@code LIKE '%kw%'} did;</li>
+ *     <li>whole tokens of all fields, including {@code details}, in a sorted map so a term
+ *     can be resolved as a token prefix.</li>
+ * </ul>
+ * Query terms match anywhere inside the short fields and at a word start in {@code details}.
+ * Terms shorter than a trigram have no postings to narrow them down, so for those the
+ * short fields of every client are scanned, as {@code LIKE '%kw%'} would. Candidates are
+ * verified against the stored normalized text, which also yields the match offsets
+ * returned to the caller.
+ * <p>
+ * Enabled with {@code clients.search.mode=index}; see {@link AbstractClientIndex} for how
+ * it is built and kept current.
+ */
+@Component
+public class ClientSearchIndex extends AbstractClientIndex<ClientSearchIndex.State> {
+
+    static final String[] FIELDS = {"fullName", "displayName", "email", "location", "details"};
+    private static final double[] WEIGHTS = {5, 4, 3, 2, 1};
+    private static final int DETAILS = 4;
+    private static final int GRAM = 3;
+    private static final int MAX_TERMS = 8;
+    private static final int MAX_SPANS_PER_FIELD = 8;
+
+    static final class State {
+        final Map<Long, String[]> docs = new HashMap<>();
+        final Map<String, PostingList> grams = new HashMap<>();
+        final NavigableMap<String, PostingList> words = new TreeMap<>();
+    }
+
+    public ClientSearchIndex(
+            ClientRepository clientRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${clients.search.mode:index}") String mode
+    ) {
+        super("client-search-index", "index".equalsIgnoreCase(mode),
+                clientRepository, entityManager, transactionManager);
+    }
+
+    public int size() {
+        return read(state -> state.docs.size());
+    }
+
+    /**
+     * Returns hits for every client matching all terms of {@code query}, best first.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty() || limit <= 0) return List.of();
+
+        return read(state -> {
+            long[] candidates = null;
+            for (String term : terms) {
+                long[] forTerm = candidatesFor(state, term);
+                candidates = candidates == null ? forTerm : intersect(candidates, forTerm);
+                if (candidates.length == 0) return List.of();
+            }
+
+            List<SearchHit> hits = new ArrayList<>();
+            for (long id : candidates) {
+                SearchHit hit = evaluate(id, state.docs.get(id), terms);
+                if (hit != null) hits.add(hit);
+            }
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparingLong(SearchHit::id));
+            return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+        });
+    }
+
+    /**
+     * Scores one client against a query without touching the index. Used for results that
+     * did not come from the index (e.g. the database fallback) so they still carry offsets.
+     */
+    public static SearchHit evaluate(ClientDto client, String query) {
+        return evaluate(client.getId(), fieldsOf(client), terms(query));
+    }
+
+    // ---- internals (callers hold the lock) ----
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected String describe(State state) {
+        return state.docs.size() + " clients, " + state.grams.size() + " grams, " + state.words.size() + " words";
+    }
+
+    @Override
+    protected void remove(State state, Long id) {
+        String[] fields = state.docs.remove(id);
+        if (fields == null) return;
+        for (String gram : gramsOf(fields)) {
+            PostingList list = state.grams.get(gram);
+            if (list == null) continue;
+            list.remove(id);
+            if (list.size() == 0) state.grams.remove(gram);
+        }
+        for (String word : wordsOf(fields)) {
+            PostingList list = state.words.get(word);
+            if (list == null) continue;
+            list.remove(id);
+            if (list.size() == 0) state.words.remove(word);
+        }
+    }
+
+    @Override
+    protected void add(State state, ClientDto client) {
+        Long id = client.getId();
+        if (id == null) return;
+        String[] fields = fieldsOf(client);
+        state.docs.put(id, fields);
+        for (String gram : gramsOf(fields)) {
+            state.grams.computeIfAbsent(gram, g -> new PostingList()).add(id);
+        }
+        for (String word : wordsOf(fields)) {
+            state.words.computeIfAbsent(word, w -> new PostingList()).add(id);
+        }
+    }
+
+    private static long[] candidatesFor(State state, String term) {
+        long[] byWord = wordPrefixPostings(state, term);
+        if (term.length() < GRAM) return union(scanShortFields(state, term), byWord);
+
+        long[] byGram = null;
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            PostingList list = state.grams.get(term.substring(i, i + GRAM));
+            if (list == null) return byWord;
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        for (PostingList list : lists) {
+            byGram = byGram == null ? list.toArray() : list.retainAll(byGram);
+            if (byGram.length == 0) return byWord;
+        }
+        return union(byGram, byWord);
+    }
+
+    // Ids whose name, display name, email or location contain term, sorted.
+    private static long[] scanShortFields(State state, String term) {
+        long[] out = new long[state.docs.size()];
+        int n = 0;
+        for (Map.Entry<Long, String[]> doc : state.docs.entrySet()) {
+            String[] fields = doc.getValue();
+            for (int f = 0; f < DETAILS; f++) {
+                if (fields[f].contains(term)) {
+                    out[n++] = doc.getKey();
+                    break;
+                }
+            }
+        }
+        long[] ids = Arrays.copyOf(out, n);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static long[] wordPrefixPostings(State state, String prefix) {
+        var matching = state.words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        if (matching.size() == 1) return matching.iterator().next().toArray();
+        int total = 0;
+        for (PostingList list : matching) total += list.size();
+        long[] all = new long[total];
+        int n = 0;
+        for (PostingList list : matching) {
+            for (int i = 0; i < list.size(); i++) all[n++] = list.get(i);
+        }
+        Arrays.sort(all);
+        return distinctSorted(all);
+    }
+
+    private static SearchHit evaluate(long id, String[] fields, List<String> terms) {
+        if (fields == null) return null;
+        double score = 0;
+        List<MatchSpan> spans = new ArrayList<>();
+        for (String term : terms) {
+            double best = 0;
+            for (int f = 0; f < fields.length; f++) {
+                String text = fields[f];
+                boolean anywhere = f != DETAILS;
+                int found = 0;
+                for (int pos = text.indexOf(term); pos >= 0 && found < MAX_SPANS_PER_FIELD;
+                     pos = text.indexOf(term, pos + 1)) {
+                    boolean atStart = SearchText.isTokenStart(text, pos);
+                    if (!anywhere && !atStart) continue;
+                    int end = pos + term.length();
+                    boolean wholeToken = atStart
+                            && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)));
+                    best = Math.max(best, WEIGHTS[f] * (atStart ? 2 : 1) * (wholeToken ? 1.5 : 1));
+                    spans.add(new MatchSpan(FIELDS[f], pos, end));
+                    found++;
+                }
+            }
+            if (best == 0) return null;
+            score += best;
+        }
+        spans.sort(Comparator.comparing(MatchSpan::field).thenComparingInt(MatchSpan::start));
+        return new SearchHit(id, score, spans);
+    }
+
+    static List<String> terms(String query) {
+        if (query == null) return List.of();
+        Set<String> distinct = SearchText.distinctTokens(SearchText.normalize(query));
+        return distinct.stream().limit(MAX_TERMS).toList();
+    }
+
+    static String[] fieldsOf(ClientDto client) {
+        return new String[]{
+                SearchText.normalize(client.getFullName()),
+                SearchText.normalize(client.getDisplayName()),
+                SearchText.normalize(client.getEmail()),
+                SearchText.normalize(client.getLocation()),
+                SearchText.normalize(client.getDetails())
+        };
+    }
+
+    private static Set<String> gramsOf(String[] fields) {
+        Set<String> out = new LinkedHashSet<>();
+        for (int f = 0; f < DETAILS; f++) {
+            for (String token : SearchText.tokens(fields[f])) {
+                for (int i = 0; i + GRAM <= token.length(); i++) {
+                    out.add(token.substring(i, i + GRAM));
+                }
+            }
+        }
+        return out;
+    }
+
+    private static Set<String> wordsOf(String[] fields) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String field : fields) {
+            out.addAll(SearchText.tokens(field));
+        }
+        return out;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static long[] distinctSorted(long[] sorted) {
+        if (sorted.length < 2) return sorted;
+        int n = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[n - 1]) sorted[n++] = sorted[i];
+        }
+        return Arrays.copyOf(sorted, n);
+    }
+
+    private static long[] union(long[] a, long[] b) {
+        if (a.length == 0) return b;
+        if (b.length == 0) return a;
+        long[] out = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j >= b.length || (i < a.length && a[i] < b[j])) next = a[i++];
+            else if (i >= a.length || b[j] < a[i]) next = b[j++];
+            else {
+                next = a[i++];
+                j++;
+            }
+            out[n++] = next;
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
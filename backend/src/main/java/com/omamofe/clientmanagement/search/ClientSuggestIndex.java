@@ -0,0 +1,118 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.ClientSuggestionDto;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Backs the search box typeahead. Keys are the normalized full name, every word start
+ * inside it (so "wick" finds "John Wick"), the display name and the email. Suggestions
+ * carry only id and display name and are answered without touching the database.
+ * <p>
+ * Besides the after-commit updates from {@link AbstractClientIndex}, the trie is rebuilt
+ * on a fixed delay so it also picks up rows written outside {@code ClientService}.
+ */
+@Component
+public class ClientSuggestIndex extends AbstractClientIndex<ClientSuggestIndex.State> {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    static final class State {
+        final SuggestTrie trie = new SuggestTrie(MAX_SUGGESTIONS);
+        final Map<Long, Set<String>> keysById = new HashMap<>();
+    }
+
+    public ClientSuggestIndex(
+            ClientRepository clientRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${clients.suggest.enabled:true}") boolean enabled
+    ) {
+        super("client-suggest-index", enabled, clientRepository, entityManager, transactionManager);
+    }
+
+    public List<ClientSuggestionDto> suggest(String prefix, int limit) {
+        String normalized = SearchText.normalize(prefix == null ? "" : prefix.strip());
+        if (normalized.isEmpty() || limit <= 0) return List.of();
+        int size = Math.min(limit, MAX_SUGGESTIONS);
+        return read(state -> {
+            long[] ids = state.trie.top(normalized);
+            List<ClientSuggestionDto> out = new ArrayList<>(Math.min(size, ids.length));
+            for (int i = 0; i < ids.length && out.size() < size; i++) {
+                SuggestTrie.Entry entry = state.trie.entry(ids[i]);
+                if (entry != null) out.add(new ClientSuggestionDto(entry.id(), entry.label()));
+            }
+            return out;
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${clients.suggest.rebuild-interval-ms:900000}",
+            fixedDelayString = "${clients.suggest.rebuild-interval-ms:900000}"
+    )
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // ---- index maintenance (callers hold the lock) ----
+
+    @Override
+    protected State newState() {
+        return new State();
+    }
+
+    @Override
+    protected String describe(State state) {
+        return state.trie.size() + " clients";
+    }
+
+    @Override
+    protected void add(State state, ClientDto client) {
+        Long id = client.getId();
+        if (id == null) return;
+        Set<String> keys = keysOf(client);
+        state.keysById.put(id, keys);
+        state.trie.put(new SuggestTrie.Entry(id, labelOf(client), !Boolean.FALSE.equals(client.getActive())), keys);
+    }
+
+    @Override
+    protected void remove(State state, Long id) {
+        Set<String> keys = state.keysById.remove(id);
+        if (keys != null) state.trie.remove(id, keys);
+    }
+
+    static Set<String> keysOf(ClientDto client) {
+        Set<String> keys = new LinkedHashSet<>();
+        String name = SearchText.normalize(client.getFullName()).strip();
+        if (!name.isEmpty()) {
+            keys.add(name);
+            for (int i = 1; i < name.length(); i++) {
+                if (SearchText.isTokenStart(name, i) && Character.isLetterOrDigit(name.charAt(i))) {
+                    keys.add(name.substring(i));
+                }
+            }
+        }
+        String display = SearchText.normalize(client.getDisplayName()).strip();
+        if (!display.isEmpty()) keys.add(display);
+        String email = SearchText.normalize(client.getEmail()).strip();
+        if (!email.isEmpty()) keys.add(email);
+        return keys;
+    }
+
+    private static String labelOf(ClientDto client) {
+        String display = client.getDisplayName();
+        return display != null && !display.isBlank() ? display : client.getFullName();
+    }
+}
@@ -0,0 +1,43 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientFacetsDto;
+import com.omamofe.clientmanagement.dto.FacetCountDto;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running counts of clients per active flag and per location. Counts can be added and
+ * taken away again, so one instance can track a changing set. Not thread-safe.
+ */
+public final class FacetCounts {
+
+    private static final Comparator<Map.Entry<String, Long>> MOST_FREQUENT =
+            Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private long total;
+    private long active;
+    private long inactive;
+    private final Map<String, Long> locations = new HashMap<>();
+
+    /** Counts {@code n} clients (negative to take them away) with the given values. */
+    public void add(Boolean active, String location, long n) {
+        total += n;
+        if (Boolean.TRUE.equals(active)) this.active += n;
+        else if (Boolean.FALSE.equals(active)) inactive += n;
+        if (location != null && !location.isBlank()) {
+            locations.merge(location, n, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    public ClientFacetsDto toDto(int topLocations) {
+        List<FacetCountDto> top = locations.entrySet().stream()
+                .sorted(MOST_FREQUENT)
+                .limit(topLocations)
+                .map(e -> new FacetCountDto(e.getKey(), e.getValue()))
+                .toList();
+        return new ClientFacetsDto(total, active, inactive, top);
+    }
+}
@@ -0,0 +1,8 @@
+package com.omamofe.clientmanagement.search;
+
+/**
+ * A matched query term inside one client field, as a half-open character range
+ * {@code [start, end)} over the original field value.
+ */
+public record MatchSpan(String field, int start, int end) {
+}
@@ -0,0 +1,79 @@
+package com.omamofe.clientmanagement.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free list of client ids. Ids are assigned by an identity column, so
+ * new documents almost always land at the tail and {@link #add} is an append.
+ * Not thread-safe; {@link ClientSearchIndex} guards access.
+ */
+final class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long get(int i) {
+        return ids[i];
+    }
+
+    void add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) return;
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) return;
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+        }
+    }
+
+    /**
+     * Intersects a sorted candidate array with this list. Probes by binary search from a
+     * moving lower bound, which is cheap when the candidates are much shorter than the list.
+     */
+    long[] retainAll(long[] candidates) {
+        long[] out = new long[Math.min(candidates.length, size)];
+        int n = 0;
+        int from = 0;
+        for (long id : candidates) {
+            int pos = Arrays.binarySearch(ids, from, size, id);
+            if (pos >= 0) {
+                out[n++] = id;
+                from = pos + 1;
+            } else {
+                from = -pos - 1;
+            }
+            if (from >= size) break;
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
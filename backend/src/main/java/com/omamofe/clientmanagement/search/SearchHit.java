@@ -0,0 +1,6 @@
+package com.omamofe.clientmanagement.search;
+
+import java.util.List;
+
+public record SearchHit(long id, double score, List<MatchSpan> matches) {
+}
@@ -0,0 +1,50 @@
+package com.omamofe.clientmanagement.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Text normalization shared by the in-memory search structures.
+ * Lower-casing is done per char so normalized strings keep the exact length and offsets
+ * of the original value.
+ */
+final class SearchText {
+
+    private SearchText() {
+    }
+
+    static String normalize(String value) {
+        if (value == null || value.isEmpty()) return "";
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /** Splits normalized text into runs of letters and digits. */
+    static List<String> tokens(String normalized) {
+        List<String> out = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean word = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                out.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return out;
+    }
+
+    static Set<String> distinctTokens(String normalized) {
+        return new LinkedHashSet<>(tokens(normalized));
+    }
+
+    static boolean isTokenStart(String normalized, int pos) {
+        return pos == 0 || !Character.isLetterOrDigit(normalized.charAt(pos - 1));
+    }
+}
@@ -0,0 +1,253 @@
+package com.omamofe.clientmanagement.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Radix trie from normalized keys to client ids where every node caches the best
+ * {@link #topK} ids of its subtree. A prefix lookup walks at most {@code prefix.length()}
+ * chars and returns the cached array, so its cost does not depend on how many clients
+ * share the prefix.
+ * <p>
+ * Children are kept in parallel sorted arrays (first edge char / child node) rather than
+ * maps. Inserts and removals refresh the cached tops along the touched path only.
+ * Not thread-safe; {@link ClientSuggestIndex} guards access.
+ */
+final class SuggestTrie {
+
+    /** What a suggestion shows, plus what it is ranked by. */
+    record Entry(long id, String label, boolean active) {
+    }
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_IDS = new long[0];
+
+    private static final class Node {
+        String edge;
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        long[] terminal = NO_IDS;
+        long[] top = NO_IDS;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        int indexOf(char c) {
+            return Arrays.binarySearch(keys, c);
+        }
+
+        void putChild(Node child) {
+            char c = child.edge.charAt(0);
+            int pos = indexOf(c);
+            if (pos >= 0) {
+                children[pos] = child;
+                return;
+            }
+            int at = -pos - 1;
+            keys = insert(keys, at, c);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = child;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+        }
+
+        void removeChild(int pos) {
+            char[] k = new char[keys.length - 1];
+            System.arraycopy(keys, 0, k, 0, pos);
+            System.arraycopy(keys, pos + 1, k, pos, keys.length - pos - 1);
+            keys = k;
+            Node[] c = new Node[children.length - 1];
+            System.arraycopy(children, 0, c, 0, pos);
+            System.arraycopy(children, pos + 1, c, pos, children.length - pos - 1);
+            children = c;
+        }
+    }
+
+    private final int topK;
+    private final Node root = new Node("");
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Comparator<Long> rank;
+
+    SuggestTrie(int topK) {
+        this.topK = topK;
+        // Active clients first, then alphabetical by label, then oldest id.
+        this.rank = Comparator.<Long, Boolean>comparing(id -> !entries.get(id).active())
+                .thenComparing(id -> entries.get(id).label(), String.CASE_INSENSITIVE_ORDER)
+                .thenComparingLong(id -> id);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    Entry entry(long id) {
+        return entries.get(id);
+    }
+
+    void put(Entry entry, Iterable<String> keys) {
+        entries.put(entry.id(), entry);
+        for (String key : keys) {
+            if (!key.isEmpty()) insert(key, entry.id());
+        }
+    }
+
+    void remove(long id, Iterable<String> keys) {
+        if (!entries.containsKey(id)) return;
+        for (String key : keys) {
+            if (!key.isEmpty()) delete(root, key, id);
+        }
+        entries.remove(id);
+    }
+
+    /** Best ids for keys starting with {@code prefix}, at most {@link #topK}. */
+    long[] top(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int pos = node.indexOf(prefix.charAt(i));
+            if (pos < 0) return NO_IDS;
+            Node child = node.children[pos];
+            int n = commonPrefix(child.edge, prefix, i);
+            if (i + n == prefix.length()) return child.top; // prefix ends on or inside this edge
+            if (n < child.edge.length()) return NO_IDS;
+            i += n;
+            node = child;
+        }
+        return node.top;
+    }
+
+    // ---- mutation ----
+
+    private void insert(String key, long id) {
+        insert(root, key, 0, id);
+    }
+
+    private void insert(Node node, String key, int i, long id) {
+        if (i == key.length()) {
+            node.terminal = addSorted(node.terminal, id);
+            refreshTop(node);
+            return;
+        }
+        int pos = node.indexOf(key.charAt(i));
+        if (pos < 0) {
+            Node leaf = new Node(key.substring(i));
+            leaf.terminal = new long[]{id};
+            leaf.top = leaf.terminal;
+            node.putChild(leaf);
+        } else {
+            Node child = node.children[pos];
+            int n = commonPrefix(child.edge, key, i);
+            if (n < child.edge.length()) {
+                // Split the edge: node -> mid(common part) -> child(rest).
+                Node mid = new Node(child.edge.substring(0, n));
+                child.edge = child.edge.substring(n);
+                mid.putChild(child);
+                mid.top = child.top;
+                node.children[pos] = mid;
+                child = mid;
+            }
+            insert(child, key, i + n, id);
+        }
+        refreshTop(node);
+    }
+
+    /** Returns true when {@code node} became empty and can be unlinked by its parent. */
+    private boolean delete(Node node, String key, long id) {
+        if (key.isEmpty()) {
+            node.terminal = removeSorted(node.terminal, id);
+        } else {
+            int pos = node.indexOf(key.charAt(0));
+            if (pos < 0) return false;
+            Node child = node.children[pos];
+            if (!key.startsWith(child.edge)) return false;
+            if (delete(child, key.substring(child.edge.length()), id)) {
+                node.removeChild(pos);
+            }
+        }
+        refreshTop(node);
+        return node != root && node.terminal.length == 0 && node.children.length == 0;
+    }
+
+    private void refreshTop(Node node) {
+        long[] best = bestOf(node.terminal);
+        for (Node child : node.children) {
+            best = merge(best, child.top);
+        }
+        node.top = best;
+    }
+
+    private long[] bestOf(long[] ids) {
+        Long[] boxed = Arrays.stream(ids).boxed().sorted(rank).limit(topK).toArray(Long[]::new);
+        long[] out = new long[boxed.length];
+        for (int i = 0; i < boxed.length; i++) out[i] = boxed[i];
+        return out;
+    }
+
+    /** Merges two rank-ordered arrays, dropping duplicates, keeping the first {@link #topK}. */
+    private long[] merge(long[] a, long[] b) {
+        if (b.length == 0) return a;
+        if (a.length == 0) return b.length > topK ? Arrays.copyOf(b, topK) : b;
+        long[] out = new long[Math.min(topK, a.length + b.length)];
+        int i = 0, j = 0, n = 0;
+        while (n < out.length && (i < a.length || j < b.length)) {
+            long next;
+            if (j >= b.length) next = a[i++];
+            else if (i >= a.length) next = b[j++];
+            else {
+                int cmp = rank.compare(a[i], b[j]);
+                if (cmp == 0) {
+                    next = a[i++];
+                    j++;
+                } else if (cmp < 0) next = a[i++];
+                else next = b[j++];
+            }
+            if (!contains(out, n, next)) out[n++] = next;
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static boolean contains(long[] arr, int n, long v) {
+        for (int k = 0; k < n; k++) if (arr[k] == v) return true;
+        return false;
+    }
+
+    private static int commonPrefix(String edge, String key, int from) {
+        int max = Math.min(edge.length(), key.length() - from);
+        int n = 0;
+        while (n < max && edge.charAt(n) == key.charAt(from + n)) n++;
+        return n;
+    }
+
+    private static char[] insert(char[] arr, int at, char c) {
+        char[] out = new char[arr.length + 1];
+        System.arraycopy(arr, 0, out, 0, at);
+        out[at] = c;
+        System.arraycopy(arr, at, out, at + 1, arr.length - at);
+        return out;
+    }
+
+    private static long[] addSorted(long[] arr, long id) {
+        int pos = Arrays.binarySearch(arr, id);
+        if (pos >= 0) return arr;
+        int at = -pos - 1;
+        long[] out = new long[arr.length + 1];
+        System.arraycopy(arr, 0, out, 0, at);
+        out[at] = id;
+        System.arraycopy(arr, at, out, at + 1, arr.length - at);
+        return out;
+    }
+
+    private static long[] removeSorted(long[] arr, long id) {
+        int pos = Arrays.binarySearch(arr, id);
+        if (pos < 0) return arr;
+        long[] out = new long[arr.length - 1];
+        System.arraycopy(arr, 0, out, 0, pos);
+        System.arraycopy(arr, pos + 1, out, pos, arr.length - pos - 1);
+        return out;
+    }
+}
@@ -0,0 +1,37 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque page cursor for audit log listings: the (timestamp, id) of the last entry of a
+ * page, which the next page seeks past.
+ */
+record AuditLogCursor(Instant timestamp, long id) {
+
+    private static final String PREFIX = "a1:";
+
+    String encode() {
+        String raw = PREFIX + timestamp.getEpochSecond() + "." + timestamp.getNano() + "." + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** The decoded cursor, or {@code null} for the first page. */
+    static AuditLogCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) throw new InvalidCursorException(cursor);
+            String[] parts = raw.substring(PREFIX.length()).split("\\.");
+            if (parts.length != 3) throw new InvalidCursorException(cursor);
+            Instant timestamp = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new AuditLogCursor(timestamp, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -2,21 +2,27 @@ package com.omamofe.clientmanagement.service;
 
 import com.omamofe.clientmanagement.entity.AuditLog;
 import com.omamofe.clientmanagement.mapper.AuditLogMapper;
-import com.omamofe.clientmanagement.repository.AuditLogRepository;
+import com.omamofe.clientmanagement.audit.AuditLogStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
 import java.util.List;
-import com.omamofe.clientmanagement.dto.AuditLogDto;
+import java.util.Locale;
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.dto.AuditLogPageDto;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class AuditLogService {
 
-    private final AuditLogRepository auditRepo;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final AuditLogStore store;
 
     private String getCurrentEmail() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -34,15 +40,71 @@ public class AuditLogService {
                 .entityId(entityId)
                 .actorEmail(getCurrentEmail())
                 .actorName(getCurrentName())
+                .timestamp(Instant.now())
                 .build();
 
-        auditRepo.save(log);
+        store.append(List.of(log));
     }
 
-    public List<AuditLogDto> getAllLogs() {
-        return auditRepo.findAllByOrderByTimestampDesc()
-                .stream()
-                .map(AuditLogMapper::toDto)
+    /** One entry per id, stored together (a single JDBC batch with the JPA store). */
+    public void recordAll(String action, String entityType, List<Long> entityIds) {
+        if (entityIds.isEmpty()) return;
+        String email = getCurrentEmail();
+        String name = getCurrentName();
+        Instant now = Instant.now();
+        List<AuditLog> logs = entityIds.stream()
+                .map(id -> AuditLog.builder()
+                        .action(action)
+                        .entityType(entityType)
+                        .entityId(id)
+                        .actorEmail(email)
+                        .actorName(name)
+                        .timestamp(now)
+                        .build())
                 .toList();
+        store.append(logs);
+    }
+
+    /**
+     * One page of entries matching {@code filter}, newest first. Pass the previous page's
+     * {@code nextCursor} as {@code after} for the next; it is null on the last page.
+     */
+    @Transactional(readOnly = true)
+    public AuditLogPageDto getLogs(AuditLogFilterDto filter, String after, Integer limit) {
+        AuditLogFilterDto criteria = normalize(filter);
+        int size = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        AuditLogCursor cursor = AuditLogCursor.decode(after);
+        List<AuditLog> rows = store.findPage(criteria,
+                cursor != null ? cursor.timestamp() : null, cursor != null ? cursor.id() : null, size);
+
+        // A short page means we hit the end; no cursor so callers stop paging.
+        String next = rows.size() < size ? null
+                : new AuditLogCursor(rows.getLast().getTimestamp(), rows.getLast().getId()).encode();
+        return new AuditLogPageDto(rows.stream().map(AuditLogMapper::toDto).toList(), next);
+    }
+
+    /** History of one entity, newest first; served by idx_audit_logs_entity with the JPA store. */
+    @Transactional(readOnly = true)
+    public AuditLogPageDto getEntityHistory(String entityType, Long entityId, String after, Integer limit) {
+        AuditLogFilterDto filter = new AuditLogFilterDto();
+        filter.setEntityType(entityType);
+        filter.setEntityId(entityId);
+        return getLogs(filter, after, limit);
+    }
+
+    // Actions and entity types are stored upper-case; blanks mean "any".
+    private static AuditLogFilterDto normalize(AuditLogFilterDto filter) {
+        if (filter == null) return new AuditLogFilterDto();
+        return new AuditLogFilterDto(
+                upperOrNull(filter.getAction()),
+                upperOrNull(filter.getEntityType()),
+                filter.getEntityId(),
+                filter.getActorEmail() == null || filter.getActorEmail().isBlank() ? null : filter.getActorEmail().trim(),
+                filter.getFrom(),
+                filter.getTo());
+    }
+
+    private static String upperOrNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase(Locale.ROOT);
     }
 }
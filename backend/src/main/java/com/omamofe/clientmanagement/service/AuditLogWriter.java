@@ -0,0 +1,253 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Writes audit entries off the request path when {@code audit.async.enabled} is set.
+ * <p>
+ * Entries are queued after the surrounding transaction commits (nothing is recorded for a
+ * rollback, as before) into an {@link AuditRingBuffer} of {@code audit.async.capacity}.
+ * A single writer thread takes them out and inserts them through a stateless session in
+ * JDBC batches, once {@code audit.async.batch-size} entries are waiting or the oldest has
+ * waited {@code audit.async.flush-interval}, whichever comes first.
+ * <p>
+ * When the buffer is full, {@code audit.async.overflow} decides: {@code block} waits for
+ * room, {@code caller-runs} inserts the entry on the calling thread, {@code drop} discards
+ * it and counts it in {@code audit.dropped}. On shutdown everything queued is written.
+ * <p>
+ * A failed insert is logged and counted as dropped; the writer carries on. Should the
+ * writer thread die anyway, the writer stops queueing and each caller inserts its own
+ * entries, so {@code block} never waits on a queue nobody drains. Entries still queued when
+ * the process dies are lost.
+ */
+@Component
+public class AuditLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    enum OverflowPolicy { BLOCK, CALLER_RUNS, DROP }
+
+    private final boolean enabled;
+    private final AuditRingBuffer buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflow;
+    private final Consumer<List<AuditLog>> sink;
+    private final Timer flushes;
+    private final Counter dropped;
+    private final AtomicLong written = new AtomicLong();
+    private volatile boolean running;
+    private volatile boolean flushRequested;
+    private Thread writer;
+
+    @Autowired
+    public AuditLogWriter(EntityManagerFactory entityManagerFactory,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.async.enabled:false}") boolean enabled,
+                          @Value("${audit.async.capacity:8192}") int capacity,
+                          @Value("${audit.async.batch-size:500}") int batchSize,
+                          @Value("${audit.async.flush-interval:PT0.2S}") Duration flushInterval,
+                          @Value("${audit.async.overflow:block}") String overflow) {
+        this(meterRegistry, enabled, capacity, batchSize, flushInterval, overflow,
+                insertBatch(entityManagerFactory.unwrap(SessionFactory.class), batchSize));
+    }
+
+    AuditLogWriter(MeterRegistry meterRegistry, boolean enabled, int capacity, int batchSize, Duration flushInterval,
+                   String overflow, Consumer<List<AuditLog>> sink) {
+        this.enabled = enabled;
+        this.buffer = new AuditRingBuffer(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflow = OverflowPolicy.valueOf(overflow.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.sink = sink;
+        this.flushes = Timer.builder("audit.flush")
+                .description("Time to insert one batch of audit entries")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit.dropped")
+                .description("Audit entries discarded because the queue was full or the insert failed")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.depth", buffer, AuditRingBuffer::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    private static Consumer<List<AuditLog>> insertBatch(SessionFactory sessionFactory, int batchSize) {
+        return entries -> {
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                session.setJdbcBatchSize(batchSize);
+                Transaction tx = session.beginTransaction();
+                try {
+                    for (AuditLog entry : entries) session.insert(entry);
+                    tx.commit();
+                } catch (RuntimeException e) {
+                    tx.rollback();
+                    throw e;
+                }
+            }
+        };
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        running = true;
+        writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::run);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Queues {@code entries} once the current transaction commits, or now without one. */
+    public void submit(List<AuditLog> entries) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entries);
+                }
+            });
+        } else {
+            enqueue(entries);
+        }
+    }
+
+    private void enqueue(List<AuditLog> entries) {
+        List<AuditLog> overflowed = null;
+        for (AuditLog entry : entries) {
+            if (running && offer(entry)) continue;
+            if (overflow == OverflowPolicy.DROP && running) {
+                dropped.increment();
+            } else {
+                if (overflowed == null) overflowed = new ArrayList<>();
+                overflowed.add(entry);
+            }
+        }
+        if (buffer.size() >= batchSize) LockSupport.unpark(writer);
+        // Caller runs, or the writer has stopped.
+        if (overflowed != null) write(overflowed);
+    }
+
+    private boolean offer(AuditLog entry) {
+        if (buffer.offer(entry)) return true;
+        if (overflow != OverflowPolicy.BLOCK) return false;
+        do {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(200));
+            if (!running) return false;
+        } while (!buffer.offer(entry));
+        return true;
+    }
+
+    /**
+     * Waits until everything queued before the call has been written (or failed).
+     * Returns {@code false} on timeout.
+     */
+    public boolean awaitFlushed(Duration timeout) {
+        if (!enabled) return true;
+        long target = buffer.offered();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (written.get() < target) {
+            if (System.nanoTime() - deadline > 0) return false;
+            flushRequested = true;
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        try {
+            writeUntilStopped(batch);
+        } finally {
+            if (running) {
+                running = false;
+                log.error("Audit writer thread stopped unexpectedly; entries are now written by the callers");
+                buffer.drainTo(batch, Integer.MAX_VALUE);
+                if (!batch.isEmpty()) write(batch);
+                written.addAndGet(batch.size());
+            }
+        }
+    }
+
+    private void writeUntilStopped(List<AuditLog> batch) {
+        long oldest = 0;
+        while (true) {
+            boolean stopping = !running;
+            boolean flushNow = flushRequested;
+            boolean wasEmpty = batch.isEmpty();
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (wasEmpty && !batch.isEmpty()) oldest = System.nanoTime();
+            long waited = System.nanoTime() - oldest;
+
+            if (!batch.isEmpty() && (stopping || flushNow || batch.size() >= batchSize || waited >= flushIntervalNanos)) {
+                if (flushNow && buffer.size() == 0) flushRequested = false;
+                write(batch);
+                written.addAndGet(batch.size());
+                batch.clear();
+            } else if (batch.isEmpty() && buffer.size() == 0) {
+                flushRequested = false;
+                if (stopping) return;
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            } else if (batch.isEmpty()) {
+                // A producer has claimed a slot but not filled it yet.
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, flushIntervalNanos - waited);
+            }
+        }
+    }
+
+    private void write(List<AuditLog> entries) {
+        long start = System.nanoTime();
+        try {
+            sink.accept(entries);
+        } catch (Throwable e) {
+            // Errors too: on the writer thread anything escaping here would end the thread.
+            log.error("Failed to write {} audit entries", entries.size(), e);
+            dropped.increment(entries.size());
+        } finally {
+            flushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (!enabled) return;
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        // Anything offered while the writer was finishing.
+        List<AuditLog> rest = new ArrayList<>();
+        buffer.drainTo(rest, Integer.MAX_VALUE);
+        if (!rest.isEmpty()) write(rest);
+        written.addAndGet(rest.size());
+    }
+}
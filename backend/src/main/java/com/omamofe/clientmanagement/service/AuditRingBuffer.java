@@ -0,0 +1,71 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.entity.AuditLog;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free queue of audit entries with any number of producers and one consumer.
+ * <p>
+ * A producer claims the next position with a CAS on {@code tail} and then publishes its
+ * entry into that slot; the consumer takes slots in order, clears them and advances
+ * {@code head}. A claimed slot whose entry is not published yet reads as empty, so the
+ * consumer just tries again later. Capacity is rounded up to a power of two.
+ */
+final class AuditRingBuffer {
+
+    private final AtomicReferenceArray<AuditLog> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Next position to read; written by the consumer only.
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /** Adds {@code entry} unless the buffer is full. */
+    boolean offer(AuditLog entry) {
+        long position;
+        do {
+            position = tail.get();
+            if (position - head >= slots.length()) return false;
+        } while (!tail.compareAndSet(position, position + 1));
+        slots.set((int) position & mask, entry);
+        return true;
+    }
+
+    /** Moves up to {@code max} entries into {@code into}; consumer thread only. */
+    int drainTo(List<AuditLog> into, int max) {
+        long position = head;
+        int taken = 0;
+        while (taken < max) {
+            int slot = (int) position & mask;
+            AuditLog entry = slots.get(slot);
+            if (entry == null) break;
+            slots.set(slot, null);
+            into.add(entry);
+            position++;
+            taken++;
+        }
+        head = position;
+        return taken;
+    }
+
+    /** Entries offered so far, including ones already taken. */
+    long offered() {
+        return tail.get();
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
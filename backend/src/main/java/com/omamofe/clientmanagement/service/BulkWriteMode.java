@@ -0,0 +1,19 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.exception.InvalidBulkRequestException;
+
+/** What a bulk create does with a row whose email already belongs to a client. */
+public enum BulkWriteMode {
+    /** Report the row as an error. */
+    CREATE,
+    /** Overwrite that client with the row. */
+    UPSERT;
+
+    public static BulkWriteMode from(String value) {
+        if (value == null || value.isBlank()) return CREATE;
+        for (BulkWriteMode m : values()) {
+            if (m.name().equalsIgnoreCase(value.trim())) return m;
+        }
+        throw new InvalidBulkRequestException("unsupported mode '" + value + "', expected create or upsert");
+    }
+}
@@ -0,0 +1,329 @@
+package com.omamofe.clientmanagement.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omamofe.clientmanagement.dto.BulkChangeResultDto;
+import com.omamofe.clientmanagement.dto.BulkCreateResultDto;
+import com.omamofe.clientmanagement.dto.BulkDeleteClientsDto;
+import com.omamofe.clientmanagement.dto.BulkRowErrorDto;
+import com.omamofe.clientmanagement.dto.BulkUpdateClientsDto;
+import com.omamofe.clientmanagement.dto.ClientFilterDto;
+import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.entity.Client;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.exception.InvalidBulkRequestException;
+import com.omamofe.clientmanagement.mapper.ClientMapper;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import com.omamofe.clientmanagement.search.ClientEmailFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Creates many clients in one transaction.
+ * <p>
+ * The request array is read element by element and handled in chunks of
+ * {@code clients.bulk.chunk-size}: rows of a chunk are bound and validated in parallel,
+ * valid ones are persisted, their audit entries added, and the persistence context is
+ * flushed (as JDBC batches) and cleared before the next chunk is read. Invalid rows are
+ * skipped and reported by index; the rest are still created.
+ * <p>
+ * Emails are unique (by {@link Client#emailKey}). Each chunk resolves the clients that
+ * already own its emails with {@code IN} queries, asking {@link ClientEmailFilter} first so
+ * emails never seen before are not looked up at all. In {@link BulkWriteMode#CREATE} a row
+ * for a taken email is an error; in {@link BulkWriteMode#UPSERT} it overwrites that client,
+ * and the chunk's inserts and updates go out as separate JDBC batches on flush.
+ * <p>
+ * Bulk updates and deletes resolve the selected ids once, then change each chunk of
+ * ids with a single {@code UPDATE}/{@code DELETE ... WHERE id IN (...)} and one batched
+ * insert of its audit entries, instead of loading and saving rows one by one.
+ */
+@Service
+public class ClientBulkService {
+
+    private static final int LOOKUP_CHUNK = 500;
+
+    private final EntityManager entityManager;
+    private final ClientRepository clientRepository;
+    private final AuditLogService audit;
+    private final ApplicationEventPublisher events;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ClientEmailFilter emailFilter;
+    private final int chunkSize;
+
+    public ClientBulkService(EntityManager entityManager,
+                             ClientRepository clientRepository,
+                             AuditLogService audit,
+                             ApplicationEventPublisher events,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             ClientEmailFilter emailFilter,
+                             @Value("${clients.bulk.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.clientRepository = clientRepository;
+        this.audit = audit;
+        this.events = events;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.emailFilter = emailFilter;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * A row after binding and validation: either a client to create or its errors. The index
+     * is the position in the request array, or the file row number for {@link ClientImportService}.
+     */
+    record Row(int index, CreateClientDto client, Map<String, String> errors) {
+    }
+
+    @Transactional(rollbackFor = IOException.class)
+    public BulkCreateResultDto createAll(InputStream body) throws IOException {
+        return createAll(body, BulkWriteMode.CREATE);
+    }
+
+    /**
+     * Reads a JSON array of {@link CreateClientDto} from {@code body} and writes every
+     * valid element as {@code mode} says. A body that is not a well-formed array rolls the
+     * whole call back.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public BulkCreateResultDto createAll(InputStream body, BulkWriteMode mode) throws IOException {
+        BulkCreateResultDto result = new BulkCreateResultDto();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidBulkRequestException("expected a JSON array of clients");
+            }
+            List<JsonNode> chunk = new ArrayList<>(chunkSize);
+            int offset = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) throw new InvalidBulkRequestException("unexpected end of input");
+                chunk.add(parser.readValueAsTree());
+                if (chunk.size() == chunkSize) {
+                    write(bind(chunk, offset), result, mode);
+                    offset += chunk.size();
+                    chunk.clear();
+                }
+            }
+            write(bind(chunk, offset), result, mode);
+            result.setReceived(offset + chunk.size());
+        } catch (JsonProcessingException e) {
+            throw new InvalidBulkRequestException(e.getOriginalMessage());
+        }
+        return result;
+    }
+
+    void insert(List<Row> rows, BulkCreateResultDto result) {
+        write(rows, result, BulkWriteMode.CREATE);
+    }
+
+    /**
+     * Writes the valid rows of one chunk with their audit entries, then flushes and clears
+     * the persistence context. Rows are applied in order, so a later row for the same email
+     * sees the client an earlier one created or changed. Must run inside a transaction.
+     */
+    void write(List<Row> rows, BulkCreateResultDto result, BulkWriteMode mode) {
+        Map<String, Client> byEmail = findByEmailKey(rows);
+        List<Client> created = new ArrayList<>();
+        Set<Client> createdHere = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<Long, Client> updated = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (row.errors() != null) {
+                result.getErrors().add(new BulkRowErrorDto(row.index(), row.errors()));
+                continue;
+            }
+            String key = Client.emailKey(row.client().getEmail());
+            Client existing = byEmail.get(key);
+            if (existing == null) {
+                Client client = ClientMapper.fromCreateDto(row.client());
+                entityManager.persist(client);
+                byEmail.put(key, client);
+                emailFilter.put(key);
+                created.add(client);
+                createdHere.add(client);
+                result.setCreated(result.getCreated() + 1);
+            } else if (mode == BulkWriteMode.CREATE) {
+                result.getErrors().add(new BulkRowErrorDto(row.index(),
+                        Map.of("email", "a client with this email already exists")));
+            } else if (ClientMapper.applyReplace(existing, row.client())) {
+                // Dirty checking turns this into a batched, versioned UPDATE on flush. A
+                // client created earlier in this chunk is simply inserted with the new values.
+                if (!createdHere.contains(existing)) updated.put(existing.getId(), existing);
+                result.setUpdated(result.getUpdated() + 1);
+            } else {
+                result.setUnchanged(result.getUnchanged() + 1);
+            }
+        }
+        if (created.isEmpty() && updated.isEmpty()) {
+            entityManager.clear();
+            return;
+        }
+
+        List<Long> createdIds = created.stream().map(Client::getId).toList();
+        if (!createdIds.isEmpty()) audit.recordAll("CREATE", "CLIENT", createdIds);
+        if (!updated.isEmpty()) audit.recordAll("UPDATE", "CLIENT", List.copyOf(updated.keySet()));
+        entityManager.flush();
+        entityManager.clear();
+
+        for (Client client : created) {
+            events.publishEvent(ClientChangedEvent.created(ClientMapper.toDto(client)));
+        }
+        for (Client client : updated.values()) {
+            events.publishEvent(ClientChangedEvent.updated(ClientMapper.toDto(client)));
+        }
+        result.getIds().addAll(createdIds);
+    }
+
+    /**
+     * Clients owning the emails of the valid rows, by email key. Only emails the filter
+     * might know are looked up, {@value #LOOKUP_CHUNK} per query.
+     */
+    private Map<String, Client> findByEmailKey(List<Row> rows) {
+        List<String> candidates = rows.stream()
+                .filter(row -> row.errors() == null)
+                .map(row -> Client.emailKey(row.client().getEmail()))
+                .distinct()
+                .filter(emailFilter::mightContain)
+                .toList();
+        Map<String, Client> byEmail = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i += LOOKUP_CHUNK) {
+            clientRepository.findByEmailKeyIn(candidates.subList(i, Math.min(i + LOOKUP_CHUNK, candidates.size())))
+                    .forEach(client -> byEmail.put(Client.emailKey(client.getEmail()), client));
+        }
+        return byEmail;
+    }
+
+    /**
+     * Sets the fields present in the patch on every selected client. Email is unique per
+     * client and cannot be set in bulk. The bulk UPDATEs evict the whole client
+     * second-level cache region, so reads after a bulk update go to the database until the
+     * cache warms up again.
+     */
+    @Transactional
+    public BulkChangeResultDto updateAll(BulkUpdateClientsDto request) {
+        Map<String, Object> changes = ClientMapper.changes(request.getPatch());
+        if (changes.isEmpty()) throw new InvalidBulkRequestException("patch has no fields to set");
+        if (changes.containsKey("email")) throw new InvalidBulkRequestException("email cannot be updated in bulk");
+
+        List<Long> ids = select(request.getIds(), request.getFilter());
+        BulkChangeResultDto result = new BulkChangeResultDto(ids.size(), 0);
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            List<Long> chunk = ids.subList(i, Math.min(i + chunkSize, ids.size()));
+            int affected = clientRepository.updateAll(chunk, changes);
+            if (affected == 0) continue;
+
+            // Read the chunk back so the audit trail and listeners see the rows as written.
+            List<Client> updated = clientRepository.findAllById(chunk);
+            audit.recordAll("UPDATE", "CLIENT", updated.stream().map(Client::getId).toList());
+            entityManager.flush();
+            entityManager.clear();
+            for (Client client : updated) {
+                events.publishEvent(ClientChangedEvent.updated(ClientMapper.toDto(client)));
+            }
+            result.setAffected(result.getAffected() + affected);
+        }
+        return result;
+    }
+
+    @Transactional
+    public BulkChangeResultDto deleteAll(BulkDeleteClientsDto request) {
+        List<Long> ids = select(request.getIds(), request.getFilter());
+        BulkChangeResultDto result = new BulkChangeResultDto(ids.size(), 0);
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            List<Long> chunk = ids.subList(i, Math.min(i + chunkSize, ids.size()));
+            List<Long> existing = request.getIds() == null ? chunk : clientRepository.findExistingIds(chunk);
+            if (existing.isEmpty()) continue;
+
+            int affected = clientRepository.deleteAllWithIds(existing);
+            audit.recordAll("DELETE", "CLIENT", existing);
+            entityManager.flush();
+            entityManager.clear();
+            existing.forEach(id -> events.publishEvent(ClientChangedEvent.deleted(id)));
+            result.setAffected(result.getAffected() + affected);
+        }
+        return result;
+    }
+
+    /** Distinct ascending ids picked by exactly one of an id list or a non-empty filter. */
+    private List<Long> select(List<Long> ids, ClientFilterDto filter) {
+        if ((ids == null) == (filter == null)) {
+            throw new InvalidBulkRequestException("give either ids or filter");
+        }
+        if (ids != null) {
+            if (ids.stream().anyMatch(Objects::isNull)) throw new InvalidBulkRequestException("ids must not contain null");
+            return ids.stream().distinct().sorted().toList();
+        }
+        if (filter.isEmpty()) {
+            throw new InvalidBulkRequestException("filter must set at least one criterion");
+        }
+        String location = filter.getLocation() == null || filter.getLocation().isBlank()
+                ? null : filter.getLocation().trim().toLowerCase();
+        String pattern = filter.getKeyword() == null || filter.getKeyword().isBlank()
+                ? null : ClientService.containsPattern(filter.getKeyword());
+        return clientRepository.findIdsMatching(filter.getActive(), location, pattern);
+    }
+
+    /** Binds and validates a chunk in parallel; rows keep their order. */
+    private List<Row> bind(List<JsonNode> nodes, int offset) {
+        return IntStream.range(0, nodes.size())
+                .parallel()
+                .mapToObj(i -> bind(offset + i, nodes.get(i)))
+                .toList();
+    }
+
+    private Row bind(int index, JsonNode node) {
+        CreateClientDto client;
+        try {
+            client = objectMapper.treeToValue(node, CreateClientDto.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return new Row(index, null, Map.of(fieldOf(e), message(e)));
+        }
+        if (client == null) return new Row(index, null, Map.of("client", "must not be null"));
+        return validate(index, client);
+    }
+
+    Row validate(int index, CreateClientDto client) {
+        var violations = validator.validate(client);
+        if (violations.isEmpty()) return new Row(index, client, null);
+        Map<String, String> errors = new TreeMap<>();
+        for (ConstraintViolation<CreateClientDto> v : violations) {
+            errors.put(v.getPropertyPath().toString(), v.getMessage());
+        }
+        return new Row(index, null, errors);
+    }
+
+    private static String fieldOf(Exception e) {
+        if (e instanceof JsonMappingException m && !m.getPath().isEmpty()) {
+            String field = m.getPath().get(m.getPath().size() - 1).getFieldName();
+            if (field != null) return field;
+        }
+        return "client";
+    }
+
+    private static String message(Exception e) {
+        return e instanceof JsonProcessingException p ? p.getOriginalMessage() : e.getMessage();
+    }
+}
@@ -0,0 +1,252 @@
+package com.omamofe.clientmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed client writes to subscribers as server-sent events.
+ * <p>
+ * Each {@link ClientChangedEvent} is serialized once, after commit, into a compact event
+ * named {@code created}, {@code updated} or {@code deleted} whose data is the client (or
+ * just its id for deletes) and whose id is a sequence number. Every subscriber has its own
+ * queue of at most {@code clients.stream.buffer-size} events. Nothing holds a thread while
+ * a subscriber is idle: when events are queued a drain task is started on a virtual thread,
+ * writes until the queue is empty and ends.
+ * <p>
+ * A subscriber that falls a full buffer behind has its queue dropped and gets a single
+ * {@code resync} event instead; further events are discarded until that has been written.
+ * On {@code resync} a client should reload what it shows, which then includes everything
+ * it missed. A reconnect whose {@code Last-Event-ID} is not the latest sequence number is
+ * told to resync the same way, as events are not kept for replay.
+ * <p>
+ * Every committed change takes a sequence number, whether or not anyone is listening.
+ * Numbering, fan-out and registering a subscriber happen under one lock, so a new
+ * subscriber's first event is always followed by exactly the changes after it, in order.
+ */
+@Component
+public class ClientChangeStream {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientChangeStream.class);
+
+    static final String READY = "ready";
+    static final String RESYNC = "resync";
+
+    /** One serialized change, shared by all subscribers. */
+    record Change(long id, String name, String data) {
+    }
+
+    private static final Change HEARTBEAT = new Change(0, "", "");
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final ExecutorService senders;
+    private final Counter resyncs;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    // Held while numbering and fanning out a change, and while registering a subscriber.
+    private final Object publishLock = new Object();
+
+    @Autowired
+    public ClientChangeStream(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${clients.stream.buffer-size:256}") int bufferSize,
+                              @Value("${clients.stream.timeout:PT30M}") Duration timeout) {
+        this(objectMapper, meterRegistry, bufferSize, timeout,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("client-stream-", 1).factory()));
+    }
+
+    ClientChangeStream(ObjectMapper objectMapper, MeterRegistry meterRegistry, int bufferSize, Duration timeout,
+                       ExecutorService senders) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.timeout = timeout;
+        this.senders = senders;
+        this.resyncs = Counter.builder("clients.stream.resyncs")
+                .description("Subscribers told to resync after falling a full buffer behind or reconnecting")
+                .register(meterRegistry);
+        Gauge.builder("clients.stream.subscribers", subscribers, Set::size)
+                .description("Open client change streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream. It starts with a {@code ready} event carrying the current sequence
+     * number, or with {@code resync} if {@code lastEventId} shows the caller missed events.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(emitter, lastEventId);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriber.close());
+
+        synchronized (publishLock) {
+            long current = sequence.get();
+            if (lastEventId != null && !lastEventId.equals(Long.toString(current))) {
+                subscriber.resync();
+            } else {
+                subscriber.offer(new Change(current, READY, "{\"id\":" + current + "}"));
+            }
+            subscribers.add(subscriber);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        synchronized (publishLock) {
+            // Counted even with nobody listening, so a later reconnect sees it missed something.
+            long id = sequence.incrementAndGet();
+            if (subscribers.isEmpty()) return;
+            Object data = event.client() != null ? event.client() : Map.of("id", event.id());
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(data);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+            Change change = new Change(id, event.type().name().toLowerCase(Locale.ROOT), json);
+            for (Subscriber subscriber : subscribers) subscriber.offer(change);
+        }
+    }
+
+    /** Keeps idle connections (and proxies in between) from timing out. */
+    @Scheduled(fixedDelayString = "${clients.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) subscriber.offer(null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) subscriber.emitter.complete();
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        // Guarded by this, as are the flags below.
+        private final ArrayDeque<Change> queue = new ArrayDeque<>();
+        private boolean resyncPending;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /** Queues {@code change}, or a heartbeat if it is {@code null}. */
+        void offer(Change change) {
+            synchronized (this) {
+                if (closed || resyncPending) return;
+                if (change == null) {
+                    // Only worth sending when the line is otherwise quiet.
+                    if (draining || !queue.isEmpty()) return;
+                    queue.add(HEARTBEAT);
+                } else if (queue.size() >= bufferSize) {
+                    queue.clear();
+                    resyncPending = true;
+                    resyncs.increment();
+                } else {
+                    queue.add(change);
+                }
+            }
+            startDrain();
+        }
+
+        void resync() {
+            synchronized (this) {
+                if (closed) return;
+                queue.clear();
+                resyncPending = true;
+                resyncs.increment();
+            }
+            startDrain();
+        }
+
+        private void startDrain() {
+            synchronized (this) {
+                if (draining || closed) return;
+                draining = true;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    if (closed) return;
+                    if (resyncPending) {
+                        resyncPending = false;
+                        event = SseEmitter.event().id(Long.toString(sequence.get())).name(RESYNC).data("{}");
+                    } else {
+                        Change change = queue.poll();
+                        if (change == null) {
+                            draining = false;
+                            return;
+                        }
+                        event = change == HEARTBEAT
+                                ? SseEmitter.event().comment("keep-alive")
+                                : SseEmitter.event().id(Long.toString(change.id())).name(change.name()).data(change.data());
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Client change stream closed: {}", e.getMessage());
+                    close();
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+            }
+            subscribers.remove(this);
+        }
+    }
+}
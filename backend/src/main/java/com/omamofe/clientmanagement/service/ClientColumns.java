@@ -0,0 +1,121 @@
+package com.omamofe.clientmanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Client rows regrouped by column for the columnar list format:
+ * <pre>
+ * {"count": 2,
+ *  "columns": {"id": [1, 2], "fullName": ["Ada", "Bo"], ...,
+ *              "location": {"dictionary": ["Lagos"], "codes": [0, 0]}, ...}}
+ * </pre>
+ * Columns named as dictionary columns are sent as their distinct values, in order of first
+ * appearance, plus one index into them per row; the rest as one value per row. Missing
+ * values are {@code null} in either case.
+ */
+final class ClientColumns {
+
+    private final List<String> names;
+    private final Column[] columns;
+    private int size;
+
+    ClientColumns(List<String> names, Set<String> dictionaryColumns) {
+        this.names = names;
+        this.columns = names.stream()
+                .map(name -> dictionaryColumns.contains(name) ? new DictionaryColumn() : new PlainColumn())
+                .toArray(Column[]::new);
+    }
+
+    /** One row, values in the order of the column names. */
+    void add(Object[] row) {
+        for (int i = 0; i < columns.length; i++) columns[i].add(row[i]);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void writeTo(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("count", size);
+        gen.writeObjectFieldStart("columns");
+        for (int i = 0; i < columns.length; i++) {
+            gen.writeFieldName(names.get(i));
+            columns[i].writeTo(gen);
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
+    private static void writeValue(JsonGenerator gen, Object value) throws IOException {
+        switch (value) {
+            case null -> gen.writeNull();
+            case String s -> gen.writeString(s);
+            case Boolean b -> gen.writeBoolean(b);
+            case Long l -> gen.writeNumber(l);
+            case Integer n -> gen.writeNumber(n);
+            default -> gen.writeString(value.toString());
+        }
+    }
+
+    private interface Column {
+        void add(Object value);
+
+        void writeTo(JsonGenerator gen) throws IOException;
+    }
+
+    private static final class PlainColumn implements Column {
+        private final List<Object> values = new ArrayList<>();
+
+        @Override
+        public void add(Object value) {
+            values.add(value);
+        }
+
+        @Override
+        public void writeTo(JsonGenerator gen) throws IOException {
+            gen.writeStartArray(values, values.size());
+            for (Object value : values) writeValue(gen, value);
+            gen.writeEndArray();
+        }
+    }
+
+    private static final class DictionaryColumn implements Column {
+        private final Map<Object, Integer> codes = new HashMap<>();
+        private final List<Object> dictionary = new ArrayList<>();
+        private int[] rows = new int[1024];
+        private int size;
+
+        @Override
+        public void add(Object value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                codes.put(value, code);
+                dictionary.add(value);
+            }
+            if (size == rows.length) rows = Arrays.copyOf(rows, size * 2);
+            rows[size++] = code;
+        }
+
+        @Override
+        public void writeTo(JsonGenerator gen) throws IOException {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("dictionary");
+            for (Object value : dictionary) writeValue(gen, value);
+            gen.writeEndArray();
+            gen.writeFieldName("codes");
+            gen.writeArray(rows, 0, size);
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Number of clients, kept in memory so hot reads do not pay a {@code SELECT COUNT(*)}.
+ * <p>
+ * Seeded from the table once the application is ready, then moved by committed
+ * {@link ClientChangedEvent}s. A scheduled reconciliation re-reads the table and corrects
+ * any drift (e.g. rows written outside {@link ClientService}); the last drift seen is
+ * reported through actuator.
+ */
+@Component
+public class ClientCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientCounter.class);
+
+    private final ClientRepository clientRepository;
+    private final AtomicLong count = new AtomicLong();
+    private volatile boolean seeded;
+    private volatile long lastDrift;
+    private volatile Instant lastReconciledAt;
+
+    public ClientCounter(ClientRepository clientRepository, MeterRegistry meterRegistry) {
+        this.clientRepository = clientRepository;
+        Gauge.builder("clients.count", this, ClientCounter::get)
+                .description("Clients currently stored, as maintained in memory")
+                .register(meterRegistry);
+        Gauge.builder("clients.count.drift", this, ClientCounter::getLastDrift)
+                .description("Difference between the in-memory count and the table at the last reconciliation")
+                .register(meterRegistry);
+    }
+
+    /** Current count; reads the table until the counter has been seeded. */
+    public long get() {
+        return seeded ? count.get() : clientRepository.count();
+    }
+
+    public long getLastDrift() {
+        return lastDrift;
+    }
+
+    public Instant getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> count.incrementAndGet();
+            case DELETED -> count.decrementAndGet();
+            case UPDATED -> {
+            }
+        }
+    }
+
+    /**
+     * Re-reads the table and moves the counter onto it. Writes committing concurrently can
+     * make one reconciliation slightly off; the next one corrects it.
+     */
+    @Scheduled(
+            initialDelayString = "${clients.count.reconcile-interval-ms:60000}",
+            fixedDelayString = "${clients.count.reconcile-interval-ms:60000}"
+    )
+    public synchronized void reconcile() {
+        long actual = clientRepository.count();
+        long before = count.getAndSet(actual);
+        long drift = seeded ? before - actual : 0;
+        lastDrift = drift;
+        lastReconciledAt = Instant.now();
+        seeded = true;
+        if (drift != 0) {
+            log.warn("Client counter drifted by {}; reset to {}.", drift, actual);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque page cursor for client listings. Wraps the last id of a page so callers
+ * cannot depend on (or tamper with) the underlying seek key.
+ */
+final class ClientCursor {
+
+    private static final String PREFIX = "c1:";
+
+    private ClientCursor() {
+    }
+
+    static String encode(Long lastId) {
+        if (lastId == null) return null;
+        String raw = PREFIX + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0L;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) throw new InvalidCursorException(cursor);
+            long id = Long.parseLong(raw.substring(PREFIX.length()));
+            if (id < 0) throw new InvalidCursorException(cursor);
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.exception.InvalidExportFormatException;
+
+public enum ClientExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ClientExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ClientExportFormat from(String value) {
+        if (value == null || value.isBlank()) return NDJSON;
+        for (ClientExportFormat f : values()) {
+            if (f.extension.equalsIgnoreCase(value.trim())) return f;
+        }
+        throw new InvalidExportFormatException(value);
+    }
+}
@@ -0,0 +1,156 @@
+package com.omamofe.clientmanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.omamofe.clientmanagement.entity.Client;
+import com.omamofe.clientmanagement.mapper.ClientMapper;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole client book to an output stream one row at a time. Rows come from a
+ * JDBC cursor and are detached as soon as they are written, so heap use does not grow
+ * with the size of the table.
+ */
+@Service
+@RequiredArgsConstructor
+public class ClientExportService {
+
+    /** Media type of the columnar client list, see {@link #writeColumnar}. */
+    public static final String COLUMNAR_MEDIA_TYPE = "application/vnd.clients.columnar+json";
+
+    // Few distinct values across many rows: sent once each, plus a small index per row.
+    private static final Set<String> DICTIONARY_COLUMNS = Set.of("active", "location");
+
+    static final String[] CSV_COLUMNS = {"id", "fullName", "displayName", "email", "details", "active", "location"};
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ClientRepository clientRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long export(ClientExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Client> rows = clientRepository.streamAllOrderById()) {
+            return switch (format) {
+                case NDJSON -> writeNdjson(rows, out);
+                case CSV -> writeCsv(rows, out);
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes every client as one JSON array per column (see {@link ClientColumns}), with
+     * {@code active} and {@code location} dictionary-encoded. Rows are read as plain column
+     * tuples and written with the streaming generator, never as entities or DTOs. Unlike
+     * the exports, the columns are held until the last row is read.
+     */
+    @Transactional(readOnly = true)
+    public int writeColumnar(OutputStream out) throws IOException {
+        ClientColumns columns = new ClientColumns(ClientFields.ALL, DICTIONARY_COLUMNS);
+        try (Stream<Object[]> rows = clientRepository.streamColumnsOrderById()) {
+            rows.forEach(columns::add);
+        }
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(nonClosing(out))) {
+            columns.writeTo(gen);
+        }
+        return columns.size();
+    }
+
+    private long writeNdjson(Stream<Client> rows, OutputStream out) throws IOException {
+        long[] count = {0};
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(nonClosing(out))) {
+            rows.forEach(client -> {
+                try {
+                    writer.write(ClientMapper.toDto(client));
+                    entityManager.detach(client);
+                    if (++count[0] % FLUSH_EVERY == 0) writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            // SequenceWriter only writes separators between values; terminate the last line too.
+            writer.flush();
+            if (count[0] > 0) out.write('\n');
+        }
+        out.flush();
+        return count[0];
+    }
+
+    private long writeCsv(Stream<Client> rows, OutputStream out) throws IOException {
+        long[] count = {0};
+        Writer writer = new BufferedWriter(new OutputStreamWriter(nonClosing(out), StandardCharsets.UTF_8));
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+        rows.forEach(client -> {
+            try {
+                writeCsvRow(writer, client);
+                entityManager.detach(client);
+                if (++count[0] % FLUSH_EVERY == 0) writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return count[0];
+    }
+
+    private static void writeCsvRow(Writer w, Client c) throws IOException {
+        w.write(c.getId() == null ? "" : c.getId().toString());
+        w.write(',');
+        w.write(csv(c.getFullName()));
+        w.write(',');
+        w.write(csv(c.getDisplayName()));
+        w.write(',');
+        w.write(csv(c.getEmail()));
+        w.write(',');
+        w.write(csv(c.getDetails()));
+        w.write(',');
+        w.write(c.getActive() == null ? "" : c.getActive().toString());
+        w.write(',');
+        w.write(csv(c.getLocation()));
+        w.write("\r\n");
+    }
+
+    static String csv(String value) {
+        if (value == null) return "";
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    // The servlet container owns the response stream; writers here must not close it.
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.exception.InvalidFieldsException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A sparse fieldset ({@code ?fields=fullName,email}) over the attributes of
+ * {@link com.omamofe.clientmanagement.dto.ClientDto}. {@code id} is always included since
+ * paging and ordering depend on it. Attributes keep the DTO's order whatever order they were
+ * requested in, so equal selections have equal {@link #toString()} forms.
+ */
+public record ClientFields(List<String> attributes) {
+
+    static final List<String> ALL = List.of(
+            "id", "fullName", "displayName", "email", "details", "active", "location", "version");
+
+    /** Null when no fieldset was requested, i.e. the full representation. */
+    public static ClientFields parse(String fields) {
+        if (fields == null) return null;
+        Set<String> requested = new LinkedHashSet<>();
+        for (String part : fields.split(",")) {
+            String name = part.trim();
+            if (name.isEmpty()) continue;
+            if (!ALL.contains(name)) throw new InvalidFieldsException("unknown field '" + name + "'");
+            requested.add(name);
+        }
+        if (requested.isEmpty()) throw new InvalidFieldsException("name at least one field");
+        List<String> attributes = new ArrayList<>();
+        for (String name : ALL) {
+            if (name.equals("id") || requested.contains(name)) attributes.add(name);
+        }
+        return new ClientFields(List.copyOf(attributes));
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", attributes);
+    }
+}
@@ -0,0 +1,135 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.dto.ClientImportJobDto;
+import com.omamofe.clientmanagement.dto.ImportRowErrorDto;
+import com.omamofe.clientmanagement.importing.ImportFormat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of one server-side import. Written by the worker running it, read by status
+ * requests; every mutator and {@link #toDto()} synchronize on the job.
+ */
+class ClientImportJob {
+
+    enum Status { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final String id;
+    private final String fileName;
+    private final ImportFormat format;
+    private final String submittedBy;
+    private final Instant submittedAt = Instant.now();
+
+    private Status status = Status.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long rowsRead;
+    private long created;
+    private long failed;
+    private long bytesRead;
+    private long bytesTotal = -1;
+    private final List<ImportRowErrorDto> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    private String message;
+    private volatile boolean cancelRequested;
+
+    ClientImportJob(String id, String fileName, ImportFormat format, String submittedBy) {
+        this.id = id;
+        this.fileName = fileName;
+        this.format = format;
+        this.submittedBy = submittedBy;
+    }
+
+    String id() {
+        return id;
+    }
+
+    ImportFormat format() {
+        return format;
+    }
+
+    String submittedBy() {
+        return submittedBy;
+    }
+
+    Instant submittedAt() {
+        return submittedAt;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    synchronized boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    synchronized Instant finishedAt() {
+        return finishedAt;
+    }
+
+    /** Returns false when the job was cancelled while queued and must not run. */
+    synchronized boolean start() {
+        if (status != Status.QUEUED) return false;
+        status = Status.RUNNING;
+        startedAt = Instant.now();
+        return true;
+    }
+
+    synchronized void cancel() {
+        cancelRequested = true;
+        if (status == Status.QUEUED) finish(Status.CANCELLED, "Cancelled before it started");
+    }
+
+    synchronized void progress(long rows, long created, List<ImportRowErrorDto> rowErrors, long bytesRead, long bytesTotal) {
+        this.rowsRead += rows;
+        this.created += created;
+        this.failed += rowErrors.size();
+        this.bytesRead = bytesRead;
+        this.bytesTotal = bytesTotal;
+        for (ImportRowErrorDto error : rowErrors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(error);
+            else errorsTruncated = true;
+        }
+    }
+
+    synchronized void complete() {
+        if (cancelRequested) {
+            finish(Status.CANCELLED, "Cancelled; rows committed before cancellation were kept");
+        } else {
+            finish(Status.COMPLETED, null);
+        }
+    }
+
+    synchronized void fail(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    private void finish(Status status, String message) {
+        if (finishedAt != null) return;
+        this.status = status;
+        this.message = message;
+        this.finishedAt = Instant.now();
+    }
+
+    synchronized ClientImportJobDto toDto() {
+        Double progress = null;
+        if (status == Status.COMPLETED) progress = 1.0;
+        else if (bytesTotal > 0) progress = Math.min(1.0, (double) bytesRead / bytesTotal);
+
+        double rowsPerSecond = 0;
+        if (startedAt != null) {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long millis = Duration.between(startedAt, end).toMillis();
+            if (millis > 0) rowsPerSecond = rowsRead * 1000.0 / millis;
+        }
+        return new ClientImportJobDto(id, status.name(), fileName, format.name(), submittedBy,
+                submittedAt, startedAt, finishedAt, rowsRead, created, failed, bytesRead, bytesTotal,
+                progress, rowsPerSecond, List.copyOf(errors), errorsTruncated, message);
+    }
+}
@@ -0,0 +1,263 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.dto.BulkCreateResultDto;
+import com.omamofe.clientmanagement.dto.ClientImportJobDto;
+import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.dto.ImportRowErrorDto;
+import com.omamofe.clientmanagement.exception.ImportJobNotFoundException;
+import com.omamofe.clientmanagement.exception.ImportQueueFullException;
+import com.omamofe.clientmanagement.exception.InvalidImportException;
+import com.omamofe.clientmanagement.importing.ImportFormat;
+import com.omamofe.clientmanagement.importing.SheetRow;
+import com.omamofe.clientmanagement.importing.SpreadsheetReader;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports clients from an uploaded CSV or XLSX file in the background.
+ * <p>
+ * The upload is copied to a temp file and queued on a fixed pool of
+ * {@code clients.import.workers} threads with room for {@code clients.import.queue-capacity}
+ * waiting jobs; beyond that submissions are refused rather than piling up. A worker reads
+ * the file row by row and commits every {@code clients.bulk.chunk-size} rows in their own
+ * transaction through {@link ClientBulkService}, so progress is visible (and kept) as it
+ * goes. Cancelling stops the job at the next row; chunks already committed stay.
+ * <p>
+ * The first row must name the columns: {@code fullName} and {@code email} are required,
+ * {@code displayName}, {@code location}, {@code details} and {@code active} are optional.
+ * Header matching ignores case, spaces and punctuation, so "Full Name" works too.
+ * Jobs are kept in memory for {@code clients.import.retention} after they finish.
+ * <p>
+ * A job carries its rows' data and errors, so only the user who submitted it, or an
+ * ADMIN, can see or cancel it. To anyone else it does not exist.
+ */
+@Service
+public class ClientImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientImportService.class);
+
+    private static final List<String> COLUMNS = List.of("fullname", "displayname", "email", "location", "details", "active");
+    private static final int FULL_NAME = 0;
+    private static final int DISPLAY_NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int LOCATION = 3;
+    private static final int DETAILS = 4;
+    private static final int ACTIVE = 5;
+
+    private final ClientBulkService bulkService;
+    private final TransactionTemplate tx;
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+    private final Duration retention;
+    private final Map<String, ClientImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ClientImportService(ClientBulkService bulkService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${clients.import.workers:2}") int workers,
+                               @Value("${clients.import.queue-capacity:10}") int queueCapacity,
+                               @Value("${clients.bulk.chunk-size:1000}") int chunkSize,
+                               @Value("${clients.import.retention:PT1H}") Duration retention) {
+        this.bulkService = bulkService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("client-import-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.chunkSize = chunkSize;
+        this.retention = retention;
+    }
+
+    public ClientImportJobDto submit(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) throw new InvalidImportException("the uploaded file is empty");
+        ImportFormat format = ImportFormat.detect(file.getOriginalFilename(), file.getContentType());
+        if (format == null) throw new InvalidImportException("only .csv and .xlsx files are supported");
+        pruneFinished();
+
+        Path upload = Files.createTempFile("client-import-", format.extension());
+        file.transferTo(upload);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        ClientImportJob job = new ClientImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(),
+                format, auth != null ? auth.getName() : "system");
+        jobs.put(job.id(), job);
+        try {
+            executor.execute(() -> run(job, upload, auth));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            Files.deleteIfExists(upload);
+            throw new ImportQueueFullException();
+        }
+        return job.toDto();
+    }
+
+    public ClientImportJobDto get(String id) {
+        return find(id).toDto();
+    }
+
+    public List<ClientImportJobDto> list() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return jobs.values().stream()
+                .filter(job -> isVisibleTo(job, auth))
+                .sorted(Comparator.comparing(ClientImportJob::submittedAt).reversed())
+                .map(ClientImportJob::toDto)
+                .toList();
+    }
+
+    public ClientImportJobDto cancel(String id) {
+        ClientImportJob job = find(id);
+        job.cancel();
+        return job.toDto();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ClientImportJob find(String id) {
+        ClientImportJob job = jobs.get(id);
+        if (job == null || !isVisibleTo(job, SecurityContextHolder.getContext().getAuthentication())) {
+            throw new ImportJobNotFoundException(id);
+        }
+        return job;
+    }
+
+    private static boolean isVisibleTo(ClientImportJob job, Authentication auth) {
+        if (auth == null) return false;
+        if (auth.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()))) return true;
+        return job.submittedBy().equals(auth.getName());
+    }
+
+    private void pruneFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.finishedAt().isBefore(cutoff));
+    }
+
+    // ---- worker side ----
+
+    private void run(ClientImportJob job, Path upload, Authentication auth) {
+        // Audit entries are attributed to whoever uploaded the file.
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(auth);
+        SecurityContextHolder.setContext(context);
+        try {
+            if (!job.start()) return;
+            try (SpreadsheetReader reader = job.format().open(upload)) {
+                importRows(job, reader);
+            }
+            job.complete();
+        } catch (InvalidImportException e) {
+            job.fail(e.getMessage());
+        } catch (Exception e) {
+            log.warn("Client import {} failed", job.id(), e);
+            job.fail("Import stopped: " + e.getMessage());
+        } finally {
+            SecurityContextHolder.clearContext();
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import upload {}", upload, e);
+            }
+        }
+    }
+
+    private void importRows(ClientImportJob job, SpreadsheetReader reader) throws IOException {
+        SheetRow header = reader.next();
+        if (header == null) throw new InvalidImportException("the file has no header row");
+        int[] columns = columns(header);
+
+        List<ClientBulkService.Row> chunk = new ArrayList<>(chunkSize);
+        SheetRow row;
+        while (!job.isCancelRequested() && (row = reader.next()) != null) {
+            if (Thread.currentThread().isInterrupted()) throw new IllegalStateException("server is shutting down");
+            chunk.add(toRow(row, columns));
+            if (chunk.size() == chunkSize) {
+                commit(job, chunk, reader);
+                chunk.clear();
+            }
+        }
+        if (!job.isCancelRequested()) commit(job, chunk, reader);
+    }
+
+    private void commit(ClientImportJob job, List<ClientBulkService.Row> rows, SpreadsheetReader reader) {
+        List<ClientBulkService.Row> validated = rows.parallelStream()
+                .map(r -> r.errors() != null ? r : bulkService.validate(r.index(), r.client()))
+                .toList();
+        BulkCreateResultDto result = new BulkCreateResultDto();
+        tx.executeWithoutResult(status -> bulkService.insert(validated, result));
+        // Row.index carries the file row number here, see toRow.
+        List<ImportRowErrorDto> errors = result.getErrors().stream()
+                .map(e -> new ImportRowErrorDto(e.getIndex(), e.getErrors()))
+                .toList();
+        job.progress(rows.size(), result.getCreated(), errors, reader.bytesRead(), reader.bytesTotal());
+    }
+
+    static int[] columns(SheetRow header) {
+        int[] columns = new int[COLUMNS.size()];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < header.cells().size(); i++) {
+            String name = header.cells().get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+            int column = COLUMNS.indexOf(name);
+            if (column >= 0 && columns[column] < 0) columns[column] = i;
+        }
+        if (columns[FULL_NAME] < 0 || columns[EMAIL] < 0) {
+            throw new InvalidImportException("the header row must have fullName and email columns");
+        }
+        return columns;
+    }
+
+    static ClientBulkService.Row toRow(SheetRow row, int[] columns) {
+        String active = row.cell(columns[ACTIVE]).trim();
+        Boolean flag = parseBoolean(active);
+        if (!active.isEmpty() && flag == null) {
+            return new ClientBulkService.Row(row.number(), null, Map.of("active", "must be true or false"));
+        }
+        CreateClientDto client = new CreateClientDto();
+        client.setFullName(row.cell(columns[FULL_NAME]).trim());
+        client.setDisplayName(optional(row, columns[DISPLAY_NAME]));
+        client.setEmail(row.cell(columns[EMAIL]).trim());
+        client.setLocation(optional(row, columns[LOCATION]));
+        client.setDetails(optional(row, columns[DETAILS]));
+        client.setActive(flag);
+        return new ClientBulkService.Row(row.number(), client, null);
+    }
+
+    private static String optional(SheetRow row, int column) {
+        String value = row.cell(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "y" -> true;
+            case "false", "0", "no", "n" -> false;
+            default -> null;
+        };
+    }
+}
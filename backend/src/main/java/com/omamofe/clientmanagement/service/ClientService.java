@@ -1,77 +1,457 @@
 package com.omamofe.clientmanagement.service;
 
 import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.ClientFacetsDto;
+import com.omamofe.clientmanagement.dto.ClientFieldsPageDto;
+import com.omamofe.clientmanagement.dto.ClientLookupResultDto;
+import com.omamofe.clientmanagement.dto.ClientPageDto;
+import com.omamofe.clientmanagement.dto.ClientSearchHitDto;
+import com.omamofe.clientmanagement.dto.ClientSuggestionDto;
 import com.omamofe.clientmanagement.dto.CreateClientDto;
 import com.omamofe.clientmanagement.dto.UpdateClientDto;
 import com.omamofe.clientmanagement.entity.Client;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
 import com.omamofe.clientmanagement.exception.ClientNotFoundException;
+import com.omamofe.clientmanagement.exception.ClientVersionConflictException;
+import com.omamofe.clientmanagement.exception.InvalidBulkRequestException;
 import com.omamofe.clientmanagement.mapper.ClientMapper;
 import com.omamofe.clientmanagement.repository.ClientRepository;
+import com.omamofe.clientmanagement.search.ClientFacetIndex;
+import com.omamofe.clientmanagement.search.ClientFuzzyIndex;
+import com.omamofe.clientmanagement.search.ClientSearchIndex;
+import com.omamofe.clientmanagement.search.ClientSuggestIndex;
+import com.omamofe.clientmanagement.search.FacetCounts;
+import com.omamofe.clientmanagement.search.SearchHit;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
+/**
+ * Reads run in read-only transactions, which Spring's Hibernate integration also switches to
+ * {@code FlushMode.MANUAL} with a read-only session: nothing is snapshotted or flushed. List
+ * reads project rows straight into {@link ClientDto}; single reads go through
+ * {@code findById} so they are answered from the second-level cache. The
+ * {@link ClientFields} overloads select only the requested columns.
+ */
 @Service
 @Transactional
 public class ClientService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_FACET_LOCATIONS = 10;
+    public static final int MAX_FACET_LOCATIONS = 100;
+    public static final int MAX_LOOKUP_IDS = 5000;
+    private static final int ID_CHUNK = 1000;
+    private static final List<String> FACET_FIELDS = List.of("id", "active", "location");
+
     private final ClientRepository clientRepository;
     private final AuditLogService audit;
+    private final ApplicationEventPublisher events;
+    private final ClientSearchIndex searchIndex;
+    private final ClientFuzzyIndex fuzzyIndex;
+    private final ClientSuggestIndex suggestIndex;
+    private final ClientFacetIndex facetIndex;
+    private final ClientCounter counter;
 
-    public ClientService(ClientRepository clientRepository, AuditLogService audit) {
+    public ClientService(ClientRepository clientRepository,
+                         AuditLogService audit,
+                         ApplicationEventPublisher events,
+                         ClientSearchIndex searchIndex,
+                         ClientFuzzyIndex fuzzyIndex,
+                         ClientSuggestIndex suggestIndex,
+                         ClientFacetIndex facetIndex,
+                         ClientCounter counter) {
         this.clientRepository = clientRepository;
         this.audit = audit;
+        this.events = events;
+        this.searchIndex = searchIndex;
+        this.fuzzyIndex = fuzzyIndex;
+        this.suggestIndex = suggestIndex;
+        this.facetIndex = facetIndex;
+        this.counter = counter;
     }
 
+    @Transactional(readOnly = true)
     public List<ClientDto> getAllClients() {
-        return clientRepository.findAll()
-                .stream()
-                .map(ClientMapper::toDto)
-                .toList();
+        return clientRepository.findAllDtos();
     }
 
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllClients(ClientFields fields) {
+        return clientRepository.findFields(fields.attributes(), null, 0L, null);
+    }
+
+    @Transactional(readOnly = true)
     public ClientDto getClientById(Long id) {
         Client client = clientRepository.findById(id)
                 .orElseThrow(() -> new ClientNotFoundException(id));
         return ClientMapper.toDto(client);
     }
 
+    /**
+     * Many clients by id in one call, for screens that resolve references: found clients in
+     * request order (duplicates once), unknown ids in {@code missing}. Goes through the
+     * caches like {@link #getClientById}; only ids not cached are queried, in chunks.
+     */
+    @Transactional(readOnly = true)
+    public ClientLookupResultDto lookupClients(Collection<Long> ids) {
+        List<Long> unique = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (unique.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidBulkRequestException("at most " + MAX_LOOKUP_IDS + " ids per lookup");
+        }
+        List<Client> loaded = clientRepository.findAllByIdInOrder(unique, ID_CHUNK);
+        List<ClientDto> clients = new ArrayList<>(unique.size());
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < unique.size(); i++) {
+            Client client = loaded.get(i);
+            if (client == null) missing.add(unique.get(i));
+            else clients.add(ClientMapper.toDto(client));
+        }
+        return new ClientLookupResultDto(clients, missing);
+    }
+
+    @Transactional(readOnly = true)
     public List<ClientDto> searchClients(String keyword) {
         if (keyword == null || keyword.isBlank()) {
             return getAllClients();
         }
-        return clientRepository
-                .findByFullNameContainingIgnoreCaseOrEmailContainingIgnoreCase(keyword, keyword)
+        if (searchIndex.isReady()) {
+            List<Long> ids = indexedIds(keyword);
+            return findAllInOrder(ids);
+        }
+        return searchInDatabase(keyword);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchClients(String keyword, ClientFields fields) {
+        if (keyword == null || keyword.isBlank()) {
+            return getAllClients(fields);
+        }
+        if (searchIndex.isReady()) {
+            List<Long> ids = indexedIds(keyword);
+            return findFieldsInOrder(ids, fields);
+        }
+        return clientRepository.findFields(fields.attributes(), containsPattern(keyword), 0L, null);
+    }
+
+    /**
+     * Typo-tolerant search over name and email tokens, closest matches first. Falls back to
+     * the regular search until the fuzzy dictionary has been built.
+     */
+    @Transactional(readOnly = true)
+    public List<ClientDto> fuzzySearchClients(String keyword, Integer limit) {
+        if (keyword == null || keyword.isBlank()) {
+            return getAllClients();
+        }
+        if (!fuzzyIndex.isReady()) {
+            return searchClients(keyword);
+        }
+        List<Long> ids = fuzzyIndex.search(keyword, clampPageSize(limit))
                 .stream()
-                .map(ClientMapper::toDto)
+                .map(SearchHit::id)
                 .toList();
+        return findAllInOrder(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> fuzzySearchClients(String keyword, Integer limit, ClientFields fields) {
+        if (keyword == null || keyword.isBlank()) {
+            return getAllClients(fields);
+        }
+        if (!fuzzyIndex.isReady()) {
+            return searchClients(keyword, fields);
+        }
+        List<Long> ids = fuzzyIndex.search(keyword, clampPageSize(limit))
+                .stream()
+                .map(SearchHit::id)
+                .toList();
+        return findFieldsInOrder(ids, fields);
+    }
+
+    /**
+     * Typeahead suggestions (id and display name only) for names and emails starting with
+     * {@code prefix}.
+     */
+    @Transactional(readOnly = true)
+    public List<ClientSuggestionDto> suggestClients(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) return List.of();
+        int size = limit == null || limit <= 0
+                ? ClientSuggestIndex.MAX_SUGGESTIONS
+                : Math.min(limit, ClientSuggestIndex.MAX_SUGGESTIONS);
+        if (suggestIndex.isReady()) {
+            return suggestIndex.suggest(prefix, size);
+        }
+        return searchClientsPage(prefix, null, size).getItems().stream()
+                .map(c -> new ClientSuggestionDto(c.getId(),
+                        c.getDisplayName() != null && !c.getDisplayName().isBlank()
+                                ? c.getDisplayName()
+                                : c.getFullName()))
+                .toList();
+    }
+
+    /**
+     * Ranked search with match offsets per field. Served from the search index when it is
+     * ready; otherwise the database results are scored the same way so the shape is stable.
+     */
+    @Transactional(readOnly = true)
+    public List<ClientSearchHitDto> searchClientHits(String keyword, Integer limit) {
+        if (keyword == null || keyword.isBlank()) return List.of();
+        int size = clampPageSize(limit);
+
+        if (searchIndex.isReady()) {
+            List<SearchHit> hits = searchIndex.search(keyword, size);
+            List<ClientDto> clients = findAllInOrder(hits.stream().map(SearchHit::id).toList());
+            Map<Long, ClientDto> byId = new HashMap<>();
+            clients.forEach(c -> byId.put(c.getId(), c));
+            return hits.stream()
+                    .filter(h -> byId.containsKey(h.id()))
+                    .map(h -> new ClientSearchHitDto(byId.get(h.id()), h.score(), h.matches()))
+                    .toList();
+        }
+
+        return searchInDatabase(keyword).stream()
+                .limit(size)
+                .map(c -> {
+                    SearchHit hit = ClientSearchIndex.evaluate(c, keyword);
+                    return hit == null
+                            ? new ClientSearchHitDto(c, 0, List.of())
+                            : new ClientSearchHitDto(c, hit.score(), hit.matches());
+                })
+                .toList();
+    }
+
+    /**
+     * Counts per active flag and for the {@code top} most frequent locations over the clients
+     * {@link #searchClients(String)} returns. Answered from the facet and search indexes once
+     * they are built. With only the search index built, its matches are counted from their
+     * rows; with neither, one grouped query does the counting.
+     */
+    @Transactional(readOnly = true)
+    public ClientFacetsDto facetClients(String keyword, Integer top) {
+        int size = top == null || top <= 0 ? DEFAULT_FACET_LOCATIONS : Math.min(top, MAX_FACET_LOCATIONS);
+        boolean all = keyword == null || keyword.isBlank();
+        if (all && facetIndex.isReady()) {
+            return facetIndex.counts(size);
+        }
+        if (!all && searchIndex.isReady()) {
+            List<Long> ids = indexedIds(keyword);
+            if (facetIndex.isReady()) return facetIndex.counts(ids, size);
+            FacetCounts counts = new FacetCounts();
+            for (int i = 0; i < ids.size(); i += ID_CHUNK) {
+                clientRepository.findFieldsByIdIn(FACET_FIELDS, ids.subList(i, Math.min(i + ID_CHUNK, ids.size())))
+                        .forEach(row -> counts.add((Boolean) row.get("active"), (String) row.get("location"), 1));
+            }
+            return counts.toDto(size);
+        }
+        FacetCounts counts = new FacetCounts();
+        for (Object[] row : clientRepository.countByActiveAndLocation(all ? null : containsPattern(keyword))) {
+            counts.add((Boolean) row[0], (String) row[1], (Long) row[2]);
+        }
+        return counts.toDto(size);
+    }
+
+    private List<ClientDto> searchInDatabase(String keyword) {
+        return clientRepository.searchAll(containsPattern(keyword));
+    }
+
+    // Every client the search index matches, best match first.
+    private List<Long> indexedIds(String keyword) {
+        return searchIndex.search(keyword, Integer.MAX_VALUE)
+                .stream()
+                .map(SearchHit::id)
+                .toList();
+    }
+
+    // One page of the index matches: ids above afterId, in id order rather than by score, so
+    // the id cursor works as it does for the plain listing and pages stay put as scores move.
+    private List<Long> indexedPageIds(String keyword, long afterId, int size) {
+        return indexedIds(keyword).stream()
+                .filter(id -> id > afterId)
+                .sorted()
+                .limit(size)
+                .toList();
+    }
+
+    // Ids rather than rows decide the cursor, so a match deleted since the index saw it
+    // does not end paging early.
+    private static String nextCursor(List<Long> ids, int size) {
+        return ids.size() < size ? null : ClientCursor.encode(ids.getLast());
+    }
+
+    private List<ClientDto> findAllInOrder(List<Long> ids) {
+        return inIdOrder(ids, clientRepository::findDtosByIdIn, ClientDto::getId);
+    }
+
+    private List<Map<String, Object>> findFieldsInOrder(List<Long> ids, ClientFields fields) {
+        return inIdOrder(ids, chunk -> clientRepository.findFieldsByIdIn(fields.attributes(), chunk),
+                row -> (Long) row.get("id"));
+    }
+
+    // Loads rows by id in IN-list chunks and returns them in the order of ids.
+    private static <T> List<T> inIdOrder(List<Long> ids, Function<List<Long>, List<T>> load, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += ID_CHUNK) {
+            load.apply(ids.subList(i, Math.min(i + ID_CHUNK, ids.size())))
+                    .forEach(row -> byId.put(idOf.apply(row), row));
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row != null) ordered.add(row);
+        }
+        return ordered;
+    }
+
+    @Transactional(readOnly = true)
+    public ClientPageDto getClientsPage(String after, Integer limit) {
+        int size = clampPageSize(limit);
+        List<ClientDto> rows = clientRepository.findPageAfter(ClientCursor.decode(after), Limit.of(size));
+        return toPage(rows, size);
+    }
+
+    /**
+     * One page of the clients {@link #searchClients(String)} matches, in id order. The search
+     * index picks the matches once it is built; until then the page is a substring query on
+     * name and email.
+     */
+    @Transactional(readOnly = true)
+    public ClientPageDto searchClientsPage(String keyword, String after, Integer limit) {
+        if (keyword == null || keyword.isBlank()) {
+            return getClientsPage(after, limit);
+        }
+        int size = clampPageSize(limit);
+        if (searchIndex.isReady()) {
+            List<Long> ids = indexedPageIds(keyword, ClientCursor.decode(after), size);
+            return new ClientPageDto(findAllInOrder(ids), nextCursor(ids, size));
+        }
+        List<ClientDto> rows = clientRepository.searchPageAfter(
+                containsPattern(keyword), ClientCursor.decode(after), Limit.of(size));
+        return toPage(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public ClientFieldsPageDto getClientsPage(String after, Integer limit, ClientFields fields) {
+        int size = clampPageSize(limit);
+        List<Map<String, Object>> rows = clientRepository.findFields(
+                fields.attributes(), null, ClientCursor.decode(after), size);
+        return toFieldsPage(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public ClientFieldsPageDto searchClientsPage(String keyword, String after, Integer limit, ClientFields fields) {
+        if (keyword == null || keyword.isBlank()) {
+            return getClientsPage(after, limit, fields);
+        }
+        int size = clampPageSize(limit);
+        if (searchIndex.isReady()) {
+            List<Long> ids = indexedPageIds(keyword, ClientCursor.decode(after), size);
+            return new ClientFieldsPageDto(findFieldsInOrder(ids, fields), nextCursor(ids, size));
+        }
+        List<Map<String, Object>> rows = clientRepository.findFields(
+                fields.attributes(), containsPattern(keyword), ClientCursor.decode(after), size);
+        return toFieldsPage(rows, size);
+    }
+
+    static String containsPattern(String keyword) {
+        String escaped = keyword.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static int clampPageSize(Integer limit) {
+        if (limit == null || limit <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static ClientPageDto toPage(List<ClientDto> rows, int size) {
+        // A short page means we hit the end; no cursor so callers stop paging.
+        String next = rows.size() < size ? null : ClientCursor.encode(rows.getLast().getId());
+        return new ClientPageDto(rows, next);
+    }
+
+    private static ClientFieldsPageDto toFieldsPage(List<Map<String, Object>> rows, int size) {
+        String next = rows.size() < size ? null : ClientCursor.encode((Long) rows.getLast().get("id"));
+        return new ClientFieldsPageDto(rows, next);
     }
 
     public ClientDto createClient(CreateClientDto dto) {
         Client entity = ClientMapper.fromCreateDto(dto);
         Client saved = clientRepository.save(entity);
         audit.record("CREATE", "CLIENT", saved.getId());
-        return ClientMapper.toDto(saved);
+        ClientDto result = ClientMapper.toDto(saved);
+        events.publishEvent(ClientChangedEvent.created(result));
+        return result;
     }
 
     public ClientDto updateClient(Long id, UpdateClientDto dto) {
+        return updateClient(id, dto, null);
+    }
+
+    /**
+     * Full read-modify-write update. With an {@code expectedVersion} the row must still be at
+     * that version; either way a concurrent writer committing first makes this one fail.
+     */
+    public ClientDto updateClient(Long id, UpdateClientDto dto, Long expectedVersion) {
         Client existing = clientRepository.findById(id)
                 .orElseThrow(() -> new ClientNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new ClientVersionConflictException(id, existing.getVersion());
+        }
 
         ClientMapper.applyUpdate(existing, dto);
-        Client updated = clientRepository.save(existing);
+        // Flush now so the returned version is the new one and conflicts surface here.
+        Client updated = clientRepository.saveAndFlush(existing);
         audit.record("UPDATE", "CLIENT", id);
-        return ClientMapper.toDto(updated);
+        ClientDto result = ClientMapper.toDto(updated);
+        events.publishEvent(ClientChangedEvent.updated(result));
+        return result;
+    }
+
+    /**
+     * Partial update of the supplied fields. Goes through the entity rather than a bulk UPDATE
+     * so only this client's second-level cache entry changes; a bulk statement would drop the
+     * whole region. A null {@code expectedVersion} (If-Match: *) skips the version check.
+     */
+    public ClientDto patchClient(Long id, UpdateClientDto dto, Long expectedVersion) {
+        if (ClientMapper.changes(dto).isEmpty()) {
+            ClientDto current = getClientById(id);
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new ClientVersionConflictException(id, current.getVersion());
+            }
+            return current;
+        }
+        return updateClient(id, dto, expectedVersion);
     }
 
     public void deleteClient(Long id) {
+        deleteClient(id, null);
+    }
+
+    public void deleteClient(Long id, Long expectedVersion) {
         Client existing = clientRepository.findById(id)
                 .orElseThrow(() -> new ClientNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new ClientVersionConflictException(id, existing.getVersion());
+        }
         clientRepository.delete(existing);
         audit.record("DELETE", "CLIENT", id);
+        events.publishEvent(ClientChangedEvent.deleted(id));
     }
 
+    /** Served from the maintained {@link ClientCounter}, not a {@code COUNT(*)} per call. */
+    @Transactional(readOnly = true)
     public long countClients() {
-        return clientRepository.count();
+        return counter.get();
     }
 }
@@ -0,0 +1,113 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.dto.ClientChangesDto;
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.entity.ClientTombstone;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.exception.InvalidSyncTokenException;
+import com.omamofe.clientmanagement.repository.ClientChangeSequence;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import com.omamofe.clientmanagement.repository.ClientTombstoneRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delta sync of the client book.
+ * <p>
+ * Client rows carry the number of their last write (see {@link ClientChangeSequence}) and
+ * deletes leave a tombstone numbered the same way, written in the deleting transaction. A
+ * sync pages through both in (number, id) order by index seeks from the caller's token,
+ * only up to {@link ClientChangeSequence#visibleThrough()}, and hands back the token to
+ * continue from. A row changed several times since the token appears once, as it is now.
+ */
+@Service
+public class ClientSyncService {
+
+    public static final int DEFAULT_SYNC_LIMIT = 500;
+    public static final int MAX_SYNC_LIMIT = 1000;
+
+    private record Change(long seq, long id, boolean deleted) {
+    }
+
+    private final ClientRepository clientRepository;
+    private final ClientTombstoneRepository tombstoneRepository;
+    private final ClientChangeSequence sequence;
+
+    public ClientSyncService(ClientRepository clientRepository,
+                             ClientTombstoneRepository tombstoneRepository,
+                             ClientChangeSequence sequence) {
+        this.clientRepository = clientRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.sequence = sequence;
+    }
+
+    // Runs in the deleting transaction, so a rolled-back delete leaves no tombstone.
+    @EventListener
+    public void onClientChanged(ClientChangedEvent event) {
+        if (event.type() != ClientChangedEvent.Type.DELETED) return;
+        tombstoneRepository.save(new ClientTombstone(event.id(), sequence.next(), Instant.now()));
+    }
+
+    @Transactional(readOnly = true)
+    public ClientChangesDto changesSince(String since, Integer limit) {
+        ClientSyncToken from = ClientSyncToken.decode(since);
+        int size = limit == null ? DEFAULT_SYNC_LIMIT : Math.max(1, Math.min(limit, MAX_SYNC_LIMIT));
+        long through = sequence.visibleThrough();
+        // Tokens only ever come from visible numbers, which never go back down.
+        if (from.seq() > through) throw new InvalidSyncTokenException(since);
+
+        List<Change> changes = merge(
+                clientRepository.findChangesAfter(from.seq(), from.id(), through, Limit.of(size + 1)),
+                tombstoneRepository.findDeletesAfter(from.seq(), from.id(), through, Limit.of(size + 1)));
+        boolean hasMore = changes.size() > size;
+        if (hasMore) changes = changes.subList(0, size);
+
+        List<Long> changedIds = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Change change : changes) (change.deleted() ? deleted : changedIds).add(change.id());
+
+        Map<Long, ClientDto> byId = new HashMap<>();
+        if (!changedIds.isEmpty()) {
+            for (ClientDto dto : clientRepository.findDtosByIdIn(changedIds)) byId.put(dto.getId(), dto);
+        }
+        // A row deleted since it was listed is skipped; its tombstone comes later.
+        List<ClientDto> changed = changedIds.stream().map(byId::get).filter(dto -> dto != null).toList();
+
+        ClientSyncToken next = changes.isEmpty()
+                ? from
+                : new ClientSyncToken(changes.getLast().seq(), changes.getLast().id());
+        return new ClientChangesDto(changed, deleted, next.encode(), hasMore);
+    }
+
+    /** Both inputs are {seq, id} rows in (seq, id) order; so is the result. */
+    private static List<Change> merge(List<Object[]> rows, List<Object[]> tombstones) {
+        List<Change> merged = new ArrayList<>(rows.size() + tombstones.size());
+        int r = 0;
+        int t = 0;
+        while (r < rows.size() || t < tombstones.size()) {
+            Change row = r < rows.size() ? change(rows.get(r), false) : null;
+            Change tombstone = t < tombstones.size() ? change(tombstones.get(t), true) : null;
+            if (tombstone == null || (row != null && (row.seq() < tombstone.seq()
+                    || (row.seq() == tombstone.seq() && row.id() < tombstone.id())))) {
+                merged.add(row);
+                r++;
+            } else {
+                merged.add(tombstone);
+                t++;
+            }
+        }
+        return merged;
+    }
+
+    private static Change change(Object[] row, boolean deleted) {
+        return new Change(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), deleted);
+    }
+}
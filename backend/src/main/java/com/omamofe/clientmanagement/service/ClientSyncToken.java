@@ -0,0 +1,37 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.exception.InvalidSyncTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque delta-sync position: the change number and client id of the last change a caller
+ * has applied. Encoded like {@link ClientCursor}; absent means the start.
+ */
+record ClientSyncToken(long seq, long id) {
+
+    static final ClientSyncToken START = new ClientSyncToken(0, 0);
+
+    private static final String PREFIX = "s1:";
+
+    String encode() {
+        String raw = PREFIX + seq + "." + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ClientSyncToken decode(String token) {
+        if (token == null || token.isBlank()) return START;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int dot = raw.indexOf('.');
+            if (!raw.startsWith(PREFIX) || dot < 0) throw new InvalidSyncTokenException(token);
+            long seq = Long.parseLong(raw.substring(PREFIX.length(), dot));
+            long id = Long.parseLong(raw.substring(dot + 1));
+            if (seq < 0 || id < 0) throw new InvalidSyncTokenException(token);
+            return new ClientSyncToken(seq, id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSyncTokenException(token);
+        }
+    }
+}
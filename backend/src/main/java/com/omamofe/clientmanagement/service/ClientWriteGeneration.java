@@ -0,0 +1,47 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Validators for conditional GETs on client lists.
+ * <p>
+ * The table has a write generation, advanced by every committed {@link ClientChangedEvent}
+ * that {@link ClientService} publishes. It lives in memory, so a matching
+ * {@code If-None-Match} is answered without a query. Tags embed the boot time so a tag
+ * issued before a restart never validates after it. A single client is tagged with its
+ * {@code @Version} instead (see {@code ClientController}), which needs no state here.
+ * <p>
+ * The generation moves after commit, never before: a reader that takes the tag and then
+ * loads data can at worst pair an older tag with newer data, which only costs a refetch.
+ */
+@Component
+public class ClientWriteGeneration {
+
+    private final String boot = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long lastModified = System.currentTimeMillis();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        generation.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+    }
+
+    public long current() {
+        return generation.get();
+    }
+
+    /** Strong tag for any representation derived from the whole table. */
+    public String listTag() {
+        return "\"" + boot + "-" + generation.get() + "\"";
+    }
+
+    /** Time of the last committed write, or of startup. */
+    public long lastModifiedMillis() {
+        return lastModified;
+    }
+}
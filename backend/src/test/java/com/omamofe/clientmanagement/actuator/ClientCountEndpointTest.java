@@ -0,0 +1,36 @@
+package com.omamofe.clientmanagement.actuator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClientCountEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void reconcile_isAvailableToAdmins() throws Exception {
+        mockMvc.perform(post("/actuator/clientcount"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seeded").value(true))
+                .andExpect(jsonPath("$.lastDrift").value(0));
+    }
+
+    @Test
+    void reconcile_requiresAuthentication() throws Exception {
+        mockMvc.perform(post("/actuator/clientcount"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/clientcount"))
+                .andExpect(status().isUnauthorized());
+    }
+}
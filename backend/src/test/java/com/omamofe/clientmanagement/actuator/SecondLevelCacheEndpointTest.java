@@ -0,0 +1,103 @@
+package com.omamofe.clientmanagement.actuator;
+
+import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecondLevelCacheEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private SecondLevelCacheEndpoint endpoint;
+
+    private long hits(String region) {
+        return (Long) endpoint.region(region).get("hits");
+    }
+
+    private long misses(String region) {
+        return (Long) endpoint.region(region).get("misses");
+    }
+
+    @Test
+    void clientReads_areServedFromTheCacheUntilEvicted() {
+        CreateClientDto dto = new CreateClientDto();
+        dto.setFullName("Cached Client");
+        dto.setEmail("cached@l2.test");
+        Long id = clientService.createClient(dto).getId();
+
+        clientService.getClientById(id);
+        long hitsBefore = hits("clients");
+        clientService.getClientById(id);
+        assertThat(hits("clients")).isEqualTo(hitsBefore + 1);
+
+        Map<String, Object> evicted = endpoint.evict("clients");
+        assertThat(evicted).containsKey("hits");
+        long missesBefore = misses("clients");
+        clientService.getClientById(id);
+        assertThat(misses("clients")).isEqualTo(missesBefore + 1);
+    }
+
+    @Test
+    void repeatLogins_hitTheQueryCache() throws Exception {
+        String login = """
+                {"email": "theWorldsBestBOSS@example.com"}
+                """;
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(login))
+                .andExpect(status().isOk());
+        long hitsBefore = hits("users-by-email");
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(login))
+                .andExpect(status().isOk());
+
+        assertThat(hits("users-by-email")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void actuator_listsRegionsAndRejectsUnknownOnes() throws Exception {
+        mockMvc.perform(get("/actuator/l2cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statisticsEnabled").value(true))
+                .andExpect(jsonPath("$.regions.clients.hits").exists())
+                .andExpect(jsonPath("$.regions.users").exists());
+        mockMvc.perform(delete("/actuator/l2cache/users"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/l2cache/nope"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void actuator_requiresAnAdmin() throws Exception {
+        mockMvc.perform(delete("/actuator/l2cache"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/l2cache"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "EDITOR")
+    void actuator_refusesOtherRoles() throws Exception {
+        mockMvc.perform(delete("/actuator/l2cache"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,67 @@
+package com.omamofe.clientmanagement.audit;
+
+import com.omamofe.clientmanagement.dto.AuditLogDto;
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.dto.AuditLogPageDto;
+import com.omamofe.clientmanagement.repository.AuditLogRepository;
+import com.omamofe.clientmanagement.service.AuditLogService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SegmentAuditLogStoreIntegrationTest {
+
+    @TempDir
+    static Path dir;
+
+    @DynamicPropertySource
+    static void segments(DynamicPropertyRegistry registry) {
+        registry.add("audit.store", () -> "segments");
+        registry.add("audit.segments.directory", dir::toString);
+    }
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogStore store;
+
+    @Autowired
+    private AuditLogRepository auditRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void auditLogService_recordsToSegmentsAfterCommit() {
+        assertThat(store).isInstanceOf(SegmentAuditLogStore.class);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> auditLogService.recordAll("UPDATE", "SEGMENT_IT", List.of(1L, 2L, 3L)));
+        tx.executeWithoutResult(status -> {
+            auditLogService.record("DELETE", "SEGMENT_IT", 9L);
+            status.setRollbackOnly();
+        });
+
+        AuditLogFilterDto filter = new AuditLogFilterDto();
+        filter.setEntityType("segment_it");
+        AuditLogPageDto first = auditLogService.getLogs(filter, null, 2);
+        assertThat(first.getItems()).extracting(AuditLogDto::getEntityId).containsExactly(3L, 2L);
+        AuditLogPageDto second = auditLogService.getLogs(filter, first.getNextCursor(), 2);
+        assertThat(second.getItems()).extracting(AuditLogDto::getEntityId).containsExactly(1L);
+        assertThat(second.getNextCursor()).isNull();
+
+        assertThat(auditRepo.findAll()).noneMatch(log -> log.getEntityType().equals("SEGMENT_IT"));
+    }
+}
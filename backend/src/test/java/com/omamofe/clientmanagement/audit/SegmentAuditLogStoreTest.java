@@ -0,0 +1,168 @@
+package com.omamofe.clientmanagement.audit;
+
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.entity.AuditLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentAuditLogStoreTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+    // Room for exactly ten records per segment.
+    private static final long TEN_RECORDS = AuditSegment.HEADER_SIZE + 10L * AuditSegment.RECORD_SIZE;
+
+    @TempDir
+    Path dir;
+
+    private SegmentAuditLogStore store;
+
+    private SegmentAuditLogStore open(long segmentSize, Duration rollInterval) throws IOException {
+        if (store != null) store.close();
+        store = new SegmentAuditLogStore(dir.toString(), segmentSize, rollInterval, 4);
+        return store;
+    }
+
+    @AfterEach
+    void close() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (store != null) store.close();
+    }
+
+    // Entity ids 0..count-1, one second apart from T0, alternating actions.
+    private static List<AuditLog> entries(long from, long to) {
+        return LongStream.range(from, to)
+                .mapToObj(i -> AuditLog.builder()
+                        .action(i % 2 == 0 ? "CREATE" : "UPDATE")
+                        .entityType("CLIENT")
+                        .entityId(i)
+                        .actorEmail("admin@example.com")
+                        .actorName("Admin")
+                        .timestamp(T0.plusSeconds(i))
+                        .build())
+                .toList();
+    }
+
+    private static List<Long> entityIds(List<AuditLog> page) {
+        return page.stream().map(AuditLog::getEntityId).toList();
+    }
+
+    private List<AuditLog> all(AuditLogFilterDto filter, int pageSize) {
+        List<AuditLog> result = new ArrayList<>();
+        Instant beforeTimestamp = null;
+        Long beforeId = null;
+        while (true) {
+            List<AuditLog> page = store.findPage(filter, beforeTimestamp, beforeId, pageSize);
+            result.addAll(page);
+            if (page.size() < pageSize) return result;
+            beforeTimestamp = page.getLast().getTimestamp();
+            beforeId = page.getLast().getId();
+        }
+    }
+
+    @Test
+    void findPage_returnsEntriesNewestFirstAcrossSegments() throws IOException {
+        open(TEN_RECORDS, Duration.ofDays(1)).append(entries(0, 25));
+
+        assertThat(store.segmentCount()).isEqualTo(3);
+        List<AuditLog> first = store.findPage(new AuditLogFilterDto(), null, null, 4);
+        assertThat(entityIds(first)).containsExactly(24L, 23L, 22L, 21L);
+        assertThat(first.getFirst().getId()).isEqualTo(25L);
+        assertThat(first.getFirst().getActorEmail()).isEqualTo("admin@example.com");
+        assertThat(first.getFirst().getActorName()).isEqualTo("Admin");
+        assertThat(first.getFirst().getTimestamp()).isEqualTo(T0.plusSeconds(24));
+
+        assertThat(entityIds(all(new AuditLogFilterDto(), 7)))
+                .containsExactlyElementsOf(LongStream.iterate(24, i -> i >= 0, i -> i - 1).boxed().toList());
+    }
+
+    @Test
+    void findPage_appliesFiltersAndTimeRange() throws IOException {
+        open(TEN_RECORDS, Duration.ofDays(1)).append(entries(0, 40));
+
+        AuditLogFilterDto updates = new AuditLogFilterDto();
+        updates.setAction("UPDATE");
+        updates.setFrom(T0.plusSeconds(5));
+        updates.setTo(T0.plusSeconds(25));
+        assertThat(entityIds(all(updates, 3))).containsExactly(23L, 21L, 19L, 17L, 15L, 13L, 11L, 9L, 7L, 5L);
+
+        AuditLogFilterDto one = new AuditLogFilterDto();
+        one.setEntityType("CLIENT");
+        one.setEntityId(12L);
+        assertThat(entityIds(store.findPage(one, null, null, 10))).containsExactly(12L);
+
+        AuditLogFilterDto nobody = new AuditLogFilterDto();
+        nobody.setActorEmail("someone@example.com");
+        assertThat(store.findPage(nobody, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void append_keepsTimestampsInIdOrder() throws IOException {
+        open(TEN_RECORDS, Duration.ofDays(1)).append(entries(0, 3));
+        AuditLog late = entries(3, 4).getFirst();
+        late.setTimestamp(T0.minusSeconds(60));
+        store.append(List.of(late));
+
+        List<AuditLog> page = store.findPage(new AuditLogFilterDto(), null, null, 10);
+        assertThat(entityIds(page)).containsExactly(3L, 2L, 1L, 0L);
+        assertThat(page.getFirst().getTimestamp()).isEqualTo(T0.plusSeconds(2));
+    }
+
+    @Test
+    void append_waitsForTheTransactionToCommit() throws IOException {
+        open(TEN_RECORDS, Duration.ofDays(1));
+        TransactionSynchronizationManager.initSynchronization();
+
+        store.append(entries(0, 2));
+        assertThat(store.findPage(new AuditLogFilterDto(), null, null, 10)).isEmpty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(entityIds(store.findPage(new AuditLogFilterDto(), null, null, 10))).containsExactly(1L, 0L);
+    }
+
+    @Test
+    void reopen_continuesAfterTheLastEntry() throws IOException {
+        open(TEN_RECORDS, Duration.ofDays(1)).append(entries(0, 15));
+        open(TEN_RECORDS, Duration.ofDays(1)).append(entries(15, 17));
+
+        assertThat(store.segmentCount()).isEqualTo(2);
+        List<AuditLog> page = store.findPage(new AuditLogFilterDto(), null, null, 3);
+        assertThat(page).extracting(AuditLog::getId).containsExactly(17L, 16L, 15L);
+
+        AuditLogFilterDto range = new AuditLogFilterDto();
+        range.setFrom(T0.plusSeconds(3));
+        range.setTo(T0.plusSeconds(6));
+        assertThat(entityIds(all(range, 10))).containsExactly(5L, 4L, 3L);
+    }
+
+    @Test
+    void append_startsANewSegmentAfterTheRollInterval() throws IOException {
+        open(TEN_RECORDS, Duration.ZERO).append(entries(0, 3));
+
+        assertThat(store.segmentCount()).isEqualTo(3);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.map(p -> p.getFileName().toString()).sorted())
+                    .containsExactly("audit-00000000000000000001.seg", "audit-00000000000000000002.seg",
+                            "audit-00000000000000000003.seg");
+        }
+        assertThat(entityIds(store.findPage(new AuditLogFilterDto(), null, null, 10))).containsExactly(2L, 1L, 0L);
+    }
+}
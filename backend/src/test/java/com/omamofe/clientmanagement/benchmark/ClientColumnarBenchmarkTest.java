@@ -0,0 +1,110 @@
+package com.omamofe.clientmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omamofe.clientmanagement.service.ClientExportService;
+import com.omamofe.clientmanagement.service.ClientService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full client list as the regular JSON array of objects versus the columnar representation:
+ * bytes on the wire (plain and gzipped) and time from database to bytes. Skipped unless run
+ * with {@code -Dbenchmarks=true}; size with {@code -Dbenchmark.rows=N}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ClientColumnarBenchmarkTest {
+
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private int rows;
+
+    @BeforeAll
+    void seed() {
+        rows = Integer.getInteger("benchmark.rows", 100_000);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{"Client " + i, "Client " + i, "client" + i + "@example.com",
+                    "Notes about client " + i, i % 3 != 0, "City " + (i % 50)});
+            if (batch.size() == 5_000) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        insert(batch);
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbc.batchUpdate("insert into clients (id, full_name, display_name, email, details, active, location, version) "
+                + "values (next value for clients_seq, ?, ?, ?, ?, ?, ?, 0)", batch);
+    }
+
+    @Test
+    void jsonObjectsVersusColumnar() throws Exception {
+        Callable<byte[]> json = () -> objectMapper.writeValueAsBytes(clientService.getAllClients());
+        Callable<byte[]> columnar = () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            exportService.writeColumnar(out);
+            return out.toByteArray();
+        };
+
+        byte[] jsonBytes = json.call();
+        byte[] columnarBytes = columnar.call();
+        double jsonMs = measure(json);
+        double columnarMs = measure(columnar);
+
+        System.out.printf("%n[benchmark] rows=%d  json: %.1f ms/op, %d KB (%d KB gzip)"
+                        + "  |  columnar: %.1f ms/op, %d KB (%d KB gzip)%n%n",
+                rows, jsonMs, jsonBytes.length / 1024, gzip(jsonBytes).length / 1024,
+                columnarMs, columnarBytes.length / 1024, gzip(columnarBytes).length / 1024);
+        assertThat(columnarBytes.length).isLessThan(jsonBytes.length);
+    }
+
+    /** Average milliseconds per call, after a warm-up. */
+    private static double measure(Callable<byte[]> op) throws Exception {
+        for (int i = 0; i < 3; i++) op.call();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) op.call();
+        return (System.nanoTime() - started) / 1e6 / ITERATIONS;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+            zip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
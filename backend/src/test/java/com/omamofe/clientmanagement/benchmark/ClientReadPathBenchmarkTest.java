@@ -0,0 +1,100 @@
+package com.omamofe.clientmanagement.benchmark;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.mapper.ClientMapper;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import com.omamofe.clientmanagement.service.ClientService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full client list through managed entities in a read-write transaction (the former path)
+ * versus DTO projection in a read-only one. Reports latency and bytes allocated per call.
+ * Skipped unless run with {@code -Dbenchmarks=true}; size with {@code -Dbenchmark.rows=N}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ClientReadPathBenchmarkTest {
+
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private int rows;
+
+    @BeforeAll
+    void seed() {
+        rows = Integer.getInteger("benchmark.rows", 100_000);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{"Client " + i, "Client " + i, "client" + i + "@example.com",
+                    "Notes about client " + i, i % 3 != 0, "City " + (i % 50)});
+            if (batch.size() == 5_000) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        insert(batch);
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbc.batchUpdate("insert into clients (id, full_name, display_name, email, details, active, location, version) "
+                + "values (next value for clients_seq, ?, ?, ?, ?, ?, ?, 0)", batch);
+    }
+
+    @Test
+    void entityPathVersusProjection() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        Supplier<List<ClientDto>> entities = () -> readWrite.execute(status ->
+                clientRepository.findAll().stream().map(ClientMapper::toDto).toList());
+        Supplier<List<ClientDto>> projection = clientService::getAllClients;
+
+        assertThat(projection.get()).hasSameSizeAs(entities.get());
+        double[] before = measure(entities);
+        double[] after = measure(projection);
+
+        System.out.printf("%n[benchmark] rows=%d  getAllClients entity path: %.1f ms/op, %.1f MB/op"
+                        + "  |  projection: %.1f ms/op, %.1f MB/op%n%n",
+                rows, before[0], before[1], after[0], after[1]);
+        assertThat(after[1]).isLessThan(before[1]);
+    }
+
+    /** Average {milliseconds, megabytes allocated by this thread} per call. */
+    private static double[] measure(Supplier<List<ClientDto>> op) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 3; i++) op.get();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) op.get();
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new double[]{elapsed / 1e6 / ITERATIONS, allocated / 1e6 / ITERATIONS};
+    }
+}
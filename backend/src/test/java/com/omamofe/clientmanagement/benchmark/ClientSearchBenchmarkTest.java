@@ -0,0 +1,90 @@
+package com.omamofe.clientmanagement.benchmark;
+
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import com.omamofe.clientmanagement.search.ClientFuzzyIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the fuzzy dictionary with the {@code LIKE} repository query.
+ * Skipped unless run with {@code -Dbenchmarks=true}; size with {@code -Dbenchmark.rows=N}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ClientSearchBenchmarkTest {
+
+    private static final String[] FIRST = {"john", "jane", "katherine", "jonathan", "maria", "pieter",
+            "sanne", "mohammed", "olivia", "lucas", "emma", "daan", "fatima", "noah", "sophie", "thomas"};
+    private static final String[] LAST = {"wick", "snow", "johnson", "devries", "jansen", "bakker",
+            "visser", "smit", "meijer", "mulder", "bos", "vos", "peters", "hendriks", "dekker", "brouwer"};
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientFuzzyIndex fuzzyIndex;
+
+    private int rows;
+
+    @BeforeAll
+    void seed() {
+        rows = Integer.getInteger("benchmark.rows", 100_000);
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            String first = FIRST[random.nextInt(FIRST.length)] + (i % 97);
+            String last = LAST[random.nextInt(LAST.length)] + (i % 89);
+            batch.add(new Object[]{first + " " + last, first + "." + last + i + "@example.com", true});
+            if (batch.size() == 5_000) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        insert(batch);
+        fuzzyIndex.rebuild();
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbc.batchUpdate("insert into clients (id, full_name, email, active, version) "
+                + "values (next value for clients_seq, ?, ?, ?, 0)", batch);
+    }
+
+    @Test
+    void fuzzyLookupVersusLikeQuery() {
+        String exact = "katherine12";
+        String typo = "kathrine12";
+
+        double likeMicros = time(() -> clientRepository.searchAll("%" + exact + "%").size());
+        double fuzzyMicros = time(() -> fuzzyIndex.search(typo, 50).size());
+
+        System.out.printf("%n[benchmark] rows=%d  LIKE '%%%s%%': %.1f us/op  fuzzy '%s': %.1f us/op%n%n",
+                rows, exact, likeMicros, typo, fuzzyMicros);
+        assertThat(fuzzyIndex.search(typo, 50)).isNotEmpty();
+    }
+
+    private static double time(Supplier<Integer> op) {
+        for (int i = 0; i < 200; i++) op.get();
+        int iterations = 200;
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) op.get();
+        return (System.nanoTime() - started) / 1_000.0 / iterations;
+    }
+}
@@ -0,0 +1,103 @@
+package com.omamofe.clientmanagement.benchmark;
+
+import com.omamofe.clientmanagement.entity.Client;
+import com.omamofe.clientmanagement.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lookup latency with the second-level cache versus going to the database, one transaction
+ * per lookup as in a request. Skipped unless run with {@code -Dbenchmarks=true}; size with
+ * {@code -Dbenchmark.rows=N}. Against in-memory H2 the database path has no network round
+ * trip, so the gap is a lower bound for a remote database.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SecondLevelCacheBenchmarkTest {
+
+    private static final int LOOKUPS = 20_000;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private long[] ids;
+
+    @BeforeAll
+    void seed() {
+        int rows = Integer.getInteger("benchmark.rows", 5_000);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{"Client " + i, "client" + i + "@example.com", "details " + i, true, 0L});
+        }
+        jdbc.batchUpdate("insert into clients (id, full_name, email, details, active, version) "
+                + "values (next value for clients_seq, ?, ?, ?, ?, ?)", batch);
+        ids = jdbc.queryForList("select id from clients", Long.class).stream().mapToLong(Long::longValue).toArray();
+        tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+    }
+
+    @Test
+    void findByIdAndLoginLookup_cachedVersusDatabase() {
+        double clientDb = time(CacheMode.IGNORE, id -> entityManager.find(Client.class, id) != null);
+        double clientCached = time(CacheMode.NORMAL, id -> entityManager.find(Client.class, id) != null);
+
+        String email = jdbc.queryForObject("select email from users fetch first 1 rows only", String.class);
+        Function<Long, Boolean> login = id -> !entityManager.createQuery(
+                        "select u from User u where lower(u.email) = lower(:email)", User.class)
+                .setParameter("email", email)
+                .setHint("org.hibernate.cacheable", true)
+                .setHint("org.hibernate.cacheRegion", "users-by-email")
+                .getResultList().isEmpty();
+        double userDb = time(CacheMode.IGNORE, login);
+        double userCached = time(CacheMode.NORMAL, login);
+
+        System.out.printf("%n[benchmark] rows=%d  client findById: db %.1f us/op, cached %.1f us/op"
+                        + "  |  user by email: db %.1f us/op, cached %.1f us/op%n%n",
+                ids.length, clientDb, clientCached, userDb, userCached);
+        assertThat(clientCached).isLessThan(clientDb);
+    }
+
+    /** Average microseconds per lookup of a random id, each in its own read-only transaction. */
+    private double time(CacheMode mode, Function<Long, Boolean> lookup) {
+        Random random = new Random(7);
+        Runnable op = () -> tx.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(mode);
+            assertThat(lookup.apply(ids[random.nextInt(ids.length)])).isTrue();
+        });
+        // Warm-up also fills the cache, so the timed NORMAL run measures the hit path.
+        for (long id : ids) tx.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(mode);
+            lookup.apply(id);
+        });
+        long started = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) op.run();
+        return (System.nanoTime() - started) / 1_000.0 / LOOKUPS;
+    }
+}
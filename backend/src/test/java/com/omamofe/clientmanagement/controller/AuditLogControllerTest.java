@@ -1,6 +1,8 @@
 package com.omamofe.clientmanagement.controller;
 
 import com.omamofe.clientmanagement.dto.AuditLogDto;
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.dto.AuditLogPageDto;
 import com.omamofe.clientmanagement.service.AuditLogService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -15,6 +17,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.Instant;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,9 +31,7 @@ class AuditLogControllerTest {
     @MockitoBean
     AuditLogService auditLogService;
 
-    @Test
-    @WithMockUser(roles = "ADMIN")
-    void listLogs_returnsOk() throws Exception {
+    private static AuditLogDto log() {
         AuditLogDto dto = new AuditLogDto();
         dto.setId(1L);
         dto.setAction("CREATE");
@@ -39,14 +40,53 @@ class AuditLogControllerTest {
         dto.setActorEmail("admin@example.com");
         dto.setActorName("Admin");
         dto.setTimestamp(Instant.now());
+        return dto;
+    }
 
-        Mockito.when(auditLogService.getAllLogs()).thenReturn(List.of(dto));
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listLogs_returnsOk() throws Exception {
+        Mockito.when(auditLogService.getLogs(new AuditLogFilterDto(), null, null))
+                .thenReturn(new AuditLogPageDto(List.of(log()), "next-page"));
 
         mvc.perform(get("/api/logs")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].action").value("CREATE"))
-                .andExpect(jsonPath("$[0].entityType").value("CLIENT"))
-                .andExpect(jsonPath("$[0].actorEmail").value("admin@example.com"));
+                .andExpect(jsonPath("$.items[0].action").value("CREATE"))
+                .andExpect(jsonPath("$.items[0].entityType").value("CLIENT"))
+                .andExpect(jsonPath("$.items[0].actorEmail").value("admin@example.com"))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listLogs_passesFiltersAndCursor() throws Exception {
+        AuditLogFilterDto filter = new AuditLogFilterDto("UPDATE", "CLIENT", 7L, "a@b.c",
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-02-01T00:00:00Z"));
+        Mockito.when(auditLogService.getLogs(eq(filter), eq("abc"), eq(20)))
+                .thenReturn(new AuditLogPageDto(List.of(), null));
+
+        mvc.perform(get("/api/logs")
+                        .param("action", "UPDATE")
+                        .param("entityType", "CLIENT")
+                        .param("entityId", "7")
+                        .param("actorEmail", "a@b.c")
+                        .param("from", "2026-01-01T00:00:00Z")
+                        .param("to", "2026-02-01T00:00:00Z")
+                        .param("after", "abc")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void entityHistory_returnsPage() throws Exception {
+        Mockito.when(auditLogService.getEntityHistory("client", 99L, null, 5))
+                .thenReturn(new AuditLogPageDto(List.of(log()), null));
+
+        mvc.perform(get("/api/logs/entity/client/99").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].entityId").value(99));
     }
 }
@@ -0,0 +1,125 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sub-requests go through the application's DispatcherServlet, which MockMvc does not use,
+// so this test runs against a real server.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BatchControllerTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private String adminToken;
+
+    @BeforeEach
+    void loginAsAdmin() throws Exception {
+        ResponseEntity<String> result = rest.postForEntity("/api/auth/login", json("""
+                {
+                  "email": "theWorldsBestBOSS@example.com"
+                }
+                """, null), String.class);
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        adminToken = mapper.readTree(result.getBody()).get("token").asText();
+    }
+
+    private static HttpEntity<String> json(String body, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) headers.setBearerAuth(token);
+        return new HttpEntity<>(body, headers);
+    }
+
+    @Test
+    void batch_returnsOneResultPerSubRequestInOrder() throws Exception {
+        ResponseEntity<String> result = rest.postForEntity("/api/batch", json("""
+                {"requests": [
+                  {"id": "create", "method": "POST", "path": "/api/clients",
+                   "body": {"fullName": "Batched Client", "email": "batched@batch.test", "active": true}},
+                  {"id": "count", "method": "GET", "path": "/api/clients/count"},
+                  {"id": "search", "method": "GET", "path": "/api/clients/search?keyword=Batched"},
+                  {"id": "drafts", "method": "GET", "path": "/api/drafts"},
+                  {"id": "logs", "method": "GET", "path": "/api/logs"},
+                  {"id": "missing", "method": "GET", "path": "/api/clients/987654321"},
+                  {"id": "invalid", "method": "POST", "path": "/api/clients", "body": {"fullName": ""}},
+                  {"id": "login", "method": "POST", "path": "/api/auth/login", "body": {}}
+                ]}
+                """, adminToken), String.class);
+
+        assertThat(result.getStatusCode()).as(result.getBody()).isEqualTo(HttpStatus.OK);
+        JsonNode responses = mapper.readTree(result.getBody()).get("responses");
+        assertThat(responses).hasSize(8);
+        assertThat(responses).extracting(r -> r.get("id").asText())
+                .containsExactly("create", "count", "search", "drafts", "logs", "missing", "invalid", "login");
+
+        assertThat(responses.get(0).get("status").asInt()).isEqualTo(201);
+        assertThat(responses.get(0).get("body").get("email").asText()).isEqualTo("batched@batch.test");
+        assertThat(responses.get(1).get("status").asInt()).isEqualTo(200);
+        assertThat(responses.get(1).get("body").asLong()).isPositive();
+        // Reads after a write see it.
+        assertThat(responses.get(2).get("status").asInt()).isEqualTo(200);
+        assertThat(responses.get(2).get("body").findValuesAsText("email")).contains("batched@batch.test");
+        assertThat(responses.get(3).get("status").asInt()).isEqualTo(200);
+        assertThat(responses.get(4).get("status").asInt()).isEqualTo(200);
+        assertThat(responses.get(5).get("status").asInt()).isEqualTo(404);
+        assertThat(responses.get(6).get("status").asInt()).isEqualTo(400);
+        assertThat(responses.get(7).get("status").asInt()).isEqualTo(400);
+        assertThat(responses.get(7).get("body").get("message").asText()).contains("cannot be part of a batch");
+    }
+
+    @Test
+    void batch_rejectsNestedBatchesHoweverTheyAreSpelled() throws Exception {
+        ResponseEntity<String> result = rest.postForEntity("/api/batch", json("""
+                {"requests": [
+                  {"id": "encoded", "method": "POST", "path": "/api/%62atch",
+                   "body": {"requests": [{"method": "GET", "path": "/api/clients/count"}]}},
+                  {"id": "matrix", "method": "POST", "path": "/api/batch;x=1",
+                   "body": {"requests": [{"method": "GET", "path": "/api/clients/count"}]}},
+                  {"id": "dots", "method": "GET", "path": "/api/clients/../batch"},
+                  {"id": "query", "method": "GET", "path": "/api/clients/search?keyword=a%20b"}
+                ]}
+                """, adminToken), String.class);
+
+        assertThat(result.getStatusCode()).as(result.getBody()).isEqualTo(HttpStatus.OK);
+        JsonNode responses = mapper.readTree(result.getBody()).get("responses");
+        assertThat(responses).extracting(r -> r.get("status").asInt()).containsExactly(400, 400, 400, 200);
+    }
+
+    @Test
+    void batch_rejectsTooManySubRequests() {
+        StringBuilder requests = new StringBuilder();
+        for (int i = 0; i < 21; i++) {
+            if (i > 0) requests.append(',');
+            requests.append("{\"method\": \"GET\", \"path\": \"/api/clients/count\"}");
+        }
+        ResponseEntity<String> result = rest.postForEntity("/api/batch",
+                json("{\"requests\": [" + requests + "]}", adminToken), String.class);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void batch_requiresAuthentication() {
+        ResponseEntity<String> result = rest.postForEntity("/api/batch", json("""
+                {"requests": [{"method": "GET", "path": "/api/clients/count"}]}
+                """, null), String.class);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+}
@@ -0,0 +1,194 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.repository.AuditLogRepository;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import com.omamofe.clientmanagement.service.AuditLogWriter;
+import com.omamofe.clientmanagement.service.ClientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClientBulkControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    // Audit entries are written asynchronously; count them once everything queued is in.
+    private long auditCount() {
+        assertThat(auditLogWriter.awaitFlushed(Duration.ofSeconds(10))).isTrue();
+        return auditLogRepository.count();
+    }
+
+    private String adminToken;
+
+    @BeforeEach
+    void loginAsAdmin() throws Exception {
+        var result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "email": "theWorldsBestBOSS@example.com"
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andReturn();
+        adminToken = mapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    private List<Long> createClients(String prefix, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CreateClientDto dto = new CreateClientDto();
+            dto.setFullName(prefix + " " + i);
+            dto.setEmail(prefix.toLowerCase() + i + "@bulk.test");
+            dto.setActive(true);
+            ids.add(clientService.createClient(dto).getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void bulkPatch_byFilter_updatesEveryMatchAndBumpsVersions() throws Exception {
+        List<Long> ids = createClients("Relocate", 3);
+        long auditsBefore = auditCount();
+
+        mockMvc.perform(patch("/api/clients/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "filter": {"keyword": "relocate", "active": true},
+                                  "patch": {"location": "Abuja", "active": false}
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.affected").value(3));
+
+        for (Long id : ids) {
+            ClientDto client = clientService.getClientById(id);
+            assertThat(client.getLocation()).isEqualTo("Abuja");
+            assertThat(client.getActive()).isFalse();
+            assertThat(client.getVersion()).isEqualTo(1L);
+        }
+        assertThat(auditCount()).isEqualTo(auditsBefore + 3);
+    }
+
+    @Test
+    void bulkDelete_byIds_countsOnlyExistingRows() throws Exception {
+        List<Long> ids = createClients("Remove", 2);
+
+        mockMvc.perform(delete("/api/clients/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(Map.of("ids", List.of(ids.get(0), ids.get(1), -1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.affected").value(2));
+
+        assertThat(clientRepository.findExistingIds(ids)).isEmpty();
+    }
+
+    @Test
+    void bulkPatch_withoutSelection_isRejected() throws Exception {
+        mockMvc.perform(patch("/api/clients/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"patch": {"active": false}}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void reimport_withUpsert_updatesInsteadOfDuplicating() throws Exception {
+        String sheet = """
+                [
+                  {"fullName": "Upsert One", "email": "one@upsert.test", "location": "Lagos"},
+                  {"fullName": "Upsert Two", "email": "two@upsert.test"}
+                ]
+                """;
+        bulkCreate(sheet, "create").andExpect(jsonPath("$.created").value(2));
+
+        // Second pass: one row edited (and its email re-cased), one untouched, one new.
+        bulkCreate("""
+                [
+                  {"fullName": "Upsert One", "email": "ONE@upsert.test", "location": "Ibadan"},
+                  {"fullName": "Upsert Two", "email": "two@upsert.test"},
+                  {"fullName": "Upsert Three", "email": "three@upsert.test"}
+                ]
+                """, "upsert")
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.unchanged").value(1))
+                .andExpect(jsonPath("$.errors").isEmpty());
+
+        // Plain create mode now reports the taken emails instead of inserting duplicates.
+        bulkCreate(sheet, "create")
+                .andExpect(jsonPath("$.created").value(0))
+                .andExpect(jsonPath("$.errors[*].errors.email").isNotEmpty());
+
+        List<ClientDto> clients = clientService.searchClients("upsert.test");
+        assertThat(clients).hasSize(3);
+        ClientDto one = clients.stream().filter(c -> c.getFullName().equals("Upsert One")).findFirst().orElseThrow();
+        assertThat(one.getLocation()).isEqualTo("Ibadan");
+        assertThat(one.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void create_withTakenEmailInAnotherCase_isConflict() throws Exception {
+        createClients("Unique", 1);
+
+        mockMvc.perform(post("/api/clients")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName": "Unique Again", "email": "UNIQUE0@bulk.test"}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("A client with this email already exists"));
+    }
+
+    private ResultActions bulkCreate(String body, String mode) throws Exception {
+        return mockMvc.perform(post("/api/clients/bulk")
+                        .param("mode", mode)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,73 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The ETag of a GET goes back unchanged in If-Match, as a plain HTTP client would send it.
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ClientConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientService clientService;
+
+    private Long newClient(String email) {
+        CreateClientDto dto = new CreateClientDto();
+        dto.setFullName("Conditional Client");
+        dto.setEmail(email);
+        return clientService.createClient(dto).getId();
+    }
+
+    @Test
+    void etagFromGet_isAcceptedByIfMatch() throws Exception {
+        Long id = newClient("etag.roundtrip@conditional.test");
+        String etag = mockMvc.perform(get("/api/clients/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        String newEtag = mockMvc.perform(patch("/api/clients/" + id)
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"location\": \"Abuja\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.location").value("Abuja"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/clients/" + id).header("If-None-Match", newEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(delete("/api/clients/" + id).header("If-Match", newEtag))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void staleEtag_failsThePrecondition() throws Exception {
+        Long id = newClient("etag.stale@conditional.test");
+        String etag = mockMvc.perform(get("/api/clients/" + id))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(patch("/api/clients/" + id)
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"location\": \"Lagos\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/clients/" + id)
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\": \"Too Late\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
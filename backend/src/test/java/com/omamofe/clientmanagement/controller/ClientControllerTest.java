@@ -1,35 +1,83 @@
 package com.omamofe.clientmanagement.controller;
 
+import com.omamofe.clientmanagement.dto.BulkCreateResultDto;
+import com.omamofe.clientmanagement.dto.BulkRowErrorDto;
 import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.ClientFacetsDto;
+import com.omamofe.clientmanagement.dto.ClientLookupResultDto;
+import com.omamofe.clientmanagement.dto.ClientPageDto;
 import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.dto.FacetCountDto;
 import com.omamofe.clientmanagement.dto.UpdateClientDto;
+import com.omamofe.clientmanagement.service.BulkWriteMode;
+import com.omamofe.clientmanagement.service.ClientBulkService;
+import com.omamofe.clientmanagement.service.ClientExportFormat;
+import com.omamofe.clientmanagement.service.ClientExportService;
 import com.omamofe.clientmanagement.service.ClientService;
+import com.omamofe.clientmanagement.service.ClientWriteGeneration;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ClientController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import(ClientResponseCache.class)
 class ClientControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ClientResponseCache responseCache;
+
     @MockitoBean
     private ClientService clientService;
 
+    @MockitoBean
+    private ClientExportService clientExportService;
+
+    @MockitoBean
+    private ClientBulkService clientBulkService;
+
+    @MockitoBean
+    private ClientWriteGeneration writeGeneration;
+
+    @BeforeEach
+    void clearResponseCache() {
+        responseCache.clear();
+    }
+
     @Test
     void getAllClients_shouldSetRaboClientsCookie() throws Exception {
 
@@ -74,7 +122,7 @@ class ClientControllerTest {
         dto.setId(1L);
         dto.setFullName("Updated Name");
 
-        when(clientService.updateClient(any(Long.class), any(UpdateClientDto.class))).thenReturn(dto);
+        when(clientService.updateClient(eq(1L), any(UpdateClientDto.class), isNull())).thenReturn(dto);
         when(clientService.countClients()).thenReturn(6L);
 
         mockMvc.perform(put("/api/clients/1")
@@ -102,4 +150,268 @@ class ClientControllerTest {
                 .andExpect(header().string("Set-Cookie", Matchers.containsString("Path=/")))
                 .andExpect(header().string("Set-Cookie", Matchers.containsString("SameSite=Lax")));
     }
+
+    @Test
+    void getClientsPage_withLimit_returnsPageAndCursor() throws Exception {
+        ClientDto dto = new ClientDto();
+        dto.setId(7L);
+        dto.setFullName("Paged");
+
+        when(clientService.getClientsPage(eq("abc"), eq(1))).thenReturn(new ClientPageDto(List.of(dto), "next"));
+        when(clientService.countClients()).thenReturn(9L);
+
+        mockMvc.perform(get("/api/clients").param("after", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(header().string("Set-Cookie", Matchers.containsString("RABO_CLIENTS=9")));
+    }
+
+    @Test
+    void exportClients_streamsCsvAsAttachment() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("id,fullName\r\n1,John Doe\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(clientExportService).export(eq(ClientExportFormat.CSV), any(OutputStream.class));
+
+        var result = mockMvc.perform(get("/api/clients/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", Matchers.containsString("clients.csv")))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(Matchers.containsString("1,John Doe")));
+    }
+
+    @Test
+    void exportClients_unknownFormat_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/clients/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkCreate_returnsPerRowResultAndSetsCookie() throws Exception {
+        BulkCreateResultDto result = new BulkCreateResultDto(2, 1, 0, 0, List.of(7L),
+                List.of(new BulkRowErrorDto(1, Map.of("email", "must not be blank"))));
+        when(clientBulkService.createAll(any(InputStream.class), eq(BulkWriteMode.CREATE))).thenReturn(result);
+        when(clientService.countClients()).thenReturn(8L);
+
+        mockMvc.perform(post("/api/clients/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"fullName\": \"A\", \"email\": \"a@example.com\"}, {\"fullName\": \"B\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.ids[0]").value(7))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].errors.email").value("must not be blank"))
+                .andExpect(header().string("Set-Cookie", Matchers.containsString("RABO_CLIENTS=8")));
+    }
+
+    @Test
+    void bulkCreate_upsertMode_reportsCreatedUpdatedAndUnchanged() throws Exception {
+        when(clientBulkService.createAll(any(InputStream.class), eq(BulkWriteMode.UPSERT)))
+                .thenReturn(new BulkCreateResultDto(3, 1, 1, 1, List.of(9L), List.of()));
+
+        mockMvc.perform(post("/api/clients/bulk").param("mode", "upsert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.unchanged").value(1));
+
+        mockMvc.perform(post("/api/clients/bulk").param("mode", "merge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllClients_sendsValidatorsAndAnswers304WithoutLoading() throws Exception {
+        when(writeGeneration.listTag()).thenReturn("\"b-7\"");
+        when(writeGeneration.lastModifiedMillis()).thenReturn(1_700_000_000_000L);
+        when(clientService.getAllClients()).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/api/clients"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"b-7\""))
+                .andExpect(header().string("Last-Modified", "Tue, 14 Nov 2023 22:13:20 GMT"))
+                .andExpect(header().string("Cache-Control", "private, no-cache"));
+
+        clearInvocations(clientService);
+        mockMvc.perform(get("/api/clients").header("If-None-Match", "\"b-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"b-7\""))
+                .andExpect(content().string(""));
+        verifyNoInteractions(clientService);
+    }
+
+    @Test
+    void getAllClients_columnarAcceptSelectsTheColumnarRepresentation() throws Exception {
+        when(writeGeneration.listTag()).thenReturn("\"b-9\"");
+        doAnswer(invocation -> {
+            invocation.<java.io.OutputStream>getArgument(0).write("{\"count\":0,\"columns\":{}}".getBytes());
+            return 0;
+        }).when(clientExportService).writeColumnar(any());
+
+        mockMvc.perform(get("/api/clients").accept(ClientExportService.COLUMNAR_MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ClientExportService.COLUMNAR_MEDIA_TYPE))
+                .andExpect(header().string("ETag", "\"b-9-columnar\""))
+                .andExpect(header().stringValues("Vary", org.hamcrest.Matchers.hasItem("Accept")))
+                .andExpect(jsonPath("$.count").value(0));
+
+        mockMvc.perform(get("/api/clients").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"b-9\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        verify(clientExportService, times(1)).writeColumnar(any());
+    }
+
+    @Test
+    void getClientById_answers304OnlyForTheCurrentVersion() throws Exception {
+        ClientDto dto = new ClientDto();
+        dto.setId(3L);
+        dto.setVersion(5L);
+        when(clientService.getClientById(3L)).thenReturn(dto);
+
+        mockMvc.perform(get("/api/clients/3").header("If-None-Match", "\"4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.id").value(3));
+
+        mockMvc.perform(get("/api/clients/3").header("If-None-Match", "\"5\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void patchClient_passesIfMatchVersion() throws Exception {
+        ClientDto dto = new ClientDto();
+        dto.setId(1L);
+        dto.setLocation("Abuja");
+        dto.setVersion(4L);
+        when(clientService.patchClient(eq(1L), any(UpdateClientDto.class), eq(3L))).thenReturn(dto);
+
+        mockMvc.perform(patch("/api/clients/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"location\": \"Abuja\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void patchClient_withoutVersion_returns428() throws Exception {
+        mockMvc.perform(patch("/api/clients/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"location\": \"Abuja\"}"))
+                .andExpect(status().isPreconditionRequired());
+        verifyNoInteractions(clientService);
+    }
+
+    @Test
+    void updateAndDelete_withUnusableIfMatch_return412() throws Exception {
+        mockMvc.perform(put("/api/clients/1")
+                        .header("If-Match", "\"abc\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\": \"X\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/clients/1").header("If-Match", "W/\"2\""))
+                .andExpect(status().isNoContent());
+        verify(clientService).deleteClient(1L, 2L);
+    }
+
+    @Test
+    void getClientById_replaysCachedBytesUntilTheRowIsWritten() throws Exception {
+        ClientDto before = new ClientDto();
+        before.setId(1L);
+        before.setFullName("Before");
+        before.setVersion(0L);
+        when(clientService.getClientById(1L)).thenReturn(before);
+
+        mockMvc.perform(get("/api/clients/1")).andExpect(jsonPath("$.fullName").value("Before"));
+        // Same version, so the bytes built for it are replayed rather than re-serialized.
+        before.setFullName("Not serialized");
+        mockMvc.perform(get("/api/clients/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.fullName").value("Before"));
+
+        ClientDto after = new ClientDto();
+        after.setId(1L);
+        after.setFullName("After");
+        after.setVersion(1L);
+        when(clientService.getClientById(1L)).thenReturn(after);
+
+        mockMvc.perform(get("/api/clients/1")).andExpect(jsonPath("$.fullName").value("After"));
+    }
+
+    @Test
+    void getClientsFirstPage_isServedGzippedWhenAccepted() throws Exception {
+        List<ClientDto> clients = LongStream.rangeClosed(1, 40).mapToObj(id -> {
+            ClientDto dto = new ClientDto();
+            dto.setId(id);
+            dto.setFullName("Client number " + id);
+            dto.setEmail("client" + id + "@example.com");
+            return dto;
+        }).toList();
+        when(writeGeneration.listTag()).thenReturn("\"b-3\"");
+        when(clientService.getClientsPage(null, 40)).thenReturn(new ClientPageDto(clients, "next"));
+
+        var result = mockMvc.perform(get("/api/clients").param("limit", "40").header("Accept-Encoding", "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", Matchers.hasItem("Accept-Encoding")))
+                .andReturn();
+        byte[] gzipped = result.getResponse().getContentAsByteArray();
+        String json;
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(json).contains("client40@example.com");
+
+        mockMvc.perform(get("/api/clients").param("limit", "40"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.items.length()").value(40));
+        verify(clientService, times(1)).getClientsPage(null, 40);
+    }
+
+    @Test
+    void searchFacets_returnsCountsForTheKeyword() throws Exception {
+        when(clientService.facetClients("john", 5)).thenReturn(
+                new ClientFacetsDto(3, 2, 1, List.of(new FacetCountDto("Lagos", 2))));
+
+        mockMvc.perform(get("/api/clients/search/facets").param("keyword", "john").param("top", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.active").value(2))
+                .andExpect(jsonPath("$.inactive").value(1))
+                .andExpect(jsonPath("$.locations[0].value").value("Lagos"))
+                .andExpect(jsonPath("$.locations[0].count").value(2));
+    }
+
+    @Test
+    void lookupByIds_viaQueryOrBody_returnsClientsAndMissingIds() throws Exception {
+        ClientDto two = new ClientDto();
+        two.setId(2L);
+        when(clientService.lookupClients(List.of(2L, 5L)))
+                .thenReturn(new ClientLookupResultDto(List.of(two), List.of(5L)));
+
+        mockMvc.perform(get("/api/clients").param("ids", "2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clients[0].id").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(5));
+
+        mockMvc.perform(post("/api/clients/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [2, 5]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clients[0].id").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(5));
+        verify(clientService, never()).countClients();
+    }
 }
@@ -0,0 +1,135 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.service.ClientService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.omamofe.clientmanagement.controller.ClientFieldsControllerTest$RecordingInspector")
+@AutoConfigureMockMvc
+class ClientFieldsControllerTest {
+
+    /** Keeps every SQL statement Hibernate prepares. */
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase());
+            return sql;
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private ClientService clientService;
+
+    private String adminToken;
+    private Long id;
+
+    @BeforeEach
+    void loginAndSeed() throws Exception {
+        var result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "email": "theWorldsBestBOSS@example.com"
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andReturn();
+        adminToken = mapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+
+        CreateClientDto dto = new CreateClientDto();
+        dto.setFullName("Sparse Client");
+        dto.setEmail("sparse" + System.nanoTime() + "@fields.test");
+        dto.setDetails("A long note nobody in the list view reads");
+        dto.setActive(true);
+        id = clientService.createClient(dto).getId();
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    private JsonNode read(String url) throws Exception {
+        var result = mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private JsonNode find(JsonNode items) {
+        for (JsonNode item : items) {
+            if (item.get("id").asLong() == id) return item;
+        }
+        throw new AssertionError("client " + id + " not in response");
+    }
+
+    private static List<String> names(JsonNode item) {
+        List<String> names = new ArrayList<>();
+        for (Iterator<String> it = item.fieldNames(); it.hasNext(); ) names.add(it.next());
+        return names;
+    }
+
+    private static List<String> clientSelects() {
+        return RecordingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from clients "))
+                .toList();
+    }
+
+    @Test
+    void list_selectsOnlyRequestedColumns_andOmitsNulls() throws Exception {
+        JsonNode item = find(read("/api/clients?fields=email,fullName,displayName"));
+
+        // displayName was requested but is null, so it is left out; id is always there.
+        assertThat(names(item)).containsExactly("id", "fullName", "email");
+        assertThat(clientSelects()).isNotEmpty()
+                .allSatisfy(sql -> assertThat(sql).doesNotContain("details").doesNotContain("location"));
+    }
+
+    @Test
+    void searchAndPages_honourFields_defaultShapeUnchanged() throws Exception {
+        assertThat(names(find(read("/api/clients/search?keyword=sparse client&fields=active"))))
+                .containsExactly("id", "active");
+        assertThat(names(find(read("/api/clients/search?keyword=sparse client&limit=500&fields=email").get("items"))))
+                .containsExactly("id", "email");
+        assertThat(names(find(read("/api/clients?limit=500&fields=fullName").get("items"))))
+                .containsExactly("id", "fullName");
+        assertThat(clientSelects()).isNotEmpty().allSatisfy(sql -> assertThat(sql).doesNotContain("details"));
+
+        JsonNode full = find(read("/api/clients/search?keyword=sparse client"));
+        assertThat(names(full)).contains("details", "displayName", "location", "version");
+        assertThat(full.get("displayName").isNull()).isTrue();
+    }
+
+    @Test
+    void unknownField_isBadRequest() throws Exception {
+        mockMvc.perform(get("/api/clients")
+                        .param("fields", "email,password")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid fields: unknown field 'password'"));
+    }
+}
@@ -0,0 +1,170 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClientImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private String adminToken;
+
+    @BeforeEach
+    void loginAsAdmin() throws Exception {
+        adminToken = login("theWorldsBestBOSS@example.com");
+    }
+
+    private String login(String email) throws Exception {
+        var result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + email + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    private String submit(String token, String csv) throws Exception {
+        var file = new MockMultipartFile("file", "clients.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+        var result = mockMvc.perform(multipart("/api/clients/imports").file(file)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        return mapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+    }
+
+    private JsonNode awaitFinished(String id) throws Exception {
+        for (int i = 0; i < 200; i++) {
+            var result = mockMvc.perform(get("/api/clients/imports/{id}", id)
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode job = mapper.readTree(result.getResponse().getContentAsString());
+            if (!job.get("finishedAt").isNull()) return job;
+            Thread.sleep(50);
+        }
+        throw new AssertionError("import " + id + " did not finish");
+    }
+
+    @Test
+    void csvImport_runsInBackgroundAndReportsRowErrors() throws Exception {
+        String csv = """
+                Full Name,Email,Location,Active
+                Import One,one@import.test,Lagos,yes
+                ,missing-name@import.test,,
+                Import Two,two@import.test,,maybe
+                Import Three,three@import.test,,
+                """;
+        var file = new MockMultipartFile("file", "clients.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        var result = mockMvc.perform(multipart("/api/clients/imports").file(file)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString("/api/clients/imports/")))
+                .andExpect(jsonPath("$.format").value("CSV"))
+                .andReturn();
+        String id = mapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+
+        JsonNode job = awaitFinished(id);
+        assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("rowsRead").asLong()).isEqualTo(4);
+        assertThat(job.get("created").asLong()).isEqualTo(2);
+        assertThat(job.get("failed").asLong()).isEqualTo(2);
+        assertThat(job.get("progress").asDouble()).isEqualTo(1.0);
+        assertThat(job.get("errors").get(0).get("row").asInt()).isEqualTo(3);
+        assertThat(job.get("errors").get(0).get("errors").has("fullName")).isTrue();
+        assertThat(job.get("errors").get(1).get("row").asInt()).isEqualTo(4);
+        assertThat(job.get("errors").get(1).get("errors").get("active").asText()).isEqualTo("must be true or false");
+
+        mockMvc.perform(get("/api/clients/search").param("keyword", "import.test")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].email", hasItems("one@import.test", "three@import.test")));
+    }
+
+    @Test
+    void importWithoutRequiredColumns_failsTheJob() throws Exception {
+        var file = new MockMultipartFile("file", "clients.csv", "text/csv",
+                "name,location\nJohn,Lagos\n".getBytes(StandardCharsets.UTF_8));
+
+        var result = mockMvc.perform(multipart("/api/clients/imports").file(file)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String id = mapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+
+        JsonNode job = awaitFinished(id);
+        assertThat(job.get("status").asText()).isEqualTo("FAILED");
+        assertThat(job.get("message").asText()).contains("fullName and email");
+    }
+
+    @Test
+    void unsupportedFile_isRejected() throws Exception {
+        var file = new MockMultipartFile("file", "clients.pdf", "application/pdf", new byte[]{1, 2, 3});
+
+        mockMvc.perform(multipart("/api/clients/imports").file(file)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString(".csv and .xlsx")));
+    }
+
+    @Test
+    void unknownJob_returnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/clients/imports/{id}", "nope")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/clients/imports/{id}", "nope")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void jobs_areVisibleOnlyToTheirSubmitterAndAdmins() throws Exception {
+        String editorToken = login("angel.hansen@example.com");
+        String editorJob = submit(editorToken, "fullName,email\nOwned Import,owned@import.test\n");
+        String adminJob = submit(adminToken, "fullName,email\nAdmin Import,admin-owned@import.test\n");
+
+        mockMvc.perform(get("/api/clients/imports/{id}", editorJob)
+                        .header("Authorization", "Bearer " + editorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.submittedBy").value("angel.hansen@example.com"));
+        mockMvc.perform(get("/api/clients/imports/{id}", editorJob)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/clients/imports/{id}", adminJob)
+                        .header("Authorization", "Bearer " + editorToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/clients/imports/{id}", adminJob)
+                        .header("Authorization", "Bearer " + editorToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/clients/imports")
+                        .header("Authorization", "Bearer " + editorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(editorJob)))
+                .andExpect(jsonPath("$[*].id", not(hasItem(adminJob))));
+        mockMvc.perform(get("/api/clients/imports")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(jsonPath("$[*].id", hasItems(editorJob, adminJob)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientResponseCacheTest {
+
+    private static MockHttpServletResponse write(ClientResponseCache cache, String key, String tag, Object body,
+                                                 AtomicInteger calls) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.write(key, tag, () -> {
+            calls.incrementAndGet();
+            return body;
+        }, new ServletWebRequest(new MockHttpServletRequest()), response);
+        return response;
+    }
+
+    @Test
+    void write_serializesOncePerTag() throws Exception {
+        ClientResponseCache cache = new ClientResponseCache(new ObjectMapper(), true, 1 << 20, true);
+        AtomicInteger calls = new AtomicInteger();
+
+        write(cache, "client:1", "\"a\"", Map.of("id", 1), calls);
+        MockHttpServletResponse hit = write(cache, "client:1", "\"a\"", Map.of("id", 1), calls);
+        assertThat(calls).hasValue(1);
+        assertThat(hit.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(hit.getContentLength()).isEqualTo(8);
+
+        write(cache, "client:1", "\"b\"", Map.of("id", 1), calls);
+        assertThat(calls).hasValue(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void entries_areBoundedByTotalBytes() throws Exception {
+        ClientResponseCache cache = new ClientResponseCache(new ObjectMapper(), true, 4_000, false);
+        String body = "x".repeat(900);
+        for (int i = 0; i < 20; i++) {
+            write(cache, "client:" + i, "\"t\"", List.of(body), new AtomicInteger());
+        }
+
+        assertThat(cache.bytes()).isBetween(900L, 4_000L);
+        assertThat(cache.size()).isBetween(1L, 4L);
+    }
+
+    @Test
+    void acceptsGzip_honoursZeroQuality() {
+        assertThat(ClientResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ClientResponseCache.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(ClientResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ClientResponseCache.acceptsGzip("deflate")).isFalse();
+        assertThat(ClientResponseCache.acceptsGzip(null)).isFalse();
+    }
+}
@@ -0,0 +1,75 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClientStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private String adminToken;
+
+    @BeforeEach
+    void loginAsAdmin() throws Exception {
+        var result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "email": "theWorldsBestBOSS@example.com"
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andReturn();
+        adminToken = mapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @Test
+    void stream_pushesCreatedClientAfterCommit() throws Exception {
+        MockHttpServletResponse stream = mockMvc.perform(get("/api/clients/stream")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        mockMvc.perform(post("/api/clients")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fullName": "Streamed Client", "email": "streamed@stream.test", "active": true}
+                                """))
+                .andExpect(status().isCreated());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!stream.getContentAsString().contains("event:created") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(stream.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(stream.getContentAsString())
+                .contains("event:ready")
+                .contains("event:created")
+                .contains("\"email\":\"streamed@stream.test\"");
+    }
+
+    @Test
+    void stream_requiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/clients/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isUnauthorized());
+    }
+}
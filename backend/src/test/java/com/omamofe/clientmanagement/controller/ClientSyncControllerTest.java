@@ -0,0 +1,131 @@
+package com.omamofe.clientmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.dto.UpdateClientDto;
+import com.omamofe.clientmanagement.service.ClientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClientSyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private ClientService clientService;
+
+    private String adminToken;
+
+    @BeforeEach
+    void loginAsAdmin() throws Exception {
+        var result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "email": "theWorldsBestBOSS@example.com"
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andReturn();
+        adminToken = mapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    private Long create(String name) {
+        CreateClientDto dto = new CreateClientDto();
+        dto.setFullName(name);
+        dto.setEmail(name.toLowerCase().replace(' ', '.') + "@sync.test");
+        dto.setActive(true);
+        return clientService.createClient(dto).getId();
+    }
+
+    private JsonNode changes(String since, int limit) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/clients/changes")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("limit", String.valueOf(limit));
+        if (since != null) request.param("since", since);
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(body);
+    }
+
+    /** Pages until caught up; returns the final token and collects what was seen. */
+    private String drain(String since, int limit, Set<Long> changed, List<Long> deleted) throws Exception {
+        JsonNode page;
+        do {
+            page = changes(since, limit);
+            page.get("changed").forEach(c -> changed.add(c.get("id").asLong()));
+            page.get("deleted").forEach(d -> deleted.add(d.asLong()));
+            since = page.get("next").asText();
+        } while (page.get("hasMore").asBoolean());
+        return since;
+    }
+
+    @Test
+    void changes_returnsOnlyWhatChangedSinceTheToken() throws Exception {
+        String token = drain(null, 100, new LinkedHashSet<>(), new ArrayList<>());
+
+        Long kept = create("Sync Kept");
+        Long edited = create("Sync Edited");
+        Long removed = create("Sync Removed");
+        UpdateClientDto update = new UpdateClientDto();
+        update.setFullName("Sync Edited Again");
+        update.setEmail("sync.edited@sync.test");
+        update.setActive(true);
+        clientService.updateClient(edited, update);
+        clientService.deleteClient(removed);
+
+        Set<Long> changed = new LinkedHashSet<>();
+        List<Long> deleted = new ArrayList<>();
+        String next = drain(token, 1, changed, deleted);
+
+        assertThat(changed).containsExactly(kept, edited);
+        assertThat(deleted).containsExactly(removed);
+
+        JsonNode caughtUp = changes(next, 10);
+        assertThat(caughtUp.get("changed")).isEmpty();
+        assertThat(caughtUp.get("deleted")).isEmpty();
+        assertThat(caughtUp.get("hasMore").asBoolean()).isFalse();
+        assertThat(caughtUp.get("next").asText()).isEqualTo(next);
+    }
+
+    @Test
+    void changes_fromTheStartIncludesEveryClient() throws Exception {
+        Long id = create("Sync Everyone");
+        Set<Long> changed = new LinkedHashSet<>();
+        drain(null, 50, changed, new ArrayList<>());
+
+        assertThat(changed).contains(id).hasSize(clientService.getAllClients().size());
+    }
+
+    @Test
+    void changes_rejectsForeignTokens() throws Exception {
+        mockMvc.perform(get("/api/clients/changes")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("since", "not-a-token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.startsWith("Invalid sync token")));
+    }
+}
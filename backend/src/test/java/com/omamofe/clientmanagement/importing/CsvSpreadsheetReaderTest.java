@@ -0,0 +1,39 @@
+package com.omamofe.clientmanagement.importing;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvSpreadsheetReaderTest {
+
+    private static CsvSpreadsheetReader reader(String csv) throws Exception {
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        return new CsvSpreadsheetReader(new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+    @Test
+    void readsQuotedFieldsWithDelimitersQuotesAndLineBreaks() throws Exception {
+        try (var reader = reader("fullName,details\r\n\"Doe, John\",\"says \"\"hi\"\"\nthen leaves\"\r\nJane,\n")) {
+            assertThat(reader.next()).isEqualTo(new SheetRow(1, List.of("fullName", "details")));
+            assertThat(reader.next()).isEqualTo(new SheetRow(2, List.of("Doe, John", "says \"hi\"\nthen leaves")));
+            assertThat(reader.next()).isEqualTo(new SheetRow(4, List.of("Jane", "")));
+            assertThat(reader.next()).isNull();
+            assertThat(reader.bytesRead()).isEqualTo(reader.bytesTotal());
+        }
+    }
+
+    @Test
+    void skipsBomAndBlankLinesAndDetectsSemicolons() throws Exception {
+        try (var reader = reader("\uFEFFfullName;email\n\nJohn;john@example.com")) {
+            assertThat(reader.next().cells()).containsExactly("fullName", "email");
+            SheetRow row = reader.next();
+            assertThat(row.number()).isEqualTo(3);
+            assertThat(row.cells()).containsExactly("John", "john@example.com");
+            assertThat(reader.next()).isNull();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.omamofe.clientmanagement.importing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XlsxSpreadsheetReaderTest {
+
+    @TempDir
+    Path dir;
+
+    /** Minimal workbook, laid out the way spreadsheet programs write it. */
+    static Path workbook(Path file, String sheetXml) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            put(zip, "xl/workbook.xml", """
+                    <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"
+                              xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">
+                      <sheets><sheet name="Clients" sheetId="1" r:id="rId7"/></sheets>
+                    </workbook>""");
+            put(zip, "xl/_rels/workbook.xml.rels", """
+                    <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+                      <Relationship Id="rId7" Type="worksheet" Target="worksheets/data.xml"/>
+                    </Relationships>""");
+            put(zip, "xl/sharedStrings.xml", """
+                    <sst xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">
+                      <si><t>fullName</t></si>
+                      <si><t>email</t></si>
+                      <si><r><t>Jo</t></r><r><t xml:space="preserve">hn Doe</t></r><rPh><t>ジョン</t></rPh></si>
+                    </sst>""");
+            put(zip, "xl/worksheets/data.xml", sheetXml);
+        }
+        return file;
+    }
+
+    private static void put(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    @Test
+    void readsSharedInlineAndBooleanCellsAndKeepsColumnPositions() throws Exception {
+        Path file = workbook(dir.resolve("clients.xlsx"), """
+                <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>
+                  <row r="1"><c r="A1" t="s"><v>0</v></c><c r="B1" t="s"><v>1</v></c><c r="D1" t="inlineStr"><is><t>active</t></is></c></row>
+                  <row r="2"><c r="A2"/></row>
+                  <row r="3"><c r="A3" t="s"><v>2</v></c><c r="B3" t="str"><f>LOWER("X")</f><v>john@example.com</v></c><c r="D3" t="b"><v>1</v></c></row>
+                  <row r="4"><c r="B4"><v>42</v></c></row>
+                </sheetData></worksheet>""");
+
+        try (var reader = new XlsxSpreadsheetReader(file)) {
+            assertThat(reader.next()).isEqualTo(new SheetRow(1, List.of("fullName", "email", "", "active")));
+            assertThat(reader.next()).isEqualTo(new SheetRow(3, List.of("John Doe", "john@example.com", "", "true")));
+            assertThat(reader.next()).isEqualTo(new SheetRow(4, List.of("", "42")));
+            assertThat(reader.next()).isNull();
+            assertThat(reader.bytesRead()).isEqualTo(reader.bytesTotal());
+        }
+    }
+
+    @Test
+    void columnIndexFromReference() {
+        assertThat(XlsxSpreadsheetReader.column("A1")).isZero();
+        assertThat(XlsxSpreadsheetReader.column("Z9")).isEqualTo(25);
+        assertThat(XlsxSpreadsheetReader.column("AB12")).isEqualTo(27);
+    }
+
+    @Test
+    void rejectsFilesThatAreNotWorkbooks() throws Exception {
+        Path file = Files.writeString(dir.resolve("clients.xlsx"), "fullName,email\n");
+
+        assertThatThrownBy(() -> new XlsxSpreadsheetReader(file)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.omamofe.clientmanagement.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClientChangeSequenceTest {
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final ClientChangeSequence sequence = new ClientChangeSequence(jdbc);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /** Takes {@code count} numbers inside a pretend transaction and returns its synchronizations. */
+    private List<TransactionSynchronization> openTransaction(int count) {
+        TransactionSynchronizationManager.initSynchronization();
+        for (int i = 0; i < count; i++) sequence.next();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        return synchronizations;
+    }
+
+    @Test
+    void continuesFromTheHighestStoredNumber() {
+        when(jdbc.queryForObject(anyString(), eq(Long.class))).thenReturn(40L, 42L);
+
+        assertThat(sequence.visibleThrough()).isEqualTo(42);
+        assertThat(sequence.next()).isEqualTo(43);
+        assertThat(sequence.visibleThrough()).isEqualTo(43);
+    }
+
+    @Test
+    void numbersHeldByOpenTransactionsAreNotVisibleYet() {
+        when(jdbc.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+
+        List<TransactionSynchronization> first = openTransaction(2);   // takes 1 and 2
+        List<TransactionSynchronization> second = openTransaction(1);  // takes 3
+        assertThat(sequence.visibleThrough()).isZero();
+
+        second.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(sequence.visibleThrough()).isZero();
+
+        first.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertThat(sequence.visibleThrough()).isEqualTo(3);
+    }
+}
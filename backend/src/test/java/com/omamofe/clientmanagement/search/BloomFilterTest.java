@@ -0,0 +1,24 @@
+package com.omamofe.clientmanagement.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void addedValuesAreAlwaysFound_absentOnesRarely() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.add("client" + i + "@example.com");
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("client" + i + "@example.com")).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) falsePositives++;
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.added()).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,71 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.entity.Client;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import com.omamofe.clientmanagement.service.ClientCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClientEmailFilterTest {
+
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private ClientEmailFilter filter;
+
+    @BeforeEach
+    void setup() {
+        filter = new ClientEmailFilter(clientRepository, mock(EntityManager.class),
+                mock(PlatformTransactionManager.class), mock(ClientCounter.class), true, 1024, 0.01);
+        when(clientRepository.streamAllOrderById()).thenReturn(Stream.empty());
+        filter.rebuild();
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuild_replaysEmailsPutWhileTheTableWasScanned() {
+        Client scanned = Client.builder().id(1L).fullName("Scanned").email("scanned@mail.test").build();
+        when(clientRepository.streamAllOrderById()).thenReturn(Stream.of(scanned)
+                .peek(c -> filter.put("late@mail.test")));
+
+        filter.rebuild();
+
+        assertThat(filter.mightContain("scanned@mail.test")).isTrue();
+        assertThat(filter.mightContain("late@mail.test")).isTrue();
+    }
+
+    @Test
+    void rebuild_carriesOverEmailsOfTransactionsStillOpen() {
+        TransactionSynchronizationManager.initSynchronization();
+        filter.put("open@mail.test");
+        assertThat(filter.mightContain("open@mail.test")).isTrue();
+
+        when(clientRepository.streamAllOrderById()).thenReturn(Stream.empty());
+        filter.rebuild();
+        assertThat(filter.mightContain("open@mail.test")).isTrue();
+
+        // Rolled back: the next rebuild no longer carries it.
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        when(clientRepository.streamAllOrderById()).thenReturn(Stream.empty());
+        filter.rebuild();
+        assertThat(filter.mightContain("open@mail.test")).isFalse();
+        assertThat(TransactionSynchronizationManager.getResource(filter)).isNull();
+    }
+}
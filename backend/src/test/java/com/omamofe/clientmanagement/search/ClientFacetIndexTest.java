@@ -0,0 +1,79 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.ClientFacetsDto;
+import com.omamofe.clientmanagement.dto.FacetCountDto;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ClientFacetIndexTest {
+
+    private ClientFacetIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ClientFacetIndex(
+                mock(ClientRepository.class),
+                mock(EntityManager.class),
+                mock(PlatformTransactionManager.class),
+                true);
+        index.onClientChanged(ClientChangedEvent.created(client(1L, true, "Lagos")));
+        index.onClientChanged(ClientChangedEvent.created(client(2L, true, "Abuja")));
+        index.onClientChanged(ClientChangedEvent.created(client(3L, false, "Lagos")));
+        index.onClientChanged(ClientChangedEvent.created(client(4L, null, null)));
+        index.onClientChanged(ClientChangedEvent.created(client(5L, false, "Kano")));
+    }
+
+    @Test
+    void counts_allClients_topLocationsByCountThenName() {
+        ClientFacetsDto facets = index.counts(2);
+
+        assertThat(facets.getTotal()).isEqualTo(5);
+        assertThat(facets.getActive()).isEqualTo(2);
+        assertThat(facets.getInactive()).isEqualTo(2);
+        assertThat(facets.getLocations()).containsExactly(
+                new FacetCountDto("Lagos", 2), new FacetCountDto("Abuja", 1));
+    }
+
+    @Test
+    void counts_overHitIds_ignoresUnknownIds() {
+        ClientFacetsDto facets = index.counts(List.of(2L, 3L, 99L), 10);
+
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.getActive()).isEqualTo(1);
+        assertThat(facets.getInactive()).isEqualTo(1);
+        assertThat(facets.getLocations()).extracting(FacetCountDto::getValue).containsExactly("Abuja", "Lagos");
+    }
+
+    @Test
+    void updatesAndDeletes_moveTheTotals() {
+        index.onClientChanged(ClientChangedEvent.updated(client(3L, true, "Abuja")));
+        index.onClientChanged(ClientChangedEvent.deleted(5L));
+
+        ClientFacetsDto facets = index.counts(10);
+        assertThat(facets.getTotal()).isEqualTo(4);
+        assertThat(facets.getActive()).isEqualTo(3);
+        assertThat(facets.getInactive()).isZero();
+        assertThat(facets.getLocations()).containsExactly(
+                new FacetCountDto("Abuja", 2), new FacetCountDto("Lagos", 1));
+    }
+
+    private static ClientDto client(Long id, Boolean active, String location) {
+        ClientDto dto = new ClientDto();
+        dto.setId(id);
+        dto.setFullName("Client " + id);
+        dto.setEmail("client" + id + "@facets.test");
+        dto.setActive(active);
+        dto.setLocation(location);
+        return dto;
+    }
+}
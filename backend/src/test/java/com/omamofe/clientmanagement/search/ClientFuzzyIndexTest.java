@@ -0,0 +1,84 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ClientFuzzyIndexTest {
+
+    private ClientFuzzyIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ClientFuzzyIndex(
+                mock(ClientRepository.class),
+                mock(EntityManager.class),
+                mock(PlatformTransactionManager.class),
+                true);
+        index.onClientChanged(ClientChangedEvent.created(client(1L, "John Wick", "john@wick.com")));
+        index.onClientChanged(ClientChangedEvent.created(client(2L, "Jonathan Snow", "jonathan@snow.com")));
+        index.onClientChanged(ClientChangedEvent.created(client(3L, "Katherine Johnson", "kj@nasa.gov")));
+    }
+
+    @Test
+    void distance_countsTranspositionAsOneEdit() {
+        assertThat(ClientFuzzyIndex.distance("jhon", "john", 2)).isEqualTo(1);
+        assertThat(ClientFuzzyIndex.distance("katherine", "kathrine", 2)).isEqualTo(1);
+        assertThat(ClientFuzzyIndex.distance("wick", "snow", 2)).isEqualTo(3);
+    }
+
+    @Test
+    void search_transposedLetters_findsClient() {
+        assertThat(index.search("jhon", 10)).extracting(SearchHit::id).containsExactly(1L);
+    }
+
+    @Test
+    void search_twoEditsOnLongTerm_findsClient() {
+        assertThat(index.search("jonatan snoww", 10)).extracting(SearchHit::id).containsExactly(2L);
+        assertThat(index.search("catherin", 10)).extracting(SearchHit::id).containsExactly(3L);
+    }
+
+    @Test
+    void search_exactMatchRanksAboveNearMatch() {
+        index.onClientChanged(ClientChangedEvent.created(client(4L, "Jon Doe", "doe@example.com")));
+
+        assertThat(index.search("john", 10)).extracting(SearchHit::id).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void search_shortTermsMustMatchExactly() {
+        assertThat(index.search("kj", 10)).extracting(SearchHit::id).containsExactly(3L);
+        assertThat(index.search("kk", 10)).isEmpty();
+    }
+
+    @Test
+    void search_reportsMatchedTokenOffsets() {
+        var hit = index.search("wik", 10).getFirst();
+
+        assertThat(hit.matches()).containsExactly(
+                new MatchSpan("fullName", 5, 9),
+                new MatchSpan("email", 5, 9));
+    }
+
+    @Test
+    void deletedClients_areNoLongerFound() {
+        index.onClientChanged(ClientChangedEvent.deleted(1L));
+
+        assertThat(index.search("jhon", 10)).isEmpty();
+    }
+
+    private static ClientDto client(Long id, String name, String email) {
+        ClientDto dto = new ClientDto();
+        dto.setId(id);
+        dto.setFullName(name);
+        dto.setEmail(email);
+        return dto;
+    }
+}
@@ -0,0 +1,103 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ClientSearchIndexTest {
+
+    private ClientSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ClientSearchIndex(
+                mock(ClientRepository.class),
+                mock(EntityManager.class),
+                mock(PlatformTransactionManager.class),
+                "index");
+        index.onClientChanged(ClientChangedEvent.created(client(1L, "John Wick", "john@wick.com", "New York, USA",
+                "Highly skilled assassin")));
+        index.onClientChanged(ClientChangedEvent.created(client(2L, "John Snow", "john@snow.com", "Winterfell",
+                "Military commander")));
+        index.onClientChanged(ClientChangedEvent.created(client(3L, "Jane Doe", "jane@doe.com", "York",
+                "Knows John personally")));
+    }
+
+    @Test
+    void search_infixTermInName_matchesLikeContains() {
+        assertThat(index.search("ohn", 10)).extracting(SearchHit::id).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void search_ranksNameMatchesAboveDetailsMatches() {
+        var hits = index.search("john", 10);
+
+        assertThat(hits).extracting(SearchHit::id).containsExactly(1L, 2L, 3L);
+        assertThat(hits.get(2).matches()).containsExactly(new MatchSpan("details", 6, 10));
+    }
+
+    @Test
+    void search_allTermsMustMatch() {
+        assertThat(index.search("john york", 10)).extracting(SearchHit::id).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void search_shortTermMatchesInsideShortFieldsLikeTheDatabaseSearch() {
+        assertThat(index.search("wi", 10)).extracting(SearchHit::id).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("ic", 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("e", 10)).extracting(SearchHit::id).containsExactlyInAnyOrder(1L, 2L, 3L);
+        // details still match at word starts only: "personally" is not found by "rs".
+        assertThat(index.search("rs", 10)).isEmpty();
+    }
+
+    @Test
+    void search_returnsOffsetsIntoOriginalValues() {
+        var hit = index.search("snow", 10).getFirst();
+
+        assertThat(hit.id()).isEqualTo(2L);
+        assertThat(hit.matches()).contains(
+                new MatchSpan("fullName", 5, 9),
+                new MatchSpan("email", 5, 9));
+    }
+
+    @Test
+    void updatesAndDeletes_areReflected() {
+        index.onClientChanged(ClientChangedEvent.updated(client(2L, "Jon Snow", "jon@snow.com", "Winterfell", null)));
+        index.onClientChanged(ClientChangedEvent.deleted(1L));
+
+        assertThat(index.search("john", 10)).extracting(SearchHit::id).containsExactly(3L);
+        assertThat(index.search("jon", 10)).extracting(SearchHit::id).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void disabled_ignoresWritesAndIsNeverReady() {
+        var disabled = new ClientSearchIndex(
+                mock(ClientRepository.class),
+                mock(EntityManager.class),
+                mock(PlatformTransactionManager.class),
+                "database");
+        disabled.onClientChanged(ClientChangedEvent.created(client(1L, "John", "j@x.com", null, null)));
+
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.size()).isZero();
+    }
+
+    private static ClientDto client(Long id, String name, String email, String location, String details) {
+        ClientDto dto = new ClientDto();
+        dto.setId(id);
+        dto.setFullName(name);
+        dto.setEmail(email);
+        dto.setLocation(location);
+        dto.setDetails(details);
+        dto.setActive(true);
+        return dto;
+    }
+}
@@ -0,0 +1,82 @@
+package com.omamofe.clientmanagement.search;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.ClientSuggestionDto;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ClientSuggestIndexTest {
+
+    private ClientSuggestIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ClientSuggestIndex(
+                mock(ClientRepository.class),
+                mock(EntityManager.class),
+                mock(PlatformTransactionManager.class),
+                true);
+        index.onClientChanged(ClientChangedEvent.created(client(1L, "John Wick", "John W.", "john@wick.com", true)));
+        index.onClientChanged(ClientChangedEvent.created(client(2L, "John Snow", null, "jsnow@north.org", true)));
+        index.onClientChanged(ClientChangedEvent.created(client(3L, "Johanna Mason", "Jo", "jo@d12.gov", false)));
+        index.onClientChanged(ClientChangedEvent.created(client(4L, "Jane Doe", "Jane", "jane@doe.com", true)));
+    }
+
+    @Test
+    void suggest_prefixOfName_returnsActiveClientsFirstThenByLabel() {
+        assertThat(index.suggest("jo", 10)).extracting(ClientSuggestionDto::getId).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void suggest_usesDisplayNameAndFallsBackToFullName() {
+        assertThat(index.suggest("john", 10)).extracting(ClientSuggestionDto::getDisplayName)
+                .containsExactly("John Snow", "John W.");
+    }
+
+    @Test
+    void suggest_matchesLaterWordsAndEmails() {
+        assertThat(index.suggest("wi", 10)).extracting(ClientSuggestionDto::getId).containsExactly(1L);
+        assertThat(index.suggest("jsnow@", 10)).extracting(ClientSuggestionDto::getId).containsExactly(2L);
+    }
+
+    @Test
+    void suggest_prefixEndingInsideCompressedEdge() {
+        assertThat(index.suggest("johan", 10)).extracting(ClientSuggestionDto::getId).containsExactly(3L);
+        assertThat(index.suggest("johnx", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_respectsLimitAndMaximum() {
+        for (long id = 10; id < 40; id++) {
+            index.onClientChanged(ClientChangedEvent.created(client(id, "Jo " + id, null, "jo" + id + "@x.com", true)));
+        }
+        assertThat(index.suggest("jo", 3)).hasSize(3);
+        assertThat(index.suggest("jo", 100)).hasSize(ClientSuggestIndex.MAX_SUGGESTIONS);
+    }
+
+    @Test
+    void updatesAndDeletes_refreshCachedTops() {
+        index.onClientChanged(ClientChangedEvent.updated(client(1L, "Bob Wick", "Bob", "bob@wick.com", true)));
+        index.onClientChanged(ClientChangedEvent.deleted(2L));
+
+        assertThat(index.suggest("jo", 10)).extracting(ClientSuggestionDto::getId).containsExactly(3L);
+        assertThat(index.suggest("b", 10)).extracting(ClientSuggestionDto::getDisplayName).containsExactly("Bob");
+    }
+
+    private static ClientDto client(Long id, String name, String display, String email, boolean active) {
+        ClientDto dto = new ClientDto();
+        dto.setId(id);
+        dto.setFullName(name);
+        dto.setDisplayName(display);
+        dto.setEmail(email);
+        dto.setActive(active);
+        return dto;
+    }
+}
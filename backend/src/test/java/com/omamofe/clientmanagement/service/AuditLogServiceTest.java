@@ -0,0 +1,135 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.dto.AuditLogDto;
+import com.omamofe.clientmanagement.dto.AuditLogFilterDto;
+import com.omamofe.clientmanagement.dto.AuditLogPageDto;
+import com.omamofe.clientmanagement.entity.AuditLog;
+import com.omamofe.clientmanagement.exception.InvalidCursorException;
+import com.omamofe.clientmanagement.repository.AuditLogRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AuditLogServiceTest {
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogWriter writer;
+
+    @Autowired
+    private AuditLogRepository auditRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long countOf(String entityType) {
+        return auditRepo.findAll().stream().filter(log -> log.getEntityType().equals(entityType)).count();
+    }
+
+    @Test
+    void asyncRecords_areWrittenAfterCommitInJdbcBatches() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Long> ids = LongStream.rangeClosed(1, 250).boxed().toList();
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = stats.getPrepareStatementCount();
+
+        tx.executeWithoutResult(status -> {
+            auditLogService.recordAll("UPDATE", "AUDIT_BATCH", ids);
+            auditLogService.record("DELETE", "AUDIT_BATCH", 251L);
+            assertThat(countOf("AUDIT_BATCH")).isZero();
+        });
+        assertThat(writer.awaitFlushed(Duration.ofSeconds(10))).isTrue();
+
+        List<AuditLog> written = auditRepo.findAll().stream()
+                .filter(log -> log.getEntityType().equals("AUDIT_BATCH"))
+                .toList();
+        assertThat(written).hasSize(251);
+        assertThat(written).allSatisfy(log -> assertThat(log.getTimestamp()).isNotNull());
+        // 251 rows: batched inserts plus sequence calls, nowhere near one statement per row.
+        assertThat(stats.getPrepareStatementCount() - statementsBefore).isLessThan(20);
+    }
+
+    @Test
+    void asyncRecords_areDroppedOnRollback() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> {
+            auditLogService.record("CREATE", "AUDIT_ROLLBACK", 1L);
+            status.setRollbackOnly();
+        });
+        assertThat(writer.awaitFlushed(Duration.ofSeconds(10))).isTrue();
+
+        assertThat(countOf("AUDIT_ROLLBACK")).isZero();
+    }
+
+    @Test
+    void getLogs_pagesNewestFirstWithFilters() {
+        Instant start = Instant.now();
+        auditLogService.recordAll("UPDATE", "AUDIT_PAGE", List.of(1L, 2L, 3L, 4L, 5L));
+        auditLogService.record("DELETE", "AUDIT_PAGE", 3L);
+        assertThat(writer.awaitFlushed(Duration.ofSeconds(10))).isTrue();
+
+        AuditLogFilterDto filter = new AuditLogFilterDto(null, "audit_page", null, null, start, null);
+        List<AuditLogDto> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            AuditLogPageDto page = auditLogService.getLogs(filter, after, 2);
+            seen.addAll(page.getItems());
+            after = page.getNextCursor();
+            pages++;
+        } while (after != null);
+
+        assertThat(seen).hasSize(6);
+        assertThat(pages).isEqualTo(4); // the last page comes back empty
+        assertThat(seen).extracting(AuditLogDto::getId).doesNotHaveDuplicates();
+        assertThat(seen).isSortedAccordingTo((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()) != 0
+                ? b.getTimestamp().compareTo(a.getTimestamp())
+                : Long.compare(b.getId(), a.getId()));
+        assertThat(seen.getFirst().getAction()).isEqualTo("DELETE");
+
+        AuditLogFilterDto deletes = new AuditLogFilterDto("delete", "AUDIT_PAGE", null, null, null, null);
+        assertThat(auditLogService.getLogs(deletes, null, null).getItems()).hasSize(1);
+
+        assertThat(auditLogService.getEntityHistory("audit_page", 3L, null, null).getItems())
+                .extracting(AuditLogDto::getAction)
+                .containsExactly("DELETE", "UPDATE");
+        assertThatThrownBy(() -> auditLogService.getLogs(filter, "not-a-cursor", 2))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void entityHistory_usesEntityIndex() {
+        String plan = jdbcTemplate.queryForObject("""
+                explain select * from audit_logs
+                where entity_type = 'CLIENT' and entity_id = 1
+                order by "TIMESTAMP" desc, id desc
+                """, String.class);
+
+        assertThat(plan).containsIgnoringCase("idx_audit_logs_entity");
+    }
+}
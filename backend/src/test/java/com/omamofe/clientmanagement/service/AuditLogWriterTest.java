@@ -0,0 +1,170 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.entity.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogWriterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<List<Long>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> writerThreads = Collections.synchronizedList(new ArrayList<>());
+    private AuditLogWriter writer;
+
+    private final Consumer<List<AuditLog>> sink = entries -> {
+        batches.add(entries.stream().map(AuditLog::getEntityId).toList());
+        writerThreads.add(Thread.currentThread().getName());
+    };
+
+    private AuditLogWriter start(int capacity, int batchSize, Duration interval, String overflow,
+                                 Consumer<List<AuditLog>> sink) {
+        writer = new AuditLogWriter(registry, true, capacity, batchSize, interval, overflow, sink);
+        writer.start();
+        return writer;
+    }
+
+    private static List<AuditLog> entries(long from, long to) {
+        return LongStream.range(from, to)
+                .mapToObj(id -> AuditLog.builder().action("UPDATE").entityType("CLIENT").entityId(id).build())
+                .toList();
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (writer != null) writer.shutdown();
+    }
+
+    @Test
+    void submit_writesFullBatchesOnTheWriterThread() {
+        start(1024, 10, Duration.ofMinutes(1), "block", sink);
+
+        writer.submit(entries(0, 25));
+        assertThat(writer.awaitFlushed(Duration.ofSeconds(5))).isTrue();
+
+        assertThat(batches.stream().flatMap(List::stream)).containsExactlyElementsOf(
+                LongStream.range(0, 25).boxed().toList());
+        assertThat(batches.stream().mapToInt(List::size).max().orElse(0)).isLessThanOrEqualTo(10);
+        assertThat(writerThreads).containsOnly("audit-writer");
+        assertThat(registry.get("audit.flush").timer().count()).isEqualTo(batches.size());
+        assertThat(registry.get("audit.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void submit_writesPartialBatchAfterFlushInterval() throws InterruptedException {
+        start(1024, 100, Duration.ofMillis(50), "block", sink);
+
+        writer.submit(entries(0, 3));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batches.isEmpty() && System.nanoTime() < deadline) Thread.sleep(10);
+
+        assertThat(batches).containsExactly(List.of(0L, 1L, 2L));
+    }
+
+    @Test
+    void submit_insideTransaction_waitsForCommit() {
+        start(1024, 1, Duration.ofMillis(10), "block", sink);
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.submit(entries(0, 2));
+        assertThat(writer.awaitFlushed(Duration.ofSeconds(1))).isTrue();
+        assertThat(batches).isEmpty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(writer.awaitFlushed(Duration.ofSeconds(5))).isTrue();
+
+        assertThat(batches.stream().flatMap(List::stream)).containsExactly(0L, 1L);
+    }
+
+    @Test
+    void overflow_dropOrCallerRuns_whenWriterIsStuck() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Consumer<List<AuditLog>> stuck = entries -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sink.accept(entries);
+        };
+
+        start(4, 1, Duration.ofMillis(1), "drop", stuck);
+        writer.submit(entries(0, 20));
+        release.countDown();
+        assertThat(writer.awaitFlushed(Duration.ofSeconds(5))).isTrue();
+        double dropped = registry.get("audit.dropped").counter().count();
+        assertThat(dropped).isPositive();
+        assertThat(batches.stream().mapToInt(List::size).sum() + dropped).isEqualTo(20);
+        writer.shutdown();
+
+        batches.clear();
+        writerThreads.clear();
+        CountDownLatch releaseAgain = new CountDownLatch(1);
+        start(4, 1, Duration.ofMillis(1), "caller-runs", entries -> {
+            if (Thread.currentThread().getName().equals("audit-writer")) {
+                try {
+                    releaseAgain.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sink.accept(entries);
+        });
+        writer.submit(entries(0, 20));
+        assertThat(writerThreads).contains(Thread.currentThread().getName());
+        releaseAgain.countDown();
+        assertThat(writer.awaitFlushed(Duration.ofSeconds(5))).isTrue();
+        assertThat(batches.stream().flatMap(List::stream)).containsExactlyInAnyOrderElementsOf(
+                LongStream.range(0, 20).boxed().toList());
+    }
+
+    @Test
+    void sinkThrowingAnError_keepsTheWriterRunning() {
+        List<Long> failed = Collections.synchronizedList(new ArrayList<>());
+        start(2, 1, Duration.ofMillis(1), "block", entries -> {
+            if (entries.getFirst().getEntityId() == 0L) {
+                failed.add(0L);
+                throw new StackOverflowError();
+            }
+            sink.accept(entries);
+        });
+
+        writer.submit(entries(0, 10));
+        assertThat(writer.awaitFlushed(Duration.ofSeconds(5))).isTrue();
+
+        assertThat(failed).containsExactly(0L);
+        assertThat(batches.stream().flatMap(List::stream)).containsExactlyElementsOf(
+                LongStream.range(1, 10).boxed().toList());
+        assertThat(writerThreads).containsOnly("audit-writer");
+        assertThat(registry.get("audit.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shutdown_writesWhatIsQueued() throws InterruptedException {
+        start(1024, 1000, Duration.ofMinutes(1), "block", sink);
+
+        writer.submit(entries(0, 7));
+        writer.shutdown();
+        writer = null;
+
+        assertThat(batches.stream().flatMap(List::stream)).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L);
+    }
+}
@@ -0,0 +1,75 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.entity.AuditLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    private static AuditLog entry(long id) {
+        return AuditLog.builder().action("CREATE").entityType("CLIENT").entityId(id).build();
+    }
+
+    @Test
+    void offer_refusesWhenFullAndKeepsOrder() {
+        AuditRingBuffer buffer = new AuditRingBuffer(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+
+        for (long i = 0; i < 4; i++) assertThat(buffer.offer(entry(i))).isTrue();
+        assertThat(buffer.offer(entry(4))).isFalse();
+
+        List<AuditLog> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(buffer.offer(entry(4))).isTrue();
+        buffer.drainTo(drained, 10);
+
+        assertThat(drained).extracting(AuditLog::getEntityId).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.offered()).isEqualTo(5);
+    }
+
+    @Test
+    void concurrentProducers_loseNothing() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(256);
+        int producers = 4;
+        int perProducer = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                long base = (long) p * perProducer;
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(entry(base + i))) Thread.onSpinWait();
+                    }
+                });
+            }
+            start.countDown();
+
+            Set<Long> seen = new HashSet<>();
+            List<AuditLog> drained = new ArrayList<>();
+            int duplicates = 0;
+            while (seen.size() < producers * perProducer) {
+                drained.clear();
+                if (buffer.drainTo(drained, 64) == 0) Thread.onSpinWait();
+                for (AuditLog log : drained) if (!seen.add(log.getEntityId())) duplicates++;
+            }
+            assertThat(duplicates).isZero();
+        }
+        assertThat(buffer.size()).isZero();
+    }
+}
@@ -0,0 +1,278 @@
+package com.omamofe.clientmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omamofe.clientmanagement.dto.BulkChangeResultDto;
+import com.omamofe.clientmanagement.dto.BulkCreateResultDto;
+import com.omamofe.clientmanagement.dto.BulkDeleteClientsDto;
+import com.omamofe.clientmanagement.dto.BulkUpdateClientsDto;
+import com.omamofe.clientmanagement.dto.ClientFilterDto;
+import com.omamofe.clientmanagement.dto.UpdateClientDto;
+import com.omamofe.clientmanagement.entity.Client;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.exception.InvalidBulkRequestException;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import com.omamofe.clientmanagement.search.ClientEmailFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ClientBulkServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private ClientEmailFilter emailFilter;
+
+    private ClientBulkService bulkService;
+
+    // Clients "in the table" by email key, and what the email filter has been told.
+    private final Map<String, Client> stored = new HashMap<>();
+    private final Set<String> knownEmails = new HashSet<>();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        AtomicLong ids = new AtomicLong();
+        doAnswer(inv -> {
+            Client client = inv.getArgument(0);
+            client.setId(ids.incrementAndGet());
+            stored.put(Client.emailKey(client.getEmail()), client);
+            return null;
+        }).when(entityManager).persist(any(Client.class));
+        when(clientRepository.findByEmailKeyIn(any())).thenAnswer(inv -> inv.<List<String>>getArgument(0).stream()
+                .map(stored::get).filter(Objects::nonNull).toList());
+        doAnswer(inv -> knownEmails.add(inv.getArgument(0))).when(emailFilter).put(any());
+        when(emailFilter.mightContain(any())).thenAnswer(inv -> knownEmails.contains(inv.<String>getArgument(0)));
+        bulkService = new ClientBulkService(entityManager, clientRepository, auditLogService, events, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), emailFilter, 2);
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void createAll_insertsValidRowsAndReportsInvalidOnes() throws Exception {
+        BulkCreateResultDto result = bulkService.createAll(json("""
+                [
+                  {"fullName": "John Doe", "email": "john@example.com"},
+                  {"fullName": "", "email": "not-an-email"},
+                  {"fullName": "Jane Doe", "email": "jane@example.com", "active": "maybe"},
+                  {"fullName": "Jane Doe", "email": "jane@example.com", "active": false},
+                  null
+                ]
+                """));
+
+        assertThat(result.getReceived()).isEqualTo(5);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getIds()).containsExactly(1L, 2L);
+        assertThat(result.getErrors()).extracting("index").containsExactly(1, 2, 4);
+        assertThat(result.getErrors().get(0).getErrors()).containsOnlyKeys("fullName", "email");
+        assertThat(result.getErrors().get(1).getErrors()).containsOnlyKeys("active");
+        verify(events, times(2)).publishEvent(any(ClientChangedEvent.class));
+    }
+
+    @Test
+    void createAll_flushesAndAuditsOncePerChunk() throws Exception {
+        bulkService.createAll(json("""
+                [
+                  {"fullName": "A", "email": "a@example.com"},
+                  {"fullName": "B", "email": "b@example.com"},
+                  {"fullName": "C", "email": "c@example.com"}
+                ]
+                """));
+
+        InOrder order = inOrder(entityManager, auditLogService);
+        order.verify(auditLogService).recordAll("CREATE", "CLIENT", List.of(1L, 2L));
+        order.verify(entityManager).flush();
+        order.verify(entityManager).clear();
+        order.verify(auditLogService).recordAll("CREATE", "CLIENT", List.of(3L));
+        order.verify(entityManager).flush();
+        order.verify(entityManager).clear();
+    }
+
+    @Test
+    void createAll_rejectsBodiesThatAreNotAnArray() {
+        assertThatThrownBy(() -> bulkService.createAll(json("{\"fullName\": \"John\"}")))
+                .isInstanceOf(InvalidBulkRequestException.class);
+        assertThatThrownBy(() -> bulkService.createAll(json("[{\"fullName\": \"John\"}")))
+                .isInstanceOf(InvalidBulkRequestException.class);
+        verifyNoInteractions(auditLogService);
+    }
+
+    private Client existing(long id, String name, String email) {
+        Client client = Client.builder().id(id).fullName(name).email(email).active(true).version(3L).build();
+        stored.put(Client.emailKey(email), client);
+        knownEmails.add(Client.emailKey(email));
+        return client;
+    }
+
+    @Test
+    void createAll_upsert_updatesKnownEmailsAndLooksUpOnlyWhatTheFilterMightKnow() throws Exception {
+        Client john = existing(40L, "John Doe", "John@Example.com");
+
+        BulkCreateResultDto result = bulkService.createAll(json("""
+                [
+                  {"fullName": "John Renamed", "email": "john@example.com"},
+                  {"fullName": "Jane Doe", "email": "jane@example.com"},
+                  {"fullName": "John Renamed", "email": "JOHN@example.com"}
+                ]
+                """), BulkWriteMode.UPSERT);
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getUnchanged()).isZero();
+        assertThat(result.getIds()).containsExactly(1L);
+        assertThat(john.getFullName()).isEqualTo("John Renamed");
+        verify(clientRepository, times(2)).findByEmailKeyIn(List.of("john@example.com"));
+        verify(clientRepository, never()).findByEmailKeyIn(List.of("jane@example.com"));
+        verify(emailFilter).put("jane@example.com");
+        verify(auditLogService, times(2)).recordAll("UPDATE", "CLIENT", List.of(40L));
+        verify(auditLogService).recordAll("CREATE", "CLIENT", List.of(1L));
+    }
+
+    @Test
+    void createAll_upsert_countsIdenticalRowsAsUnchanged() throws Exception {
+        Client john = existing(40L, "John Doe", "john@example.com");
+
+        BulkCreateResultDto result = bulkService.createAll(json("""
+                [{"fullName": "John Doe", "email": "john@example.com"}]
+                """), BulkWriteMode.UPSERT);
+
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        assertThat(result.getCreated() + result.getUpdated()).isZero();
+        verifyNoInteractions(auditLogService, events);
+        verify(entityManager, never()).flush();
+    }
+
+    @Test
+    void createAll_createMode_reportsTakenAndRepeatedEmails() throws Exception {
+        Client john = existing(40L, "John Doe", "john@example.com");
+
+        BulkCreateResultDto result = bulkService.createAll(json("""
+                [
+                  {"fullName": "John Again", "email": "john@example.com"},
+                  {"fullName": "Jane Doe", "email": "jane@example.com"},
+                  {"fullName": "Jane Twice", "email": "Jane@Example.com"}
+                ]
+                """));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        // Row 2 repeats row 1's email in a later chunk; it is found through the lookup too.
+        assertThat(result.getErrors()).extracting("index").containsExactly(0, 2);
+        assertThat(result.getErrors()).allSatisfy(e -> assertThat(e.getErrors()).containsOnlyKeys("email"));
+        assertThat(john.getFullName()).isEqualTo("John Doe");
+    }
+
+    private static Client client(long id) {
+        return Client.builder().id(id).fullName("Client " + id).email(id + "@example.com").active(false).version(1L).build();
+    }
+
+    @Test
+    void updateAll_runsOneStatementAndOneAuditBatchPerChunk() {
+        BulkUpdateClientsDto request = new BulkUpdateClientsDto();
+        request.setIds(List.of(3L, 1L, 2L, 3L));
+        UpdateClientDto patch = new UpdateClientDto();
+        patch.setActive(false);
+        request.setPatch(patch);
+        when(clientRepository.updateAll(any(), any())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).size());
+        when(clientRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(client(1), client(2)));
+        when(clientRepository.findAllById(List.of(3L))).thenReturn(List.of(client(3)));
+
+        BulkChangeResultDto result = bulkService.updateAll(request);
+
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getAffected()).isEqualTo(3);
+        verify(clientRepository).updateAll(List.of(1L, 2L), Map.of("active", false));
+        verify(clientRepository).updateAll(List.of(3L), Map.of("active", false));
+        verify(auditLogService).recordAll("UPDATE", "CLIENT", List.of(1L, 2L));
+        verify(auditLogService).recordAll("UPDATE", "CLIENT", List.of(3L));
+        verify(events, times(3)).publishEvent(any(ClientChangedEvent.class));
+    }
+
+    @Test
+    void updateAll_rejectsUnusableRequests() {
+        UpdateClientDto email = new UpdateClientDto();
+        email.setEmail("same@example.com");
+        BulkUpdateClientsDto request = new BulkUpdateClientsDto();
+        request.setIds(List.of(1L));
+        request.setPatch(email);
+        assertThatThrownBy(() -> bulkService.updateAll(request)).isInstanceOf(InvalidBulkRequestException.class);
+
+        request.setPatch(new UpdateClientDto());
+        assertThatThrownBy(() -> bulkService.updateAll(request)).isInstanceOf(InvalidBulkRequestException.class);
+
+        UpdateClientDto active = new UpdateClientDto();
+        active.setActive(true);
+        request.setPatch(active);
+        request.setFilter(new ClientFilterDto(true, null, null));
+        assertThatThrownBy(() -> bulkService.updateAll(request)).isInstanceOf(InvalidBulkRequestException.class);
+
+        request.setIds(null);
+        request.setFilter(new ClientFilterDto());
+        assertThatThrownBy(() -> bulkService.updateAll(request)).isInstanceOf(InvalidBulkRequestException.class);
+        verifyNoInteractions(clientRepository, auditLogService);
+    }
+
+    @Test
+    void deleteAll_byFilter_deletesMatchedIdsInChunks() {
+        BulkDeleteClientsDto request = new BulkDeleteClientsDto();
+        request.setFilter(new ClientFilterDto(false, " Lagos ", null));
+        when(clientRepository.findIdsMatching(false, "lagos", null)).thenReturn(List.of(4L, 5L, 6L));
+        when(clientRepository.deleteAllWithIds(any())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).size());
+
+        BulkChangeResultDto result = bulkService.deleteAll(request);
+
+        assertThat(result.getAffected()).isEqualTo(3);
+        verify(clientRepository).deleteAllWithIds(List.of(4L, 5L));
+        verify(clientRepository).deleteAllWithIds(List.of(6L));
+        verify(auditLogService).recordAll("DELETE", "CLIENT", List.of(4L, 5L));
+        verify(auditLogService).recordAll("DELETE", "CLIENT", List.of(6L));
+        verify(events).publishEvent(ClientChangedEvent.deleted(6L));
+    }
+
+    @Test
+    void deleteAll_byIds_skipsIdsThatDoNotExist() {
+        BulkDeleteClientsDto request = new BulkDeleteClientsDto();
+        request.setIds(List.of(7L, 8L));
+        when(clientRepository.findExistingIds(List.of(7L, 8L))).thenReturn(List.of(8L));
+        when(clientRepository.deleteAllWithIds(List.of(8L))).thenReturn(1);
+
+        BulkChangeResultDto result = bulkService.deleteAll(request);
+
+        assertThat(result.getRequested()).isEqualTo(2);
+        assertThat(result.getAffected()).isEqualTo(1);
+        verify(auditLogService).recordAll("DELETE", "CLIENT", List.of(8L));
+        verify(events, times(1)).publishEvent(any(ClientChangedEvent.class));
+    }
+}
@@ -0,0 +1,170 @@
+package com.omamofe.clientmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientChangeStreamTest {
+
+    /** Holds drain tasks until {@link #runAll()}, standing in for a subscriber that reads slowly. */
+    private static final class ManualExecutor extends AbstractExecutorService {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) task.run();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    /** Keeps the raw text of every event sent instead of writing it to a response. */
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> sent = new ArrayList<>();
+        boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) throw new IOException("Broken pipe");
+            sent.add(builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+        }
+
+        List<String> names() {
+            return sent.stream()
+                    .flatMap(text -> text.lines().filter(line -> line.startsWith("event:")).map(line -> line.substring(6)))
+                    .toList();
+        }
+    }
+
+    private final ManualExecutor executor = new ManualExecutor();
+    private final ClientChangeStream stream = new ClientChangeStream(new ObjectMapper(), new SimpleMeterRegistry(),
+            3, Duration.ofMinutes(1), executor);
+
+    private static ClientDto client(long id) {
+        ClientDto dto = new ClientDto();
+        dto.setId(id);
+        dto.setFullName("Client " + id);
+        return dto;
+    }
+
+    @Test
+    void committedWritesArriveInOrderWithSequenceIds() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.register(emitter, null);
+
+        stream.onClientChanged(ClientChangedEvent.created(client(1)));
+        stream.onClientChanged(ClientChangedEvent.deleted(1L));
+        executor.runAll();
+
+        assertThat(emitter.names()).containsExactly("ready", "created", "deleted");
+        assertThat(emitter.sent.get(1)).contains("id:1\n").contains("\"fullName\":\"Client 1\"");
+        assertThat(emitter.sent.get(2)).contains("id:2\n").contains("data:{\"id\":1}");
+    }
+
+    @Test
+    void slowSubscriberIsToldToResyncInsteadOfBufferingWithoutBound() {
+        RecordingEmitter slow = new RecordingEmitter();
+        stream.register(slow, null);
+        executor.runAll();
+
+        for (long id = 1; id <= 10; id++) stream.onClientChanged(ClientChangedEvent.updated(client(id)));
+        executor.runAll();
+        stream.onClientChanged(ClientChangedEvent.updated(client(11)));
+        executor.runAll();
+
+        assertThat(slow.names()).containsExactly("ready", "resync", "updated");
+        assertThat(slow.sent.get(2)).contains("id:11\n");
+    }
+
+    @Test
+    void reconnectWithStaleLastEventIdStartsWithResync() {
+        stream.register(new RecordingEmitter(), null);
+        stream.onClientChanged(ClientChangedEvent.created(client(1)));
+        stream.onClientChanged(ClientChangedEvent.created(client(2)));
+
+        RecordingEmitter upToDate = new RecordingEmitter();
+        RecordingEmitter behind = new RecordingEmitter();
+        stream.register(upToDate, "2");
+        stream.register(behind, "1");
+        executor.runAll();
+
+        assertThat(upToDate.names()).containsExactly("ready");
+        assertThat(behind.names()).containsExactly("resync");
+    }
+
+    @Test
+    void writesWithNobodyConnectedStillMakeAReconnectResync() {
+        // A client last saw event 0, then went away: nobody is subscribed while these commit.
+        assertThat(stream.subscriberCount()).isZero();
+        stream.onClientChanged(ClientChangedEvent.created(client(1)));
+        stream.onClientChanged(ClientChangedEvent.updated(client(1)));
+
+        RecordingEmitter reconnected = new RecordingEmitter();
+        stream.register(reconnected, "0");
+        executor.runAll();
+
+        assertThat(reconnected.names()).containsExactly("resync");
+        assertThat(reconnected.sent.getFirst()).contains("id:2\n");
+    }
+
+    @Test
+    void heartbeatsOnlyGoToIdleSubscribersAndClosedOnesAreDropped() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.register(emitter, null);
+        stream.heartbeat();
+        executor.runAll();
+        stream.heartbeat();
+        executor.runAll();
+
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(emitter.sent.get(1)).startsWith(":keep-alive");
+
+        emitter.broken = true;
+        stream.onClientChanged(ClientChangedEvent.created(client(1)));
+        executor.runAll();
+
+        assertThat(stream.subscriberCount()).isZero();
+    }
+}
@@ -0,0 +1,54 @@
+package com.omamofe.clientmanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientColumnsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonNode write(ClientColumns columns) throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+            columns.writeTo(gen);
+        }
+        return mapper.readTree(out.toString());
+    }
+
+    @Test
+    void plainColumnsCarryOneValuePerRowAndDictionaryColumnsIndexTheirDistinctValues() throws Exception {
+        ClientColumns columns = new ClientColumns(List.of("id", "fullName", "active", "location"),
+                Set.of("active", "location"));
+        columns.add(new Object[]{1L, "Ada", true, "Lagos"});
+        columns.add(new Object[]{2L, null, false, "Abuja"});
+        columns.add(new Object[]{3L, "Cy", true, null});
+        columns.add(new Object[]{4L, "Di", true, "Lagos"});
+
+        JsonNode json = write(columns);
+
+        assertThat(json.get("count").asInt()).isEqualTo(4);
+        JsonNode cols = json.get("columns");
+        assertThat(cols.get("id").toString()).isEqualTo("[1,2,3,4]");
+        assertThat(cols.get("fullName").toString()).isEqualTo("[\"Ada\",null,\"Cy\",\"Di\"]");
+        assertThat(cols.get("active").toString()).isEqualTo("{\"dictionary\":[true,false],\"codes\":[0,1,0,0]}");
+        assertThat(cols.get("location").toString())
+                .isEqualTo("{\"dictionary\":[\"Lagos\",\"Abuja\",null],\"codes\":[0,1,2,0]}");
+    }
+
+    @Test
+    void emptyTableWritesEmptyColumns() throws Exception {
+        JsonNode json = write(new ClientColumns(ClientFields.ALL, Set.of("location")));
+
+        assertThat(json.get("count").asInt()).isZero();
+        assertThat(json.get("columns").get("email")).isEmpty();
+        assertThat(json.get("columns").get("location").get("codes")).isEmpty();
+    }
+}
@@ -0,0 +1,112 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.dto.UpdateClientDto;
+import com.omamofe.clientmanagement.exception.ClientVersionConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many editors append to the same client at once, each retrying on a version conflict.
+ * Every edit must survive and the version must count every write.
+ */
+@SpringBootTest
+class ClientConcurrencyTest {
+
+    private static final int EDITORS = 8;
+    private static final int EDITS_EACH = 10;
+
+    @Autowired
+    private ClientService clientService;
+
+    private interface Edit {
+        void apply(ClientDto current, String details);
+    }
+
+    private ClientDto newClient(String name) {
+        CreateClientDto dto = new CreateClientDto();
+        dto.setFullName(name);
+        dto.setEmail(name.toLowerCase().replace(' ', '.') + "@concurrency.test");
+        dto.setDetails("");
+        return clientService.createClient(dto);
+    }
+
+    private int runEditors(Long id, Edit edit) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(EDITORS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> editors = new ArrayList<>();
+        for (int e = 0; e < EDITORS; e++) {
+            int editor = e;
+            editors.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < EDITS_EACH; i++) {
+                    while (true) {
+                        ClientDto current = clientService.getClientById(id);
+                        try {
+                            edit.apply(current, current.getDetails() + "[" + editor + "." + i + "]");
+                            break;
+                        } catch (ClientVersionConflictException | ObjectOptimisticLockingFailureException conflict) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> editor : editors) editor.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+        return conflicts.get();
+    }
+
+    private void assertNoLostUpdates(ClientDto before) {
+        ClientDto after = clientService.getClientById(before.getId());
+        for (int e = 0; e < EDITORS; e++) {
+            for (int i = 0; i < EDITS_EACH; i++) {
+                assertThat(after.getDetails()).contains("[" + e + "." + i + "]");
+            }
+        }
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + EDITORS * EDITS_EACH);
+    }
+
+    @Test
+    void concurrentPatches_loseNoUpdates() throws Exception {
+        ClientDto client = newClient("Patch Target");
+
+        runEditors(client.getId(), (current, details) -> {
+            UpdateClientDto patch = new UpdateClientDto();
+            patch.setDetails(details);
+            clientService.patchClient(current.getId(), patch, current.getVersion());
+        });
+
+        assertNoLostUpdates(client);
+    }
+
+    @Test
+    void concurrentPutsWithIfMatch_loseNoUpdates() throws Exception {
+        ClientDto client = newClient("Put Target");
+
+        runEditors(client.getId(), (current, details) -> {
+            UpdateClientDto update = new UpdateClientDto();
+            update.setDetails(details);
+            clientService.updateClient(current.getId(), update, current.getVersion());
+        });
+
+        assertNoLostUpdates(client);
+    }
+}
@@ -0,0 +1,65 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ClientCounterTest {
+
+    private ClientRepository clientRepository;
+    private SimpleMeterRegistry registry;
+    private ClientCounter counter;
+
+    @BeforeEach
+    void setup() {
+        clientRepository = mock(ClientRepository.class);
+        registry = new SimpleMeterRegistry();
+        counter = new ClientCounter(clientRepository, registry);
+    }
+
+    @Test
+    void readsTheTableUntilSeeded() {
+        when(clientRepository.count()).thenReturn(4L);
+
+        assertThat(counter.isSeeded()).isFalse();
+        assertThat(counter.get()).isEqualTo(4L);
+    }
+
+    @Test
+    void followsEventsWithoutQueryingOnceSeeded() {
+        when(clientRepository.count()).thenReturn(3L);
+        counter.seed();
+        clearInvocations(clientRepository);
+
+        ClientDto dto = new ClientDto();
+        dto.setId(9L);
+        counter.onClientChanged(ClientChangedEvent.created(dto));
+        counter.onClientChanged(ClientChangedEvent.created(dto));
+        counter.onClientChanged(ClientChangedEvent.updated(dto));
+        counter.onClientChanged(ClientChangedEvent.deleted(1L));
+
+        assertThat(counter.get()).isEqualTo(4L);
+        assertThat(registry.get("clients.count").gauge().value()).isEqualTo(4.0);
+        verify(clientRepository, never()).count();
+    }
+
+    @Test
+    void reconcileCorrectsAndReportsDrift() {
+        when(clientRepository.count()).thenReturn(5L, 7L);
+        counter.seed();
+        counter.onClientChanged(ClientChangedEvent.deleted(1L));
+
+        counter.reconcile();
+
+        assertThat(counter.get()).isEqualTo(7L);
+        assertThat(counter.getLastDrift()).isEqualTo(-3L);
+        assertThat(counter.getLastReconciledAt()).isNotNull();
+        assertThat(registry.get("clients.count.drift").gauge().value()).isEqualTo(-3.0);
+    }
+}
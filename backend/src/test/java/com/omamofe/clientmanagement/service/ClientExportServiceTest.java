@@ -0,0 +1,80 @@
+package com.omamofe.clientmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omamofe.clientmanagement.entity.Client;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClientExportServiceTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ClientExportService exportService;
+
+    private Client john;
+    private Client jane;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        exportService = new ClientExportService(clientRepository, entityManager, new ObjectMapper());
+        john = Client.builder().id(1L).fullName("John Doe").email("john@example.com").active(true).build();
+        jane = Client.builder().id(2L).fullName("Doe, Jane").email("jane@example.com")
+                .details("says \"hi\"").active(false).location("Utrecht").build();
+    }
+
+    @Test
+    void export_ndjson_writesOneObjectPerLine() throws Exception {
+        when(clientRepository.streamAllOrderById()).thenReturn(Stream.of(john, jane));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(ClientExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"fullName\":\"John Doe\"");
+        assertThat(lines[1]).contains("\"location\":\"Utrecht\"");
+        verify(entityManager).detach(john);
+        verify(entityManager).detach(jane);
+    }
+
+    @Test
+    void export_csv_writesHeaderAndQuotesSpecialCharacters() throws Exception {
+        when(clientRepository.streamAllOrderById()).thenReturn(Stream.of(john, jane));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(ClientExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines[0]).isEqualTo("id,fullName,displayName,email,details,active,location");
+        assertThat(lines[1]).isEqualTo("1,John Doe,,john@example.com,,true,");
+        assertThat(lines[2]).isEqualTo("2,\"Doe, Jane\",,jane@example.com,\"says \"\"hi\"\"\",false,Utrecht");
+    }
+
+    @Test
+    void export_emptyTable_writesNothingForNdjson() throws Exception {
+        when(clientRepository.streamAllOrderById()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(ClientExportFormat.NDJSON, out);
+
+        assertThat(rows).isZero();
+        assertThat(out.size()).isZero();
+    }
+}
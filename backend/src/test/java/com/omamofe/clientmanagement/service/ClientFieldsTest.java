@@ -0,0 +1,32 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.exception.InvalidFieldsException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ClientFieldsTest {
+
+    @Test
+    void parse_addsId_dedupes_andUsesDtoOrder() {
+        ClientFields fields = ClientFields.parse(" email, fullName,,email ");
+
+        assertThat(fields.attributes()).containsExactly("id", "fullName", "email");
+        assertThat(fields).isEqualTo(ClientFields.parse("fullName,email,id"));
+        assertThat(fields.toString()).isEqualTo("id,fullName,email");
+    }
+
+    @Test
+    void parse_withoutFields_meansFullRepresentation() {
+        assertThat(ClientFields.parse(null)).isNull();
+    }
+
+    @Test
+    void parse_rejectsUnknownOrEmptySelections() {
+        assertThatThrownBy(() -> ClientFields.parse("email,passwordHash"))
+                .isInstanceOf(InvalidFieldsException.class)
+                .hasMessageContaining("passwordHash");
+        assertThatThrownBy(() -> ClientFields.parse(" , "))
+                .isInstanceOf(InvalidFieldsException.class);
+    }
+}
@@ -0,0 +1,143 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.ClientLookupResultDto;
+import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.dto.UpdateClientDto;
+import com.omamofe.clientmanagement.entity.Client;
+import com.omamofe.clientmanagement.mapper.ClientMapper;
+import com.omamofe.clientmanagement.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ClientReadPathTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JpaTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<String> transactions = new ArrayList<>();
+
+    // Records how each transaction was opened: "<readOnly>/<flush mode>".
+    private final TransactionExecutionListener probe = new TransactionExecutionListener() {
+        @Override
+        public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+            transactions.add(transaction.isReadOnly() + "/" + entityManager.unwrap(Session.class).getHibernateFlushMode());
+        }
+    };
+
+    @BeforeEach
+    void attachProbe() {
+        transactionManager.addListener(probe);
+    }
+
+    @AfterEach
+    void detachProbe() {
+        transactionManager.getTransactionExecutionListeners().remove(probe);
+    }
+
+    @Test
+    void projections_matchTheEntityMapping() {
+        CreateClientDto create = new CreateClientDto();
+        create.setFullName("Projected Client");
+        create.setDisplayName("Projected");
+        create.setEmail("projected@read.test");
+        create.setDetails("some details");
+        create.setActive(false);
+        create.setLocation("Ibadan");
+        Long id = clientService.createClient(create).getId();
+        UpdateClientDto patch = new UpdateClientDto();
+        patch.setLocation("Ife");
+        clientService.patchClient(id, patch, 0L);
+
+        ClientDto expected = ClientMapper.toDto(clientRepository.findById(id).orElseThrow());
+        assertThat(clientRepository.findDtosByIdIn(List.of(id))).containsExactly(expected);
+        assertThat(clientService.getAllClients()).contains(expected);
+        assertThat(clientService.searchClientsPage("projected@read", null, 10).getItems()).containsExactly(expected);
+        assertThat(clientRepository.countByActiveAndLocation("%projected@read%"))
+                .containsExactly(new Object[]{false, "Ife", 1L});
+    }
+
+    @Test
+    void reads_runReadOnlyWithManualFlush_writesDoNot() {
+        clientService.getAllClients();
+        clientService.getClientsPage(null, 5);
+        assertThat(transactions).containsExactly("true/MANUAL", "true/MANUAL");
+
+        transactions.clear();
+        CreateClientDto create = new CreateClientDto();
+        create.setFullName("Written Client");
+        create.setEmail("written@read.test");
+        clientService.createClient(create);
+        assertThat(transactions).containsExactly("false/AUTO");
+    }
+
+    @Test
+    void lookup_answersCachedClientsFromTheCacheAndQueriesTheRestOnce() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CreateClientDto create = new CreateClientDto();
+            create.setFullName("Looked Up " + i);
+            create.setEmail("lookup" + i + "@read.test");
+            ids.add(clientService.createClient(create).getId());
+        }
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Client.class);
+        clientService.getClientById(ids.get(0));
+        Statistics stats = sessionFactory.getStatistics();
+        stats.clear();
+
+        ClientLookupResultDto result = clientService.lookupClients(List.of(ids.get(2), -1L, ids.get(0), ids.get(1)));
+
+        assertThat(result.getClients()).extracting(ClientDto::getId).containsExactly(ids.get(2), ids.get(0), ids.get(1));
+        assertThat(result.getMissing()).containsExactly(-1L);
+        assertThat(stats.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void patch_keepsOtherClientsInTheSecondLevelCache() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            CreateClientDto create = new CreateClientDto();
+            create.setFullName("Patched " + i);
+            create.setEmail("patched" + i + "@read.test");
+            ids.add(clientService.createClient(create).getId());
+        }
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        ids.forEach(clientService::getClientById);
+        assertThat(sessionFactory.getCache().containsEntity(Client.class, ids.get(1))).isTrue();
+
+        UpdateClientDto patch = new UpdateClientDto();
+        patch.setLocation("Ife");
+        ClientDto patched = clientService.patchClient(ids.get(0), patch, 0L);
+
+        assertThat(patched.getVersion()).isEqualTo(1L);
+        assertThat(sessionFactory.getCache().containsEntity(Client.class, ids.get(1))).isTrue();
+        assertThat(clientService.getClientById(ids.get(0)).getLocation()).isEqualTo("Ife");
+    }
+}
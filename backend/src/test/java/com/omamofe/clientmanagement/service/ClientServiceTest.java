@@ -1,16 +1,36 @@
 package com.omamofe.clientmanagement.service;
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.dto.ClientFacetsDto;
+import com.omamofe.clientmanagement.dto.ClientLookupResultDto;
+import com.omamofe.clientmanagement.dto.ClientSuggestionDto;
 import com.omamofe.clientmanagement.dto.CreateClientDto;
+import com.omamofe.clientmanagement.dto.FacetCountDto;
 import com.omamofe.clientmanagement.dto.UpdateClientDto;
 import com.omamofe.clientmanagement.entity.Client;
 import com.omamofe.clientmanagement.exception.ClientNotFoundException;
+import com.omamofe.clientmanagement.exception.ClientVersionConflictException;
+import com.omamofe.clientmanagement.exception.InvalidBulkRequestException;
+import com.omamofe.clientmanagement.exception.InvalidCursorException;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import com.omamofe.clientmanagement.mapper.ClientMapper;
 import com.omamofe.clientmanagement.repository.ClientRepository;
+import com.omamofe.clientmanagement.search.ClientFacetIndex;
+import com.omamofe.clientmanagement.search.ClientFuzzyIndex;
+import com.omamofe.clientmanagement.search.ClientSearchIndex;
+import com.omamofe.clientmanagement.search.ClientSuggestIndex;
+import com.omamofe.clientmanagement.search.MatchSpan;
+import com.omamofe.clientmanagement.search.SearchHit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -22,11 +42,33 @@ public class ClientServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private ClientSearchIndex searchIndex;
+
+    @Mock
+    private ClientFuzzyIndex fuzzyIndex;
+
+    @Mock
+    private ClientSuggestIndex suggestIndex;
+
+    @Mock
+    private ClientFacetIndex facetIndex;
+
+    @Mock
+    private ClientCounter counter;
+
     @InjectMocks
     private ClientService clientService;
 
     private Client client;
 
+    private static List<ClientDto> dtos(Client... clients) {
+        return Arrays.stream(clients).map(ClientMapper::toDto).toList();
+    }
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
@@ -40,13 +82,13 @@ public class ClientServiceTest {
 
     @Test
     void getAllClients_returnsClientList() {
-        when(clientRepository.findAll()).thenReturn(List.of(client));
+        when(clientRepository.findAllDtos()).thenReturn(dtos(client));
 
         var result = clientService.getAllClients();
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getFullName()).isEqualTo("John Doe");
-        verify(clientRepository).findAll();
+        verify(clientRepository).findAllDtos();
     }
 
     @Test
@@ -88,6 +130,7 @@ public class ClientServiceTest {
         assertThat(result.getId()).isEqualTo(5L);
         assertThat(result.getFullName()).isEqualTo("Alice");
         verify(auditLogService).record("CREATE", "CLIENT", 5L);
+        verify(events).publishEvent(new ClientChangedEvent(ClientChangedEvent.Type.CREATED, 5L, result));
     }
 
     @Test
@@ -96,7 +139,7 @@ public class ClientServiceTest {
         dto.setFullName("Updated");
 
         when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
-        when(clientRepository.save(any(Client.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(clientRepository.saveAndFlush(any(Client.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         var result = clientService.updateClient(1L, dto);
 
@@ -111,15 +154,315 @@ public class ClientServiceTest {
 
         verify(clientRepository).delete(client);
         verify(auditLogService).record("DELETE", "CLIENT", 1L);
+        verify(events).publishEvent(ClientChangedEvent.deleted(1L));
     }
 
     @Test
-    void countClients_returnsCount() {
-        when(clientRepository.count()).thenReturn(10L);
+    void countClients_returnsMaintainedCount() {
+        when(counter.get()).thenReturn(10L);
 
         long count = clientService.countClients();
 
         assertThat(count).isEqualTo(10L);
-        verify(clientRepository).count();
+        verify(clientRepository, never()).count();
+    }
+
+    @Test
+    void getClientsPage_fullPage_returnsCursorForNextPage() {
+        Client second = Client.builder().id(2L).fullName("Jane Roe").email("jane@example.com").build();
+        when(clientRepository.findPageAfter(0L, Limit.of(2)))
+                .thenReturn(dtos(client, second));
+        when(clientRepository.findPageAfter(2L, Limit.of(2)))
+                .thenReturn(List.of());
+
+        var first = clientService.getClientsPage(null, 2);
+        assertThat(first.getItems()).extracting("id").containsExactly(1L, 2L);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        var next = clientService.getClientsPage(first.getNextCursor(), 2);
+        assertThat(next.getItems()).isEmpty();
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getClientsPage_shortPage_hasNoCursor() {
+        when(clientRepository.findPageAfter(0L, Limit.of(ClientService.DEFAULT_PAGE_SIZE)))
+                .thenReturn(dtos(client));
+
+        var page = clientService.getClientsPage(null, null);
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getClientsPage_clampsLimitToMax() {
+        when(clientRepository.findPageAfter(any(), any())).thenReturn(List.of());
+
+        clientService.getClientsPage(null, 1_000_000);
+
+        verify(clientRepository).findPageAfter(0L, Limit.of(ClientService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void getClientsPage_garbageCursor_throws() {
+        assertThatThrownBy(() -> clientService.getClientsPage("not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void searchClientsPage_escapesLikeWildcards() {
+        when(clientRepository.searchPageAfter(any(), any(), any())).thenReturn(dtos(client));
+
+        clientService.searchClientsPage(" 50%_Off ", null, 10);
+
+        verify(clientRepository).searchPageAfter("%50\\%\\_off%", 0L, Limit.of(10));
+    }
+
+    @Test
+    void searchClients_indexNotReady_fallsBackToRepository() {
+        when(searchIndex.isReady()).thenReturn(false);
+        when(clientRepository.searchAll("%john%"))
+                .thenReturn(dtos(client));
+
+        var result = clientService.searchClients("john");
+
+        assertThat(result).extracting("id").containsExactly(1L);
+        verify(searchIndex, never()).search(any(), anyInt());
+    }
+
+    @Test
+    void searchClients_indexReady_returnsClientsInRankOrder() {
+        Client second = Client.builder().id(2L).fullName("Johnny Two").email("two@example.com").build();
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("john", Integer.MAX_VALUE)).thenReturn(List.of(
+                new SearchHit(2L, 10, List.of()),
+                new SearchHit(1L, 5, List.of())));
+        when(clientRepository.findDtosByIdIn(List.of(2L, 1L))).thenReturn(dtos(client, second));
+
+        var result = clientService.searchClients("john");
+
+        assertThat(result).extracting("id").containsExactly(2L, 1L);
+        verify(clientRepository, never()).searchAll(any());
+    }
+
+    @Test
+    void searchClients_withFields_selectsOnlyThoseColumnsInRankOrder() {
+        ClientFields fields = ClientFields.parse("email");
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("john", Integer.MAX_VALUE)).thenReturn(List.of(
+                new SearchHit(2L, 10, List.of()),
+                new SearchHit(1L, 5, List.of())));
+        when(clientRepository.findFieldsByIdIn(List.of("id", "email"), List.of(2L, 1L))).thenReturn(List.of(
+                Map.of("id", 1L, "email", "john@example.com"),
+                Map.of("id", 2L, "email", "two@example.com")));
+
+        var result = clientService.searchClients("john", fields);
+
+        assertThat(result).extracting(row -> row.get("id")).containsExactly(2L, 1L);
+        verify(clientRepository, never()).findDtosByIdIn(any());
+    }
+
+    @Test
+    void facetClients_indexesReady_countsOverSearchHits() {
+        ClientFacetsDto facets = new ClientFacetsDto(2, 2, 0, List.of());
+        when(facetIndex.isReady()).thenReturn(true);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("john", Integer.MAX_VALUE)).thenReturn(List.of(
+                new SearchHit(2L, 10, List.of()),
+                new SearchHit(1L, 5, List.of())));
+        when(facetIndex.counts(List.of(2L, 1L), 10)).thenReturn(facets);
+
+        assertThat(clientService.facetClients("john", null)).isSameAs(facets);
+        verify(clientRepository, never()).countByActiveAndLocation(any());
+    }
+
+    @Test
+    void facetClients_onlySearchIndexReady_countsTheMatchedRows() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("jo", Integer.MAX_VALUE)).thenReturn(List.of(
+                new SearchHit(2L, 10, List.of()),
+                new SearchHit(1L, 5, List.of())));
+        when(clientRepository.findFieldsByIdIn(List.of("id", "active", "location"), List.of(2L, 1L))).thenReturn(List.of(
+                Map.of("id", 1L, "active", true, "location", "Lagos"),
+                Map.of("id", 2L, "active", false)));
+
+        ClientFacetsDto facets = clientService.facetClients("jo", null);
+
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.getActive()).isEqualTo(1);
+        assertThat(facets.getInactive()).isEqualTo(1);
+        assertThat(facets.getLocations()).containsExactly(new FacetCountDto("Lagos", 1));
+        verify(clientRepository, never()).countByActiveAndLocation(any());
+    }
+
+    @Test
+    void searchClientsPage_indexReady_pagesTheMatchesInIdOrder() {
+        Client second = Client.builder().id(2L).fullName("Johnny Two").email("two@example.com").build();
+        Client fifth = Client.builder().id(5L).fullName("Jo Five").email("five@example.com").build();
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("jo", Integer.MAX_VALUE)).thenReturn(List.of(
+                new SearchHit(5L, 10, List.of()),
+                new SearchHit(1L, 8, List.of()),
+                new SearchHit(2L, 5, List.of())));
+        when(clientRepository.findDtosByIdIn(List.of(2L, 5L))).thenReturn(dtos(fifth, second));
+
+        var page = clientService.searchClientsPage("jo", ClientCursor.encode(1L), 2);
+
+        assertThat(page.getItems()).extracting("id").containsExactly(2L, 5L);
+        assertThat(ClientCursor.decode(page.getNextCursor())).isEqualTo(5L);
+        verify(clientRepository, never()).searchPageAfter(any(), any(), any());
+    }
+
+    @Test
+    void facetClients_indexNotReady_foldsOneGroupedQuery() {
+        when(facetIndex.isReady()).thenReturn(false);
+        when(clientRepository.countByActiveAndLocation("%john%")).thenReturn(List.of(
+                new Object[]{true, "Lagos", 3L},
+                new Object[]{false, "Lagos", 1L},
+                new Object[]{true, null, 2L},
+                new Object[]{false, "Abuja", 2L}));
+
+        ClientFacetsDto facets = clientService.facetClients(" John ", 1);
+
+        assertThat(facets.getTotal()).isEqualTo(8);
+        assertThat(facets.getActive()).isEqualTo(5);
+        assertThat(facets.getInactive()).isEqualTo(3);
+        assertThat(facets.getLocations()).containsExactly(new FacetCountDto("Lagos", 4));
+    }
+
+    @Test
+    void searchClientHits_indexReady_carriesScoresAndOffsets() {
+        MatchSpan span = new MatchSpan("fullName", 0, 4);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("john", 10)).thenReturn(List.of(new SearchHit(1L, 15, List.of(span))));
+        when(clientRepository.findDtosByIdIn(List.of(1L))).thenReturn(dtos(client));
+
+        var hits = clientService.searchClientHits("john", 10);
+
+        assertThat(hits).hasSize(1);
+        assertThat(hits.getFirst().getClient().getFullName()).isEqualTo("John Doe");
+        assertThat(hits.getFirst().getScore()).isEqualTo(15);
+        assertThat(hits.getFirst().getMatches()).containsExactly(span);
+    }
+
+    @Test
+    void fuzzySearchClients_indexReady_returnsClosestMatchesFirst() {
+        Client second = Client.builder().id(2L).fullName("Jon Doe").email("jon@example.com").build();
+        when(fuzzyIndex.isReady()).thenReturn(true);
+        when(fuzzyIndex.search("jhon", 10)).thenReturn(List.of(
+                new SearchHit(1L, 2, List.of()),
+                new SearchHit(2L, 1, List.of())));
+        when(clientRepository.findDtosByIdIn(List.of(1L, 2L))).thenReturn(dtos(second, client));
+
+        var result = clientService.fuzzySearchClients("jhon", 10);
+
+        assertThat(result).extracting("id").containsExactly(1L, 2L);
+    }
+
+    @Test
+    void fuzzySearchClients_indexNotReady_usesRegularSearch() {
+        when(fuzzyIndex.isReady()).thenReturn(false);
+        when(clientRepository.searchAll("%jhon%"))
+                .thenReturn(List.of());
+
+        assertThat(clientService.fuzzySearchClients("jhon", 10)).isEmpty();
+        verify(fuzzyIndex, never()).search(any(), anyInt());
+    }
+
+    @Test
+    void suggestClients_indexReady_clampsLimit() {
+        when(suggestIndex.isReady()).thenReturn(true);
+        when(suggestIndex.suggest("jo", ClientSuggestIndex.MAX_SUGGESTIONS))
+                .thenReturn(List.of(new ClientSuggestionDto(1L, "John Doe")));
+
+        var result = clientService.suggestClients("jo", 500);
+
+        assertThat(result).extracting("displayName").containsExactly("John Doe");
+        verifyNoInteractions(clientRepository);
+    }
+
+    @Test
+    void suggestClients_indexNotReady_usesDatabaseAndFallsBackToFullName() {
+        when(suggestIndex.isReady()).thenReturn(false);
+        when(clientRepository.searchPageAfter("%jo%", 0L, Limit.of(5))).thenReturn(dtos(client));
+
+        var result = clientService.suggestClients("jo", 5);
+
+        assertThat(result).containsExactly(new ClientSuggestionDto(1L, "John Doe"));
+    }
+
+    @Test
+    void updateClient_withStaleVersion_throwsConflict() {
+        client.setVersion(5L);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+
+        assertThatThrownBy(() -> clientService.updateClient(1L, new UpdateClientDto(), 4L))
+                .isInstanceOf(ClientVersionConflictException.class)
+                .hasMessageContaining("version 5");
+        verify(clientRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void patchClient_updatesOnlySuppliedFieldsThroughTheEntity() {
+        UpdateClientDto dto = new UpdateClientDto();
+        dto.setLocation("Abuja");
+        String fullName = client.getFullName();
+        client.setVersion(3L);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(clientRepository.saveAndFlush(client)).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var result = clientService.patchClient(1L, dto, 3L);
+
+        assertThat(result.getLocation()).isEqualTo("Abuja");
+        assertThat(result.getFullName()).isEqualTo(fullName);
+        verify(auditLogService).record("UPDATE", "CLIENT", 1L);
+        verify(events).publishEvent(ClientChangedEvent.updated(result));
+        verify(clientRepository, never()).updateAll(any(), any());
+    }
+
+    @Test
+    void patchClient_whenVersionMoved_throwsConflictWithoutWriting() {
+        UpdateClientDto dto = new UpdateClientDto();
+        dto.setFullName("Late");
+        client.setVersion(6L);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+
+        assertThatThrownBy(() -> clientService.patchClient(1L, dto, 3L))
+                .isInstanceOf(ClientVersionConflictException.class);
+        verify(clientRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(auditLogService, events);
+    }
+
+    @Test
+    void patchClient_onMissingClient_throwsNotFound() {
+        UpdateClientDto dto = new UpdateClientDto();
+        dto.setFullName("Ghost");
+        when(clientRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> clientService.patchClient(9L, dto, 1L))
+                .isInstanceOf(ClientNotFoundException.class);
+    }
+
+    @Test
+    void lookupClients_keepsRequestOrderOnceAndListsMissingIds() {
+        Client one = Client.builder().id(1L).fullName("One").build();
+        Client three = Client.builder().id(3L).fullName("Three").build();
+        when(clientRepository.findAllByIdInOrder(List.of(3L, 2L, 1L), 1000))
+                .thenReturn(Arrays.asList(three, null, one));
+
+        ClientLookupResultDto result = clientService.lookupClients(Arrays.asList(3L, 2L, null, 1L, 3L));
+
+        assertThat(result.getClients()).extracting(ClientDto::getId).containsExactly(3L, 1L);
+        assertThat(result.getMissing()).containsExactly(2L);
+    }
+
+    @Test
+    void lookupClients_rejectsTooManyIds() {
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, ClientService.MAX_LOOKUP_IDS + 1).boxed().toList();
+
+        assertThatThrownBy(() -> clientService.lookupClients(ids))
+                .isInstanceOf(InvalidBulkRequestException.class);
+        verifyNoInteractions(clientRepository);
     }
 }
@@ -0,0 +1,44 @@
+package com.omamofe.clientmanagement.service;
+
+import com.omamofe.clientmanagement.dto.ClientDto;
+import com.omamofe.clientmanagement.event.ClientChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientWriteGenerationTest {
+
+    private final ClientWriteGeneration generation = new ClientWriteGeneration();
+
+    private static ClientDto client(long id) {
+        ClientDto dto = new ClientDto();
+        dto.setId(id);
+        return dto;
+    }
+
+    @Test
+    void everyWriteChangesTheListTag() {
+        String list = generation.listTag();
+
+        generation.onClientChanged(ClientChangedEvent.updated(client(1L)));
+
+        assertThat(generation.current()).isEqualTo(1);
+        assertThat(generation.listTag()).isNotEqualTo(list).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void deletesChangeTheListTag() {
+        generation.onClientChanged(ClientChangedEvent.created(client(5L)));
+        String beforeDelete = generation.listTag();
+
+        generation.onClientChanged(ClientChangedEvent.deleted(5L));
+
+        assertThat(generation.listTag()).isNotEqualTo(beforeDelete);
+    }
+
+    @Test
+    void tagsFromAnotherBootDoNotMatch() {
+        assertThat(new ClientWriteGeneration().listTag()).isNotEqualTo("\"0-0\"");
+        assertThat(generation.listTag()).matches("\"[0-9a-z]+-0\"");
+    }
+}
@@ -0,0 +1,47 @@
+import { TestBed } from '@angular/core/testing';
+import {
+  HttpClientTestingModule,
+  HttpTestingController,
+} from '@angular/common/http/testing';
+import { BatchService, BatchResult } from './batch.service';
+
+describe('BatchService', () => {
+  let service: BatchService;
+  let httpMock: HttpTestingController;
+
+  beforeEach(() => {
+    TestBed.configureTestingModule({
+      imports: [HttpClientTestingModule],
+      providers: [BatchService],
+    });
+
+    service = TestBed.inject(BatchService);
+    httpMock = TestBed.inject(HttpTestingController);
+  });
+
+  afterEach(() => {
+    httpMock.verify();
+  });
+
+  it('should post the sub-requests and return their results in order', () => {
+    const responses: BatchResult[] = [
+      { id: 'count', status: 200, headers: {}, body: 3 },
+      { id: 'missing', status: 404, headers: {}, body: { error: 'Client not found' } },
+    ];
+
+    service
+      .send([
+        { id: 'count', method: 'GET', path: '/api/clients/count' },
+        { id: 'missing', method: 'GET', path: '/api/clients/99' },
+      ])
+      .subscribe((results) => {
+        expect(results).toEqual(responses);
+      });
+
+    const req = httpMock.expectOne('/api/batch');
+    expect(req.request.method).toBe('POST');
+    expect(req.request.body.requests.length).toBe(2);
+    expect(req.request.body.requests[1].path).toBe('/api/clients/99');
+    req.flush({ responses });
+  });
+});
@@ -0,0 +1,33 @@
+import { Injectable } from '@angular/core';
+import { HttpClient } from '@angular/common/http';
+import { Observable, map } from 'rxjs';
+
+export type BatchMethod = 'GET' | 'POST' | 'PUT' | 'PATCH' | 'DELETE';
+export interface BatchRequest {
+  id?: string;
+  method: BatchMethod;
+  path: string; // e.g. '/api/clients/count' or '/api/clients?ids=1,2'
+  headers?: Record<string, string>;
+  body?: unknown;
+}
+export interface BatchResult<T = unknown> {
+  id?: string;
+  status: number;
+  headers: Record<string, string>;
+  body: T;
+}
+
+// POST /api/batch: several API calls in one round trip, results in request order. The batch
+// itself is 200; check each result's status. Consecutive GETs run concurrently server-side.
+@Injectable({ providedIn: 'root' })
+export class BatchService {
+  private readonly API_URL = '/api/batch';
+
+  constructor(private http: HttpClient) {}
+
+  send(requests: BatchRequest[]): Observable<BatchResult[]> {
+    return this.http
+      .post<{ responses: BatchResult[] }>(this.API_URL, { requests })
+      .pipe(map((batch) => batch.responses));
+  }
+}
@@ -1,9 +1,10 @@
 import { TestBed } from '@angular/core/testing';
+import { HttpEventType } from '@angular/common/http';
 import {
   HttpClientTestingModule,
   HttpTestingController,
 } from '@angular/common/http/testing';
-import { ClientsService, Client, CreateClientDto } from './clients.service';
+import { ClientsService, Client, ClientChange, CreateClientDto } from './clients.service';
 import { NO_ERRORS_SCHEMA } from '@angular/core';
 
 describe('ClientsService', () => {
@@ -50,6 +51,28 @@ describe('ClientsService', () => {
     req.flush([mockClient]);
   });
 
+  it('should fetch a sparse fieldset of the clients list', () => {
+    service.getClientFields(['fullName', 'email']).subscribe((clients) => {
+      expect(clients).toEqual([{ id: 1, fullName: 'John Doe', email: 'john@example.com' }]);
+    });
+
+    const req = httpMock.expectOne((r) => r.url === '/api/clients');
+    expect(req.request.params.get('fields')).toBe('fullName,email');
+    req.flush([{ id: 1, fullName: 'John Doe', email: 'john@example.com' }]);
+  });
+
+  it('should fetch facet counts for a search', () => {
+    const facets = { total: 3, active: 2, inactive: 1, locations: [{ value: 'NY', count: 3 }] };
+    service.getClientFacets('john', 5).subscribe((result) => {
+      expect(result).toEqual(facets);
+    });
+
+    const req = httpMock.expectOne((r) => r.url === '/api/clients/search/facets');
+    expect(req.request.params.get('keyword')).toBe('john');
+    expect(req.request.params.get('top')).toBe('5');
+    req.flush(facets);
+  });
+
   it('should get client count', () => {
     service.getClientCount().subscribe((count) => {
       expect(count).toBe(5);
@@ -110,16 +133,142 @@ describe('ClientsService', () => {
       { fullName: 'Bulk 2', email: 'b2@test.com' },
     ];
 
-    service.importClientsBulk(bulk).subscribe((clients) => {
-      expect(clients.length).toBe(2);
-      expect(clients[0].fullName).toBe('Bulk 1');
+    service.importClientsBulk(bulk).subscribe((result) => {
+      expect(result.created).toBe(2);
+      expect(result.ids).toEqual([1, 2]);
+      expect(result.errors.length).toBe(0);
     });
 
     const req = httpMock.expectOne('/api/clients/bulk');
     expect(req.request.method).toBe('POST');
-    req.flush([
-      { ...mockClient, fullName: 'Bulk 1' },
-      { ...mockClient, fullName: 'Bulk 2' },
+    req.flush({ received: 2, created: 2, updated: 0, unchanged: 0, ids: [1, 2], errors: [] });
+  });
+
+  it('should re-import clients in upsert mode', () => {
+    service.importClientsBulk([{ fullName: 'Bulk 1', email: 'b1@test.com' }], 'upsert').subscribe((result) => {
+      expect(result.updated).toBe(1);
+    });
+
+    const req = httpMock.expectOne('/api/clients/bulk?mode=upsert');
+    expect(req.request.method).toBe('POST');
+    req.flush({ received: 1, created: 0, updated: 1, unchanged: 0, ids: [], errors: [] });
+  });
+
+  it('should update clients in bulk by filter', () => {
+    service.bulkUpdateClients({ filter: { location: 'Lagos' } }, { active: false }).subscribe((result) => {
+      expect(result.affected).toBe(3);
+    });
+
+    const req = httpMock.expectOne('/api/clients/bulk');
+    expect(req.request.method).toBe('PATCH');
+    expect(req.request.body).toEqual({ filter: { location: 'Lagos' }, patch: { active: false } });
+    req.flush({ requested: 3, affected: 3 });
+  });
+
+  it('should delete clients in bulk by id', () => {
+    service.bulkDeleteClients({ ids: [1, 2] }).subscribe((result) => {
+      expect(result.affected).toBe(2);
+    });
+
+    const req = httpMock.expectOne('/api/clients/bulk');
+    expect(req.request.method).toBe('DELETE');
+    expect(req.request.body).toEqual({ ids: [1, 2] });
+    req.flush({ requested: 2, affected: 2 });
+  });
+
+  it('should upload a file as a server-side import', () => {
+    const file = new File(['fullName,email\n'], 'clients.csv', { type: 'text/csv' });
+
+    service.startImport(file).subscribe((job) => {
+      expect(job.id).toBe('job-1');
+      expect(job.status).toBe('QUEUED');
+    });
+
+    const req = httpMock.expectOne('/api/clients/imports');
+    expect(req.request.method).toBe('POST');
+    expect((req.request.body as FormData).get('file')).toBe(file);
+    req.flush({ id: 'job-1', status: 'QUEUED' });
+  });
+
+  it('should poll and cancel an import job', () => {
+    service.getImport('job-1').subscribe((job) => expect(job.created).toBe(3));
+    const get = httpMock.expectOne('/api/clients/imports/job-1');
+    expect(get.request.method).toBe('GET');
+    get.flush({ id: 'job-1', status: 'RUNNING', created: 3 });
+
+    service.cancelImport('job-1').subscribe((job) => expect(job.status).toBe('CANCELLED'));
+    const del = httpMock.expectOne('/api/clients/imports/job-1');
+    expect(del.request.method).toBe('DELETE');
+    del.flush({ id: 'job-1', status: 'CANCELLED' });
+  });
+
+  it('should parse streamed client changes as they arrive', () => {
+    const changes: ClientChange[] = [];
+    service.watchClientChanges().subscribe((change) => changes.push(change));
+
+    const req = httpMock.expectOne('/api/clients/stream');
+    expect(req.request.headers.get('Accept')).toBe('text/event-stream');
+    let text = 'id:0\nevent:ready\ndata:{"id":0}\n\n:keep-alive\n\nid:1\nevent:crea';
+    req.event({ type: HttpEventType.DownloadProgress, loaded: text.length, partialText: text });
+    text += 'ted\ndata:{"id":7,"fullName":"John Doe"}\n\nid:2\nevent:deleted\ndata:{"id":7}\n\n';
+    req.event({ type: HttpEventType.DownloadProgress, loaded: text.length, partialText: text });
+
+    expect(changes).toEqual([
+      { type: 'ready', seq: 0 },
+      { type: 'created', seq: 1, client: { id: 7, fullName: 'John Doe' } as Client },
+      { type: 'deleted', seq: 2, id: 7 },
     ]);
+    req.flush('');
+  });
+
+  it('should request client changes since a token', () => {
+    service.getClientChanges('tok', 100).subscribe((page) => {
+      expect(page.changed).toEqual([mockClient]);
+      expect(page.deleted).toEqual([9]);
+      expect(page.next).toBe('tok2');
+    });
+
+    const req = httpMock.expectOne((r) => r.url === '/api/clients/changes');
+    expect(req.request.params.get('since')).toBe('tok');
+    expect(req.request.params.get('limit')).toBe('100');
+    req.flush({ changed: [mockClient], deleted: [9], next: 'tok2', hasMore: false });
+  });
+
+  it('should request and decode the columnar client list', () => {
+    service.getClientsColumnar().subscribe((clients) => {
+      expect(clients).toEqual([
+        { id: 1, fullName: 'Ada', active: true, location: 'Lagos' },
+        { id: 2, fullName: 'Bo', active: false, location: 'Lagos' },
+      ] as Client[]);
+    });
+
+    const req = httpMock.expectOne('/api/clients');
+    expect(req.request.headers.get('Accept')).toBe('application/vnd.clients.columnar+json');
+    req.flush({
+      count: 2,
+      columns: {
+        id: [1, 2],
+        fullName: ['Ada', 'Bo'],
+        active: { dictionary: [true, false], codes: [0, 1] },
+        location: { dictionary: ['Lagos'], codes: [0, 0] },
+      },
+    });
+  });
+
+  it('should look up many clients by id in one request', () => {
+    service.getClientsByIds([1, 9]).subscribe((result) => {
+      expect(result.clients).toEqual([mockClient]);
+      expect(result.missing).toEqual([9]);
+    });
+    const get = httpMock.expectOne((r) => r.url === '/api/clients' && r.params.get('ids') === '1,9');
+    expect(get.request.method).toBe('GET');
+    get.flush({ clients: [mockClient], missing: [9] });
+
+    const many = Array.from({ length: 201 }, (_, i) => i + 1);
+    service.getClientsByIds(many).subscribe();
+    const post = httpMock.expectOne('/api/clients/lookup');
+    expect(post.request.method).toBe('POST');
+    expect(post.request.body).toEqual({ ids: many });
+    post.flush({ clients: [], missing: many });
   });
 });
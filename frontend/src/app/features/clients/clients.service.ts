@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { HttpClient, HttpDownloadProgressEvent, HttpEventType } from '@angular/common/http';
+import { Observable, map } from 'rxjs';
 
 export interface Client {
   id: number;
@@ -10,7 +10,11 @@ export interface Client {
   details: string;
   active: boolean;
   location: string;
+  version?: number;
 }
+export type ClientField = Exclude<keyof Client, 'id'>;
+// Rows of a sparse fieldset: id plus whichever requested fields are not null.
+export type ClientFields<K extends ClientField> = Pick<Client, 'id'> & Partial<Pick<Client, K>>;
 export type CreateClientDto = {
   fullName: string;
   displayName?: string | null;
@@ -19,6 +23,92 @@ export type CreateClientDto = {
   active?: boolean | null;
   location?: string | null;
 };
+export interface BulkRowError {
+  index: number;
+  errors: Record<string, string>;
+}
+export type BulkWriteMode = 'create' | 'upsert';
+export interface BulkCreateResult {
+  received: number;
+  created: number;
+  updated: number;
+  unchanged: number;
+  ids: number[];
+  errors: BulkRowError[];
+}
+export interface ClientFilter {
+  active?: boolean;
+  location?: string;
+  keyword?: string;
+}
+export type ClientSelection = { ids: number[] } | { filter: ClientFilter };
+export interface BulkChangeResult {
+  requested: number;
+  affected: number;
+}
+export interface ClientLookupResult {
+  clients: Client[];
+  missing: number[];
+}
+export interface FacetCount {
+  value: string;
+  count: number;
+}
+export interface ClientFacets {
+  total: number;
+  active: number;
+  inactive: number;
+  locations: FacetCount[];
+}
+// GET /api/clients with Accept: application/vnd.clients.columnar+json. One array per column;
+// dictionary columns hold each distinct value once and one index into it per row.
+export const COLUMNAR_MEDIA_TYPE = 'application/vnd.clients.columnar+json';
+export interface DictionaryColumn<T> {
+  dictionary: T[];
+  codes: number[];
+}
+export interface ClientColumns {
+  count: number;
+  columns: {
+    [K in keyof Client]-?: Client[K][] | DictionaryColumn<Client[K]>;
+  };
+}
+// One page of GET /api/clients/changes. Call again with `next` while hasMore; keep it to poll.
+export interface ClientChanges {
+  changed: Client[];
+  deleted: number[];
+  next: string;
+  hasMore: boolean;
+}
+// Events of GET /api/clients/stream; seq is the server's event id. On 'resync', reload.
+export type ClientChange =
+  | { type: 'ready' | 'resync'; seq: number }
+  | { type: 'created' | 'updated'; seq: number; client: Client }
+  | { type: 'deleted'; seq: number; id: number };
+export interface ImportRowError {
+  row: number;
+  errors: Record<string, string>;
+}
+export interface ClientImportJob {
+  id: string;
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED' | 'CANCELLED';
+  fileName: string;
+  format: 'CSV' | 'XLSX';
+  submittedBy: string;
+  submittedAt: string;
+  startedAt: string | null;
+  finishedAt: string | null;
+  rowsRead: number;
+  created: number;
+  failed: number;
+  bytesRead: number;
+  bytesTotal: number;
+  progress: number | null;
+  rowsPerSecond: number;
+  errors: ImportRowError[];
+  errorsTruncated: boolean;
+  message: string | null;
+}
 
 @Injectable({ providedIn: 'root' })
 export class ClientsService {
@@ -30,6 +120,30 @@ export class ClientsService {
     return this.http.get<Client[]>(this.API_URL);
   }
 
+  // Same rows as getClients(), about half the bytes for large lists.
+  getClientsColumnar(): Observable<Client[]> {
+    return this.http
+      .get<ClientColumns>(this.API_URL, { headers: { Accept: COLUMNAR_MEDIA_TYPE } })
+      .pipe(map(decodeClientColumns));
+  }
+
+  getClientFields<K extends ClientField>(fields: K[]): Observable<ClientFields<K>[]> {
+    return this.http.get<ClientFields<K>[]>(this.API_URL, { params: { fields: fields.join(',') } });
+  }
+
+  getClientFacets(keyword: string, top?: number): Observable<ClientFacets> {
+    const params: Record<string, string> = { keyword };
+    if (top !== undefined) params['top'] = String(top);
+    return this.http.get<ClientFacets>(`${this.API_URL}/search/facets`, { params });
+  }
+
+  getClientChanges(since?: string, limit?: number): Observable<ClientChanges> {
+    const params: Record<string, string> = {};
+    if (since) params['since'] = since;
+    if (limit !== undefined) params['limit'] = String(limit);
+    return this.http.get<ClientChanges>(`${this.API_URL}/changes`, { params });
+  }
+
   getClientCount(): Observable<number> {
     return this.http.get<number>(`${this.API_URL}/count`);
   }
@@ -38,6 +152,14 @@ export class ClientsService {
     return this.http.get<Client>(`${this.API_URL}/${id}`);
   }
 
+  // One call for many ids; long lists go in a POST body rather than the query string.
+  getClientsByIds(ids: number[]): Observable<ClientLookupResult> {
+    if (ids.length > 200) {
+      return this.http.post<ClientLookupResult>(`${this.API_URL}/lookup`, { ids });
+    }
+    return this.http.get<ClientLookupResult>(this.API_URL, { params: { ids: ids.join(',') } });
+  }
+
   addClient(client: Partial<Client>): Observable<Client> {
     return this.http.post<Client>(this.API_URL, client);
   }
@@ -49,7 +171,104 @@ export class ClientsService {
   deleteClient(id: number): Observable<void> {
     return this.http.delete<void>(`${this.API_URL}/${id}`);
   }
-  importClientsBulk(rows: CreateClientDto[]): Observable<Client[]> {
-    return this.http.post<Client[]>(`${this.API_URL}/bulk`, rows);
+  // 'upsert' updates clients whose email is already taken instead of reporting those rows.
+  importClientsBulk(rows: CreateClientDto[], mode: BulkWriteMode = 'create'): Observable<BulkCreateResult> {
+    const options = mode === 'upsert' ? { params: { mode } } : {};
+    return this.http.post<BulkCreateResult>(`${this.API_URL}/bulk`, rows, options);
+  }
+
+  bulkUpdateClients(selection: ClientSelection, patch: Partial<Client>): Observable<BulkChangeResult> {
+    return this.http.patch<BulkChangeResult>(`${this.API_URL}/bulk`, { ...selection, patch });
+  }
+
+  bulkDeleteClients(selection: ClientSelection): Observable<BulkChangeResult> {
+    return this.http.delete<BulkChangeResult>(`${this.API_URL}/bulk`, { body: selection });
+  }
+
+  // Read through HttpClient rather than EventSource so the auth interceptor adds the token.
+  watchClientChanges(): Observable<ClientChange> {
+    return new Observable<ClientChange>((subscriber) => {
+      let seen = 0;
+      let pending = '';
+      const request = this.http
+        .get(`${this.API_URL}/stream`, {
+          headers: { Accept: 'text/event-stream' },
+          observe: 'events',
+          reportProgress: true,
+          responseType: 'text',
+        })
+        .subscribe({
+          next: (event) => {
+            if (event.type !== HttpEventType.DownloadProgress) return;
+            const text = (event as HttpDownloadProgressEvent).partialText ?? '';
+            pending += text.slice(seen);
+            seen = text.length;
+            let end: number;
+            while ((end = pending.indexOf('\n\n')) >= 0) {
+              const change = parseClientChange(pending.slice(0, end));
+              pending = pending.slice(end + 2);
+              if (change) subscriber.next(change);
+            }
+          },
+          error: (err) => subscriber.error(err),
+          complete: () => subscriber.complete(),
+        });
+      return () => request.unsubscribe();
+    });
+  }
+
+  startImport(file: File): Observable<ClientImportJob> {
+    const form = new FormData();
+    form.append('file', file);
+    return this.http.post<ClientImportJob>(`${this.API_URL}/imports`, form);
+  }
+
+  getImport(id: string): Observable<ClientImportJob> {
+    return this.http.get<ClientImportJob>(`${this.API_URL}/imports/${id}`);
+  }
+
+  cancelImport(id: string): Observable<ClientImportJob> {
+    return this.http.delete<ClientImportJob>(`${this.API_URL}/imports/${id}`);
+  }
+}
+
+export function decodeClientColumns({ count, columns }: ClientColumns): Client[] {
+  const rows = Array.from({ length: count }, () => ({}) as Record<string, unknown>);
+  for (const [name, column] of Object.entries(columns)) {
+    if (Array.isArray(column)) {
+      column.forEach((value, i) => (rows[i][name] = value));
+    } else {
+      column.codes.forEach((code, i) => (rows[i][name] = column.dictionary[code]));
+    }
+  }
+  return rows as unknown as Client[];
+}
+
+function parseClientChange(block: string): ClientChange | null {
+  let name = '';
+  let id = '';
+  let data = '';
+  for (const line of block.split('\n')) {
+    const colon = line.indexOf(':');
+    if (colon <= 0) continue; // comments (heartbeats) start with ':'
+    const value = line.slice(colon + 1).replace(/^ /, '');
+    const field = line.slice(0, colon);
+    if (field === 'event') name = value;
+    else if (field === 'id') id = value;
+    else if (field === 'data') data += value;
+  }
+  if (!name) return null;
+  const seq = Number(id);
+  switch (name) {
+    case 'created':
+    case 'updated':
+      return { type: name, seq, client: JSON.parse(data) as Client };
+    case 'deleted':
+      return { type: name, seq, id: (JSON.parse(data) as { id: number }).id };
+    case 'ready':
+    case 'resync':
+      return { type: name, seq };
+    default:
+      return null;
   }
 }
@@ -5,11 +5,13 @@ import { MatDialogRef } from '@angular/material/dialog';
 import { of, throwError } from 'rxjs';
 
 import { ImportClientsDialogComponent } from './import-clients-dialog.component';
-import { ClientsService, Client } from './clients.service';
+import { ClientsService, BulkCreateResult } from './clients.service';
 import * as XLSX from 'xlsx';
 
 class ClientsServiceMock {
-  importClientsBulk = jasmine.createSpy().and.returnValue(of([]));
+  importClientsBulk = jasmine
+    .createSpy()
+    .and.returnValue(of({ received: 0, created: 0, ids: [], errors: [] }));
 }
 
 describe('ImportClientsDialogComponent', () => {
@@ -139,10 +141,8 @@ describe('ImportClientsDialogComponent', () => {
 
   it('import(): success -> snacks and closes with count; clears loading', () => {
     comp.validRows.set([{ fullName: 'A', email: 'a@x.com' }]);
-    const created: Client[] = [
-      { id: 1, fullName: 'A', email: 'a@x.com', active: true } as any,
-    ];
-    (svc.importClientsBulk as jasmine.Spy).and.returnValue(of(created));
+    const result: BulkCreateResult = { received: 1, created: 1, ids: [1], errors: [] };
+    (svc.importClientsBulk as jasmine.Spy).and.returnValue(of(result));
 
     comp.import();
 
@@ -154,6 +154,29 @@ describe('ImportClientsDialogComponent', () => {
     expect(comp.loading()).toBeFalse();
   });
 
+  it('import(): partial success -> reports rejected rows', () => {
+    comp.validRows.set([
+      { fullName: 'A', email: 'a@x.com' },
+      { fullName: 'B', email: 'b@x' },
+    ]);
+    const result: BulkCreateResult = {
+      received: 2,
+      created: 1,
+      ids: [1],
+      errors: [{ index: 1, errors: { email: 'must be a well-formed email address' } }],
+    };
+    (svc.importClientsBulk as jasmine.Spy).and.returnValue(of(result));
+
+    comp.import();
+
+    expect(snack.open).toHaveBeenCalledWith(
+      'Imported 1 client(s), 1 row(s) rejected',
+      'Close',
+      { duration: 3000 }
+    );
+    expect(dialogRef.close).toHaveBeenCalledWith({ count: 1 });
+  });
+
   it('import(): error -> snacks error and clears loading (no close)', () => {
     comp.validRows.set([{ fullName: 'B', email: 'b@x.com' }]);
     (svc.importClientsBulk as jasmine.Spy).and.returnValue(
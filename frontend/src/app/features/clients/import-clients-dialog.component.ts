@@ -9,7 +9,7 @@ import { MatProgressBarModule } from '@angular/material/progress-bar';
 import { MatFormFieldModule } from '@angular/material/form-field';
 import { MatInputModule } from '@angular/material/input';
 import * as XLSX from 'xlsx';
-import { ClientsService, Client } from './clients.service';
+import { ClientsService, BulkCreateResult } from './clients.service';
 
 type CreateClientDto = {
   fullName: string;
@@ -136,12 +136,15 @@ export class ImportClientsDialogComponent {
 
     this.loading.set(true);
     this.clientsService.importClientsBulk(rows).subscribe({
-      next: (created: Client[]) => {
+      next: (result: BulkCreateResult) => {
         this.loading.set(false);
-        this.snack.open(`Imported ${created.length} client(s)`, 'Close', {
+        const rejected = result.errors.length
+          ? `, ${result.errors.length} row(s) rejected`
+          : '';
+        this.snack.open(`Imported ${result.created} client(s)${rejected}`, 'Close', {
           duration: 3000,
         });
-        this.dialogRef.close({ count: created.length });
+        this.dialogRef.close({ count: result.created });
       },
       error: (err) => {
         this.loading.set(false);
@@ -4,8 +4,9 @@ import { MatCardModule } from '@angular/material/card';
 import { MatIconModule } from '@angular/material/icon';
 import { MatProgressSpinnerModule } from '@angular/material/progress-spinner';
 import { NgxChartsModule, Color, ScaleType } from '@swimlane/ngx-charts';
-import { ClientsService } from '../clients/clients.service';
-import { LogsService, AuditLog } from '../logs/logs.service';
+import { Client } from '../clients/clients.service';
+import { AuditLog, AuditLogPage } from '../logs/logs.service';
+import { BatchService } from '../../core/api/batch.service';
 import { MatDividerModule } from '@angular/material/divider';
 
 @Component({
@@ -23,8 +24,7 @@ import { MatDividerModule } from '@angular/material/divider';
   styleUrls: ['./dashboard.component.scss'],
 })
 export class DashboardComponent implements OnInit {
-  private readonly clientsService = inject(ClientsService);
-  private readonly logsService = inject(LogsService);
+  private readonly batchService = inject(BatchService);
 
   loading = signal(true);
   totalClients = signal(0);
@@ -47,31 +47,36 @@ export class DashboardComponent implements OnInit {
   loadData() {
     this.loading.set(true);
 
-    this.clientsService.getClients().subscribe({
-      next: (clients) => {
-        this.totalClients.set(clients.length);
-        this.activeClients.set(clients.filter((c) => c.active).length);
-        this.inactiveClients.set(clients.filter((c) => !c.active).length);
+    // Clients and logs in one round trip.
+    this.batchService
+      .send([
+        { id: 'clients', method: 'GET', path: '/api/clients' },
+        { id: 'logs', method: 'GET', path: '/api/logs?limit=5' },
+      ])
+      .subscribe({
+        next: ([clientsResult, logsResult]) => {
+          if (clientsResult.status === 200) {
+            const clients = clientsResult.body as Client[];
+            this.totalClients.set(clients.length);
+            this.activeClients.set(clients.filter((c) => c.active).length);
+            this.inactiveClients.set(clients.filter((c) => !c.active).length);
 
-        const locationMap: Record<string, number> = {};
-        for (const c of clients) {
-          const key = c.location?.trim() || 'Unknown';
-          locationMap[key] = (locationMap[key] || 0) + 1;
-        }
+            const locationMap: Record<string, number> = {};
+            for (const c of clients) {
+              const key = c.location?.trim() || 'Unknown';
+              locationMap[key] = (locationMap[key] || 0) + 1;
+            }
 
-        this.clientsByLocation.set(
-          Object.entries(locationMap).map(([name, value]) => ({ name, value }))
-        );
-
-        this.logsService.getLogs().subscribe({
-          next: (logs) => {
-            this.recentLogs.set(logs.slice(0, 5));
-            this.loading.set(false);
-          },
-          error: () => this.loading.set(false),
-        });
-      },
-      error: () => this.loading.set(false),
-    });
+            this.clientsByLocation.set(
+              Object.entries(locationMap).map(([name, value]) => ({ name, value }))
+            );
+          }
+          if (logsResult.status === 200) {
+            this.recentLogs.set((logsResult.body as AuditLogPage).items);
+          }
+          this.loading.set(false);
+        },
+        error: () => this.loading.set(false),
+      });
   }
 }
@@ -8,9 +8,12 @@ import { MatFormFieldModule } from '@angular/material/form-field';
 import { MatInputModule } from '@angular/material/input';
 import { MatTooltipModule } from '@angular/material/tooltip';
 import { MatSelectModule } from '@angular/material/select';
+import { MatButtonModule } from '@angular/material/button';
 import { LogsService, AuditLog } from './logs.service';
 import { HighlightPipe } from '../../shared/pipes/highlight.pipe';
 
+const PAGE_SIZE = 100;
+
 @Component({
   selector: 'app-logs',
   standalone: true,
@@ -24,6 +27,7 @@ import { HighlightPipe } from '../../shared/pipes/highlight.pipe';
     MatInputModule,
     MatTooltipModule,
     MatSelectModule,
+    MatButtonModule,
     HighlightPipe,
   ],
   templateUrl: './logs.component.html',
@@ -37,6 +41,8 @@ export class LogsComponent implements OnInit {
   filterValue = signal('');
   actionFilter = signal('');
   loading = signal(true);
+  loadingMore = signal(false);
+  nextCursor = signal<string | null>(null);
 
   displayedColumns = ['timestamp', 'action', 'entity', 'user'];
 
@@ -45,6 +51,7 @@ export class LogsComponent implements OnInit {
     const selectedAction = this.actionFilter();
     let data = this.logs();
 
+    // The server filters by action too; this keeps the table right while a reload is in flight.
     if (selectedAction) {
       data = data.filter((log) => log.action === selectedAction);
     }
@@ -59,10 +66,7 @@ export class LogsComponent implements OnInit {
       );
     }
 
-    return [...data].sort(
-      (a, b) =>
-        new Date(b.timestamp).getTime() - new Date(a.timestamp).getTime()
-    );
+    return data; // already newest first
   });
 
   ngOnInit() {
@@ -71,9 +75,10 @@ export class LogsComponent implements OnInit {
 
   loadLogs() {
     this.loading.set(true);
-    this.logsService.getLogs().subscribe({
-      next: (data) => {
-        this.logs.set(data);
+    this.logsService.getLogs({ action: this.actionFilter() }, undefined, PAGE_SIZE).subscribe({
+      next: (page) => {
+        this.logs.set(page.items);
+        this.nextCursor.set(page.nextCursor);
         this.loading.set(false);
       },
       error: () => {
@@ -83,11 +88,31 @@ export class LogsComponent implements OnInit {
     });
   }
 
+  loadMore() {
+    const after = this.nextCursor();
+    if (!after || this.loadingMore()) return;
+    this.loadingMore.set(true);
+    this.logsService.getLogs({ action: this.actionFilter() }, after, PAGE_SIZE).subscribe({
+      next: (page) => {
+        this.logs.update((logs) => [...logs, ...page.items]);
+        this.nextCursor.set(page.nextCursor);
+        this.loadingMore.set(false);
+      },
+      error: () => {
+        this.loadingMore.set(false);
+        this.snack.open('Failed to load logs', 'Close', { duration: 3000 });
+      },
+    });
+  }
+
   applyFilter(event: Event) {
     this.filterValue.set((event.target as HTMLInputElement).value.trim());
   }
 
-  applyFilterAction() {}
+  applyFilterAction(action: string) {
+    this.actionFilter.set(action);
+    this.loadLogs();
+  }
 
   formatTimestamp(ts: string): string {
     return formatDate(ts, 'medium', 'en-US');
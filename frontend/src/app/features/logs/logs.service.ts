@@ -11,6 +11,20 @@ export interface AuditLog {
   actorName: string;
   timestamp: string;
 }
+// Criteria are combined with AND; from (inclusive) and to (exclusive) are ISO-8601 instants.
+export interface AuditLogFilter {
+  action?: string;
+  entityType?: string;
+  entityId?: number;
+  actorEmail?: string;
+  from?: string;
+  to?: string;
+}
+// Newest first. Pass nextCursor back as `after` for the next page; null on the last one.
+export interface AuditLogPage {
+  items: AuditLog[];
+  nextCursor: string | null;
+}
 
 @Injectable({ providedIn: 'root' })
 export class LogsService {
@@ -18,7 +32,20 @@ export class LogsService {
 
   constructor(private http: HttpClient) {}
 
-  getLogs(): Observable<AuditLog[]> {
-    return this.http.get<AuditLog[]>(this.API_URL);
+  getLogs(filter: AuditLogFilter = {}, after?: string, limit?: number): Observable<AuditLogPage> {
+    const params: Record<string, string> = {};
+    for (const [key, value] of Object.entries(filter)) {
+      if (value !== undefined && value !== null && value !== '') params[key] = String(value);
+    }
+    if (after) params['after'] = after;
+    if (limit !== undefined) params['limit'] = String(limit);
+    return this.http.get<AuditLogPage>(this.API_URL, { params });
+  }
+
+  getEntityHistory(entityType: string, entityId: number, after?: string, limit?: number): Observable<AuditLogPage> {
+    const params: Record<string, string> = {};
+    if (after) params['after'] = after;
+    if (limit !== undefined) params['limit'] = String(limit);
+    return this.http.get<AuditLogPage>(`${this.API_URL}/entity/${entityType}/${entityId}`, { params });
   }
 }